@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Ranking of repositories by their measured latency and hit rate.
+ *
+ * <pre> Ranking ranking = new AdaptiveRanking();
+ * Aether aether = new Aether(repos, lrepo).ranked(ranking);</pre>
+ *
+ * <p>When repositories are asked one by one until one of them has an
+ * artifact, and every question costs a round-trip, the expected time is
+ * the lowest when they are asked in the ascending order of their latency
+ * divided by their hit rate. Both are exponentially weighted moving
+ * averages of recent transfers, so the ranking follows changes of
+ * network and repositories. Repositories never measured go first, in
+ * their declared order, to get measured. Equal scores keep the declared
+ * order too. Only equivalent repositories are ordered, see
+ * {@link Ranking}: mirrors of the same repository, for example.
+ *
+ * <p>One ranking should be shared by all {@link Aether}s that work with
+ * the same repositories. The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "weight")
+@EqualsAndHashCode(of = "weight")
+public final class AdaptiveRanking implements Ranking {
+
+    /**
+     * Default weight of the latest transfer.
+     */
+    private static final double WEIGHT = 0.2d;
+
+    /**
+     * Lowest hit rate taken into account.
+     */
+    private static final double MIN_RATE = 0.01d;
+
+    /**
+     * Weight of the latest transfer in moving averages.
+     */
+    private final transient double weight;
+
+    /**
+     * Statistics, by repository URLs.
+     */
+    private final transient ConcurrentMap<String, AdaptiveRanking.Stats> all;
+
+    /**
+     * Public ctor.
+     */
+    public AdaptiveRanking() {
+        this(AdaptiveRanking.WEIGHT);
+    }
+
+    /**
+     * Public ctor.
+     * @param wght Weight of the latest transfer, between 0 and 1
+     */
+    public AdaptiveRanking(final double wght) {
+        if (wght <= 0.0d || wght > 1.0d) {
+            throw new IllegalArgumentException(
+                String.format("weight must be in (0, 1]: %f", wght)
+            );
+        }
+        this.weight = wght;
+        this.all = new ConcurrentHashMap<String, AdaptiveRanking.Stats>(0);
+    }
+
+    @Override
+    public List<RemoteRepository> order(final List<RemoteRepository> repos) {
+        final Map<RemoteRepository, Double> scores =
+            new IdentityHashMap<RemoteRepository, Double>(repos.size());
+        for (final RemoteRepository repo : repos) {
+            final AdaptiveRanking.Stats stats =
+                this.all.get(Layout.normal(repo.getUrl()));
+            double score = 0.0d;
+            if (stats != null) {
+                score = stats.score();
+            }
+            scores.put(repo, score);
+        }
+        final List<RemoteRepository> ordered =
+            new ArrayList<RemoteRepository>(repos);
+        Collections.sort(
+            ordered,
+            new Comparator<RemoteRepository>() {
+                @Override
+                public int compare(final RemoteRepository left,
+                    final RemoteRepository right) {
+                    return Double.compare(scores.get(left), scores.get(right));
+                }
+            }
+        );
+        return ordered;
+    }
+
+    @Override
+    public void record(final String url, final long nanos,
+        final boolean found) {
+        final String key = Layout.normal(url);
+        AdaptiveRanking.Stats stats = this.all.get(key);
+        if (stats == null) {
+            this.all.putIfAbsent(key, new AdaptiveRanking.Stats(this.weight));
+            stats = this.all.get(key);
+        }
+        stats.add(nanos, found);
+    }
+
+    /**
+     * Statistics of one repository.
+     */
+    private static final class Stats {
+        /**
+         * Weight of the latest transfer.
+         */
+        private final transient double weight;
+        /**
+         * Average latency, in nanoseconds, or negative if not measured.
+         */
+        private transient double latency = -1.0d;
+        /**
+         * Average hit rate.
+         */
+        private transient double rate;
+        /**
+         * Ctor.
+         * @param wght Weight of the latest transfer
+         */
+        Stats(final double wght) {
+            this.weight = wght;
+        }
+        /**
+         * Add a transfer.
+         * @param nanos How long it took
+         * @param found TRUE if the resource was found
+         */
+        public synchronized void add(final long nanos, final boolean found) {
+            double hit = 0.0d;
+            if (found) {
+                hit = 1.0d;
+            }
+            if (this.latency < 0.0d) {
+                this.latency = nanos;
+                this.rate = hit;
+            } else {
+                this.latency += this.weight * (nanos - this.latency);
+                this.rate += this.weight * (hit - this.rate);
+            }
+        }
+        /**
+         * Expected cost of asking this repository first.
+         * @return Latency divided by hit rate, zero if not measured
+         */
+        public synchronized double score() {
+            double score = 0.0d;
+            if (this.latency >= 0.0d) {
+                score = this.latency
+                    / Math.max(this.rate, AdaptiveRanking.MIN_RATE);
+            }
+            return score;
+        }
+    }
+}
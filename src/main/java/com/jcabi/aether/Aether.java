@@ -34,9 +34,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import javax.validation.constraints.NotNull;
 
@@ -61,16 +71,23 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.ArtifactRepository;
 import org.eclipse.aether.repository.Authentication;
 import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.eclipse.aether.repository.Proxy;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.artifact.JavaScopes;
 import org.eclipse.aether.util.filter.DependencyFilterUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 import org.eclipse.aether.util.repository.DefaultMirrorSelector;
 import org.eclipse.aether.util.repository.DefaultProxySelector;
@@ -78,6 +95,7 @@ import org.eclipse.aether.util.repository.DefaultProxySelector;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -93,6 +111,15 @@ import lombok.ToString;
  * org.apache.maven:maven-core:3.0.3
  * </pre>
  *
+ * <p>The class is not {@link Immutable}, because the tracer it is
+ * {@link #traced(Tracer)} with keeps recent traces, the metrics it is
+ * {@link #measured(Metrics)} with aggregate events, the cache of
+ * version {@link #ranges(RangeCache)} keeps resolutions, the ranking
+ * it is {@link #ranked(Ranking)} with learns from transfers and the
+ * breakers it is {@link #guarded(Breakers)} with keep their states: they
+ * are shared, on purpose, by all Aethers made from this one. Everything
+ * else is immutable.
+ *
  * @author Yegor Bugayenko (yegor@tpc2.com)
  * @version $Id$
  * @since 0.1.6
@@ -109,9 +136,48 @@ import lombok.ToString;
 @EqualsAndHashCode(of = { "remotes", "lrepo" })
 @Loggable(Loggable.DEBUG)
 @SuppressWarnings("PMD.ExcessiveImports")
-@Immutable
 public final class Aether {
 
+    /**
+     * Default percentile of latencies for hedged downloads.
+     */
+    private static final double PERCENTILE = 95.0d;
+
+    /**
+     * Maximum amount of selections of mirrors and proxies to keep.
+     */
+    private static final int MAX_SELECTED = 4096;
+
+    /**
+     * Repositories with mirrors and proxies selected, by fingerprints of
+     * settings and original repositories.
+     */
+    private static final BoundedCache<List<Object>, Repository> SELECTED =
+        new BoundedCache<List<Object>, Repository>(Aether.MAX_SELECTED);
+
+    /**
+     * Resolutions in progress, by the same Aether (not an equal one),
+     * root artifact, scope and filter.
+     */
+    private static final ConcurrentMap<List<Object>,
+        FutureTask<List<Artifact>>> FLIGHTS = new ConcurrentHashMap<
+            List<Object>, FutureTask<List<Artifact>>>(0);
+
+    /**
+     * Classpath filters, by scopes.
+     */
+    private static final ConcurrentMap<String, DependencyFilter> FILTERS =
+        new ConcurrentHashMap<String, DependencyFilter>(0);
+
+    /**
+     * Threads of background resolutions.
+     */
+    private static final ExecutorService PREFETCH =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new VerboseThreads("aether-prefetch")
+        );
+
     /**
      * Remote project repositories.
      */
@@ -123,6 +189,79 @@ public final class Aether {
      */
     private final transient String lrepo;
 
+    /**
+     * Use an index of the local repository.
+     */
+    private final transient boolean index;
+
+    /**
+     * Timeout of cross-process locks of the local repository, in
+     * milliseconds, or zero if they are not used.
+     */
+    private final transient long locks;
+
+    /**
+     * Tracer of resolutions, may keep traces, it's mutable on purpose.
+     */
+    private final transient Tracer tracer;
+
+    /**
+     * Metrics of resolutions, may aggregate them, it's mutable on purpose.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Cache of version range resolutions, it's mutable on purpose.
+     */
+    private final transient RangeCache ranges;
+
+    /**
+     * Maximum amount of attempts of resumable downloads, or zero if they
+     * are not used.
+     */
+    private final transient int resume;
+
+    /**
+     * Link artifacts from file repositories instead of copying them.
+     */
+    private final transient boolean link;
+
+    /**
+     * Make hard links to files of file repositories, instead of copies.
+     */
+    private final transient boolean hard;
+
+    /**
+     * How long artifacts stay known as missing in remote repositories,
+     * in milliseconds, or zero if they are not remembered.
+     */
+    private final transient long missing;
+
+    /**
+     * Routes of artifacts to repositories.
+     */
+    private final transient Routes routes;
+
+    /**
+     * Ranking of remote repositories, may learn, it's mutable on purpose.
+     */
+    private final transient Ranking ranking;
+
+    /**
+     * Circuit breakers of remote repositories, it's mutable on purpose.
+     */
+    private final transient Breakers breakers;
+
+    /**
+     * Hedging of downloads across equivalent repositories.
+     */
+    private final transient Hedging hedging;
+
+    /**
+     * Nanoseconds spent in construction (settings, mirrors, proxies).
+     */
+    private final transient long built;
+
     /**
      * Public ctor, requires information about all remote repositories and one
      * lrepo.
@@ -140,17 +279,447 @@ public final class Aether {
      * @param repo Local repository location (directory path)
      * @since 0.8
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Aether(@NotNull final Collection< ? extends ArtifactRepository> repos,
         @NotNull final File repo) {
-        final Collection<Repository> rlist = this.prepos(this.mrepos(repos));
-        this.remotes = rlist.toArray(new Repository[repos.size()]);
+        this(System.nanoTime(), repos, repo);
+    }
+
+    /**
+     * Private ctor, which measures its own duration.
+     * @param start When construction started, in nanoseconds
+     * @param repos Collection of remote repositories
+     * @param repo Local repository location (directory path)
+     */
+    private Aether(final long start,
+        final Collection< ? extends ArtifactRepository> repos,
+        final File repo) {
+        this.remotes = Aether.remotes(repos);
         this.lrepo = repo.getAbsolutePath();
+        this.index = false;
+        this.locks = 0L;
+        this.tracer = new Tracer.Silent();
+        this.metrics = new Metrics.Silent();
+        this.ranges = new RangeCache.None();
+        this.resume = 0;
+        this.link = false;
+        this.hard = false;
+        this.missing = 0L;
+        this.routes = new Routes();
+        this.ranking = new Ranking.Declared();
+        this.breakers = new Breakers.None();
+        this.hedging = new Hedging(Aether.PERCENTILE);
+        this.built = System.nanoTime() - start;
+    }
+
+    /**
+     * Private ctor.
+     * @param repos Remote repositories, with mirrors and proxies
+     * @param repo Local repository location
+     * @param idx Use an index of the local repository
+     * @param lcks Timeout of cross-process locks, in milliseconds
+     * @param trcr Tracer of resolutions
+     * @param mtrs Metrics of resolutions
+     * @param rngs Cache of version range resolutions
+     * @param rsm Maximum amount of attempts of resumable downloads
+     * @param lnk Link artifacts from file repositories
+     * @param hrd Make hard links, instead of copies
+     * @param mss Time to live of missing artifacts, in milliseconds
+     * @param rts Routes of artifacts to repositories
+     * @param rnkg Ranking of remote repositories
+     * @param brks Circuit breakers of remote repositories
+     * @param hdg Hedging of downloads
+     * @param blt Nanoseconds spent in construction
+     * @checkstyle ParameterNumber (8 lines)
+     */
+    private Aether(final Repository[] repos, final String repo,
+        final boolean idx, final long lcks, final Tracer trcr,
+        final Metrics mtrs, final RangeCache rngs, final int rsm,
+        final boolean lnk, final boolean hrd, final long mss,
+        final Routes rts,
+        final Ranking rnkg, final Breakers brks, final Hedging hdg,
+        final long blt) {
+        this.remotes = repos;
+        this.lrepo = repo;
+        this.index = idx;
+        this.locks = lcks;
+        this.tracer = trcr;
+        this.metrics = mtrs;
+        this.ranges = rngs;
+        this.resume = rsm;
+        this.link = lnk;
+        this.hard = hrd;
+        this.missing = mss;
+        this.routes = rts;
+        this.ranking = rnkg;
+        this.breakers = brks;
+        this.hedging = hdg;
+        this.built = blt;
+    }
+
+    /**
+     * Aether, which uses an index of the local repository.
+     *
+     * <p>Every artifact downloaded or installed into the local repository
+     * is recorded in a persistent index, which is loaded into memory once
+     * per JVM. Then, availability of artifacts in the local repository is
+     * checked in memory, without file stats and reading of
+     * {@code _remote.repositories} files, which is much faster on network
+     * file systems. The index is kept inside the local repository and
+     * assumes that nobody deletes artifacts from it. When somebody does,
+     * call {@link #reindex()}.
+     *
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether indexed() {
+        return new Aether(
+            this.remotes, this.lrepo, true, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which locks the local repository for other processes.
+     *
+     * <p>By default, only one thread of one {@code Aether} may resolve
+     * into the local repository at a time. This one locks directories of
+     * artifacts and metadata it reads and writes, with file locks, which
+     * are respected by all processes using the same local repository
+     * (and all threads of this one). Thus, many builds may resolve into a
+     * shared local repository at the same time, without corrupting it.
+     *
+     * @param timeout How long to wait for one lock
+     * @param unit Time unit of the timeout
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether locked(final long timeout, @NotNull final TimeUnit unit) {
+        if (timeout <= 0L) {
+            throw new IllegalArgumentException(
+                String.format("lock timeout must be positive: %d", timeout)
+            );
+        }
+        return new Aether(
+            this.remotes, this.lrepo, this.index, unit.toMillis(timeout),
+            this.tracer, this.metrics, this.ranges, this.resume, this.link,
+            this.hard, this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which traces every resolution.
+     *
+     * <p>Every call of {@code resolve()} produces a {@link Trace}: a tree
+     * of timed steps, from building of the session to downloads of single
+     * files, which is given to the tracer when the resolution is over,
+     * successfully or not. Use it to find out where the time goes.
+     * Construction of this object (settings parsing, mirrors and proxies)
+     * is given to the tracer right away, in a trace of its own, so that it
+     * is not repeated in traces of resolutions.
+     *
+     * @param trcr Tracer to give traces to
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether traced(@NotNull final Tracer trcr) {
+        trcr.record(new Trace("construction", this.built).finish());
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, trcr,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which reports its work to metrics.
+     *
+     * <p>Metrics get resolutions in flight and their durations, waits
+     * for the local repository lock, hits and misses of caches, bytes
+     * downloaded and failed transfers per repository. Use
+     * {@link Statistics} to see them through JMX.
+     *
+     * @param mtrs Metrics to report to
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether measured(@NotNull final Metrics mtrs) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            mtrs, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which keeps version range resolutions in a cache.
+     *
+     * <p>Every resolution of a range, like {@code [1.0,2.0)}, reads
+     * {@code maven-metadata.xml} of the artifact from all repositories,
+     * since the session is new for every call. With a cache shared by
+     * many calls (and many {@code Aether} objects), the same range with
+     * the same repositories is resolved only once per cache's lifetime.
+     *
+     * @param cache Cache of range resolutions
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     * @see TimedRangeCache
+     */
+    public Aether ranges(@NotNull final RangeCache cache) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, cache, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which resumes broken downloads of artifacts.
+     *
+     * <p>Artifacts from HTTP repositories (without authentication and
+     * proxies) are downloaded into {@code .part} files, and when the
+     * connection breaks, the download continues with an HTTP range request
+     * from where it stopped, up to the given number of attempts. Partial
+     * files survive between resolutions, so a download interrupted in
+     * one build is continued in the next one. Every artifact is verified
+     * against its SHA-1 checksum before it's put into the local repository.
+     * Repositories with equivalents to {@link #hedged(Hedging)} downloads
+     * from are not resumable: hedging wins.
+     *
+     * @param attempts Maximum amount of attempts per artifact
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether resumable(final int attempts) {
+        if (attempts <= 0) {
+            throw new IllegalArgumentException(
+                String.format("attempts must be positive: %d", attempts)
+            );
+        }
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, attempts, this.link, this.hard,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which copies artifacts from {@code file://} repositories into
+     * the local repository with the kernel.
+     *
+     * <p>Bytes of artifacts are copied by
+     * {@link java.nio.channels.FileChannel#transferTo(long, long,
+     * java.nio.channels.WritableByteChannel)}, without passing them
+     * through the JVM, and every artifact appears in the local repository
+     * atomically. Files of the file repository and of the local one stay
+     * independent.
+     *
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     * @see #hardLinked()
+     */
+    public Aether linked() {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, true, false,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which makes hard links to artifacts of {@code file://}
+     * repositories in the local repository, instead of copying them.
+     *
+     * <p>When a file repository is on the same file store as the local
+     * one, its artifacts become hard links in the local repository, which
+     * takes no time and no disk space. Otherwise they are copied, as by
+     * {@link #linked()}. A hard link and its source are the same file, so
+     * use it only when both repositories are read-only for everybody but
+     * Aether: a modification of a file in place, in any of them, is
+     * visible in the other one and breaks its checksum.
+     *
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether hardLinked() {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, true, true,
+            this.missing, this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which remembers artifacts missing in remote repositories.
+     *
+     * <p>When a repository answers that it doesn't have an artifact, the
+     * answer is recorded in the local repository, by the ID of the
+     * repository and the path of the artifact, and this repository is
+     * not asked for this artifact again, by any resolution of any build,
+     * until the record gets older than the given time to live. Use
+     * {@link #forgetMissing()} when an artifact has to be found before.
+     *
+     * @param ttl Time to live of records
+     * @param unit Time unit of it
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether rememberMissing(final long ttl,
+        @NotNull final TimeUnit unit) {
+        if (ttl <= 0L) {
+            throw new IllegalArgumentException(
+                String.format("time to live must be positive: %d", ttl)
+            );
+        }
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            unit.toMillis(ttl), this.routes, this.ranking,
+            this.breakers, this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which looks up artifacts only in repositories routed for
+     * their groups.
+     *
+     * <p>By default, every artifact is looked up in all remote
+     * repositories, one by one, until one of them has it. With routes,
+     * artifacts of, say, {@code com.acme} are looked up only in the
+     * company's repository, and other artifacts in all of them, which
+     * saves a round-trip per repository per artifact.
+     *
+     * @param table Routing table
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether routed(@NotNull final Routes table) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, table, this.ranking, this.breakers,
+            this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which asks remote repositories for artifacts in the order
+     * given by the ranking.
+     *
+     * <p>By default, repositories are asked in the declared order, which
+     * is deterministic. With {@link AdaptiveRanking}, the fastest
+     * repository that most often has artifacts is asked first, among
+     * repositories equivalent by the {@link #hedged(Hedging)} equivalence;
+     * others keep their declared places, since the first declared
+     * repository that has an artifact must provide it. Snapshots are
+     * always looked up in the declared order.
+     *
+     * @param rnkg Ranking of repositories
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether ranked(@NotNull final Ranking rnkg) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, rnkg, this.breakers,
+            this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which doesn't ask unhealthy remote repositories.
+     *
+     * <p>When a repository goes down, every artifact waits for its
+     * timeouts. With breakers, a repository that failed a few times in a
+     * row is skipped for a while, as if it were not declared, and then
+     * probed with one request. See {@link CircuitBreakers} for details
+     * and for the states of breakers.
+     *
+     * @param brks Circuit breakers of repositories
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether guarded(@NotNull final Breakers brks) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking, brks,
+            this.hedging, this.built
+        );
+    }
+
+    /**
+     * Aether, which hedges slow downloads with equivalent mirrors.
+     *
+     * <p>Mirrors of Maven settings are equivalent to the mirror selected
+     * for a repository when they mirror all repositories it mirrors and
+     * don't require credentials. When a download doesn't get its first
+     * byte within the given percentile of recent latencies of its
+     * repository, the same file is requested from an equivalent mirror
+     * too, the first complete download wins, and the other one is
+     * cancelled. See {@link Hedging} for equivalents declared explicitly.
+     * Hedged downloads are not {@link #resumable(int)}: a repository with
+     * equivalents is hedged instead of resumed, even if both are enabled.
+     *
+     * @param percentile Percentile of latencies, like 95.0
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether hedged(final double percentile) {
+        return this.hedged(
+            Aether.equivalents(
+                this.remotes, Aether.settings(), new Hedging(percentile)
+            )
+        );
     }
-    
 
-    
-    
+    /**
+     * Aether, which hedges slow downloads with equivalent repositories.
+     * @param hdg Hedging, with equivalents of repositories
+     * @return New Aether, with the same repositories
+     * @since 1.0
+     */
+    public Aether hedged(@NotNull final Hedging hdg) {
+        return new Aether(
+            this.remotes, this.lrepo, this.index, this.locks, this.tracer,
+            this.metrics, this.ranges, this.resume, this.link, this.hard,
+            this.missing, this.routes, this.ranking, this.breakers,
+            hdg, this.built
+        );
+    }
+
+    /**
+     * Forget all artifacts known as missing in remote repositories, for
+     * all users of the local repository.
+     * @since 1.0
+     */
+    public void forgetMissing() {
+        MissingIndex.of(new File(this.lrepo)).clear();
+    }
+
+    /**
+     * Forget all artifacts known to be in the local repository, for all
+     * users of it, to rebuild its index from the files.
+     *
+     * <p>The index of an {@link #indexed()} Aether trusts its records,
+     * so when artifacts are deleted from the local repository, it has to
+     * be forgotten. Then it is filled again, with artifacts found in the
+     * local repository and downloaded into it.
+     *
+     * @since 1.0
+     */
+    public void reindex() {
+        LocalIndex.of(new File(this.lrepo)).clear();
+    }
 
     /**
      * List of transitive dependencies of the artifact.
@@ -161,12 +730,16 @@ public final class Aether {
      */
     public List<Artifact> resolve(@NotNull final Artifact root,
         @NotNull final String scope) throws DependencyResolutionException {
-        final DependencyFilter filter =
-            DependencyFilterUtils.classpathFilter(scope);
+        DependencyFilter filter = Aether.FILTERS.get(scope);
         if (filter == null) {
-            throw new IllegalStateException(
-                String.format("failed to create a filter for '%s'", scope)
-            );
+            filter = DependencyFilterUtils.classpathFilter(scope);
+            if (filter == null) {
+                throw new IllegalStateException(
+                    String.format("failed to create a filter for '%s'", scope)
+                );
+            }
+            Aether.FILTERS.putIfAbsent(scope, filter);
+            filter = Aether.FILTERS.get(scope);
         }
         return this.resolve(root, scope, filter);
     }
@@ -177,6 +750,13 @@ public final class Aether {
 
     /**
      * List of transitive dependencies of the artifact.
+     *
+     * <p>Concurrent calls to the same {@code Aether} object with equal
+     * artifact, scope and filter share one resolution: the first caller
+     * does the work, the others wait for its result or its exception.
+     * Equal {@code Aether} objects don't share resolutions, since they may
+     * be configured differently, use {@link Aethers} to get the same one.
+     *
      * @param root The artifact to work with
      * @param scope The scope to work with ("runtime", "test", etc.)
      * @param filter The dependency filter to work with
@@ -186,67 +766,438 @@ public final class Aether {
     public List<Artifact> resolve(@NotNull final Artifact root,
         @NotNull final String scope, @NotNull final DependencyFilter filter)
         throws DependencyResolutionException {
-        final Dependency rdep = new Dependency(root, scope);
-        final CollectRequest crq = this.request(rdep);
-        final List<Artifact> deps = new LinkedList<Artifact>();
-        final RepositorySystem system = new RepositorySystemBuilder().build();
-        deps.addAll(
-            this.fetch(
-                system,
-                this.session(system),
-                new DependencyRequest(crq, filter)
-            )
+        final List<Object> key = Arrays.<Object>asList(
+            new Identity(this), root, scope, filter
+        );
+        final FutureTask<List<Artifact>> task = new FutureTask<List<Artifact>>(
+            new Callable<List<Artifact>>() {
+                @Override
+                public List<Artifact> call()
+                    throws DependencyResolutionException {
+                    return Aether.this.resolved(root, scope, filter);
+                }
+            }
         );
+        FutureTask<List<Artifact>> flight =
+            Aether.FLIGHTS.putIfAbsent(key, task);
+        this.metrics.cached("in-flight", flight != null);
+        if (flight == null) {
+            flight = task;
+            try {
+                task.run();
+            } finally {
+                Aether.FLIGHTS.remove(key, task);
+            }
+        }
+        return new LinkedList<Artifact>(Aether.outcome(flight));
+    }
+
+    /**
+     * Resolve transitive dependencies of the artifact, right now.
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @param filter The dependency filter to work with
+     * @return The list of dependencies
+     * @throws DependencyResolutionException If can't fetch it
+     */
+    private List<Artifact> resolved(final Artifact root, final String scope,
+        final DependencyFilter filter) throws DependencyResolutionException {
+        final List<Artifact> deps = new LinkedList<Artifact>();
+        for (final ArtifactResult res
+            : this.result(root, scope, filter, false, true)
+                .getArtifactResults()) {
+            deps.add(res.getArtifact());
+        }
         return deps;
     }
 
+    /**
+     * Wait for the outcome of a resolution.
+     * @param flight The resolution
+     * @return The list of dependencies
+     * @throws DependencyResolutionException If it failed to fetch them
+     */
+    private static List<Artifact> outcome(
+        final Future<List<Artifact>> flight)
+        throws DependencyResolutionException {
+        try {
+            return flight.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof DependencyResolutionException) {
+                throw (DependencyResolutionException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Graph of transitive dependencies of the artifact.
+     *
+     * <p>Unlike {@link #resolve(Artifact, String)}, the result keeps the
+     * structure: who depends on whom, in which scope, optionally or not,
+     * and which versions lost conflicts to which.
+     *
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @return The graph, with the artifact as its root
+     * @throws DependencyResolutionException If can't fetch it
+     * @since 1.0
+     */
+    public Graph graph(@NotNull final Artifact root,
+        @NotNull final String scope) throws DependencyResolutionException {
+        return this.graph(
+            root, scope, DependencyFilterUtils.classpathFilter(scope)
+        );
+    }
+
+    /**
+     * Graph of transitive dependencies of the artifact.
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @param filter The dependency filter to work with
+     * @return The graph, with the artifact as its root
+     * @throws DependencyResolutionException If can't fetch it
+     * @since 1.0
+     */
+    public Graph graph(@NotNull final Artifact root,
+        @NotNull final String scope, @NotNull final DependencyFilter filter)
+        throws DependencyResolutionException {
+        return new Graph(
+            this.result(root, scope, filter, true, true).getRoot(), filter
+        );
+    }
+
+    /**
+     * Graph of transitive dependencies of the artifact, without their
+     * files.
+     *
+     * <p>The graph is the same as of {@link #graph(Artifact, String)}, but
+     * only descriptors of artifacts are downloaded, not their JARs, and
+     * files of artifacts in the graph are {@code NULL}. It is enough for
+     * dependency reports and conflict checks, which need coordinates
+     * only, and takes a fraction of time and traffic.
+     *
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @return The graph, with the artifact as its root
+     * @throws DependencyResolutionException If can't collect it
+     * @since 1.0
+     */
+    public Graph collect(@NotNull final Artifact root,
+        @NotNull final String scope) throws DependencyResolutionException {
+        final DependencyFilter filter =
+            DependencyFilterUtils.classpathFilter(scope);
+        return this.collect(root, scope, filter);
+    }
+
+    /**
+     * Graph of transitive dependencies of the artifact, without their
+     * files.
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @param filter The dependency filter to work with
+     * @return The graph, with the artifact as its root
+     * @throws DependencyResolutionException If can't collect it
+     * @since 1.0
+     */
+    public Graph collect(@NotNull final Artifact root,
+        @NotNull final String scope, @NotNull final DependencyFilter filter)
+        throws DependencyResolutionException {
+        return new Graph(
+            this.result(root, scope, filter, true, false).getRoot(), filter
+        );
+    }
+
+    /**
+     * Download one artifact, without its dependencies.
+     *
+     * <p>It is useful for artifacts of graphs made by
+     * {@link #collect(Artifact, String)}, which have no files yet.
+     *
+     * @param artifact The artifact to download
+     * @return Its file in the local repository
+     * @throws ArtifactResolutionException If can't download it
+     * @since 1.0
+     */
+    public File file(@NotNull final Artifact artifact)
+        throws ArtifactResolutionException {
+        final Trace trace = this.trace("download %s", artifact);
+        final long start = System.nanoTime();
+        boolean success = false;
+        this.metrics.resolving();
+        try {
+            trace.enter("system");
+            final RepositorySystem system = Aether.Shared.SYSTEM;
+            trace.enter("session");
+            final RepositorySystemSession session =
+                this.session(system, trace);
+            final ArtifactRequest request = new ArtifactRequest(
+                artifact,
+                this.request(new Dependency(artifact, JavaScopes.RUNTIME))
+                    .getRepositories(),
+                null
+            );
+            trace.enter("download");
+            final ArtifactResult result;
+            if (this.locks > 0L) {
+                result = system.resolveArtifact(session, request);
+            } else {
+                final long wait = System.nanoTime();
+                synchronized (this.lrepo) {
+                    this.metrics.waited(System.nanoTime() - wait);
+                    result = system.resolveArtifact(session, request);
+                }
+            }
+            success = true;
+            return result.getArtifact().getFile();
+        } finally {
+            this.metrics.resolved(System.nanoTime() - start, success);
+            this.tracer.record(trace.finish());
+        }
+    }
+
+    /**
+     * Resolve transitive dependencies of the artifact.
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @param filter The dependency filter to work with
+     * @param verbose Keep losers of conflicts in the graph, unresolved
+     * @param jars Resolve artifacts, or only collect their graph
+     * @return The result
+     * @throws DependencyResolutionException If can't fetch it
+     */
+    private DependencyResult result(final Artifact root, final String scope,
+        final DependencyFilter filter, final boolean verbose,
+        final boolean jars) throws DependencyResolutionException {
+        final String action;
+        if (jars) {
+            action = "resolve";
+        } else {
+            action = "collect";
+        }
+        final Trace trace = this.trace("%s %s (%s)", action, root, scope);
+        final long start = System.nanoTime();
+        boolean success = false;
+        this.metrics.resolving();
+        try {
+            final Dependency rdep = new Dependency(root, scope);
+            final CollectRequest crq = this.request(rdep);
+            trace.enter("system");
+            final RepositorySystem system = Aether.Shared.SYSTEM;
+            trace.enter("session");
+            final DefaultRepositorySystemSession session =
+                this.session(system, trace);
+            DependencyFilter accepted = filter;
+            if (verbose) {
+                session.setConfigProperty(
+                    ConflictResolver.CONFIG_PROP_VERBOSE, true
+                );
+                accepted = DependencyFilterUtils.andFilter(
+                    filter, new Aether.WinnersFilter()
+                );
+            }
+            final DependencyResult result = this.fetch(
+                system, session, new DependencyRequest(crq, accepted), trace,
+                jars
+            );
+            success = true;
+            return result;
+        } finally {
+            this.metrics.resolved(System.nanoTime() - start, success);
+            this.tracer.record(trace.finish());
+        }
+    }
+
+    /**
+     * Memory-compact list of transitive dependencies of the artifact.
+     *
+     * <p>The result is the same as of {@link #resolve(Artifact, String)},
+     * but takes much less memory, which matters when thousands of
+     * resolution results are kept at the same time.
+     *
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @return The list of dependencies
+     * @throws DependencyResolutionException If can't fetch it
+     * @since 1.0
+     */
+    public Artifacts compact(@NotNull final Artifact root,
+        @NotNull final String scope) throws DependencyResolutionException {
+        return new Artifacts(this.resolve(root, scope));
+    }
+
+    /**
+     * Memory-compact list of transitive dependencies of the artifact.
+     * @param root The artifact to work with
+     * @param scope The scope to work with ("runtime", "test", etc.)
+     * @param filter The dependency filter to work with
+     * @return The list of dependencies
+     * @throws DependencyResolutionException If can't fetch it
+     * @since 1.0
+     */
+    public Artifacts compact(@NotNull final Artifact root,
+        @NotNull final String scope, @NotNull final DependencyFilter filter)
+        throws DependencyResolutionException {
+        return new Artifacts(this.resolve(root, scope, filter));
+    }
+
+    /**
+     * Resolve artifacts in background.
+     *
+     * <p>Every root is resolved in every scope by a pool of daemon threads,
+     * shared by all {@code Aether} objects and bounded by the number of
+     * processors. The lists of dependencies are not kept anywhere, except
+     * in the futures returned: a prefetch only warms the local repository,
+     * where artifacts are downloaded, and the caches of descriptors and
+     * version ranges, if enabled. A later {@link #resolve(Artifact, String)}
+     * of the same root still calculates its dependencies, but doesn't go
+     * to remote repositories for them. A call made while the prefetch of
+     * the same root and scope is still in progress waits for it and gets
+     * its result. Failures are not thrown, they are available through the
+     * futures returned.
+     *
+     * @param roots The artifacts to resolve
+     * @param scopes The scopes to resolve them in ("runtime", "test", etc.)
+     * @return Futures of all resolutions, in order of roots and scopes
+     * @since 1.0
+     */
+    public Collection<Future<List<Artifact>>> prefetch(
+        @NotNull final Collection< ? extends Artifact> roots,
+        @NotNull final Collection<String> scopes) {
+        final Collection<Future<List<Artifact>>> futures =
+            new ArrayList<Future<List<Artifact>>>(roots.size() * scopes.size());
+        for (final Artifact root : roots) {
+            for (final String scope : scopes) {
+                futures.add(
+                    Aether.PREFETCH.submit(
+                        new Callable<List<Artifact>>() {
+                            @Override
+                            public List<Artifact> call()
+                                throws DependencyResolutionException {
+                                return Aether.this.resolve(root, scope);
+                            }
+                        }
+                    )
+                );
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Build remote repositories, with mirrors and proxies.
+     *
+     * <p>Mirrors and proxies of every repository are selected once per
+     * state of settings files, which is checked by their sizes and
+     * modification times, and then taken from {@link #SELECTED}.
+     *
+     * @param repos Initial list of repositories
+     * @return Repositories to work with
+     */
+    private static Repository[] remotes(
+        final Collection< ? extends ArtifactRepository> repos) {
+        final String print = Aether.fingerprint();
+        final List<RemoteRepository> origins =
+            new ArrayList<RemoteRepository>(repos.size());
+        for (final Object repo : repos) {
+            origins.add(Aether.remote(repo));
+        }
+        final Repository[] rlist = new Repository[origins.size()];
+        boolean complete = true;
+        for (int idx = 0; idx < rlist.length; ++idx) {
+            rlist[idx] = Aether.SELECTED.get(
+                Arrays.<Object>asList(print, origins.get(idx))
+            );
+            complete &= rlist[idx] != null;
+        }
+        if (!complete) {
+            final Settings settings = Aether.settings();
+            int idx = 0;
+            for (final Repository repo
+                : Aether.prepos(Aether.mrepos(origins, settings), settings)) {
+                Aether.SELECTED.put(
+                    Arrays.<Object>asList(print, origins.get(idx)), repo
+                );
+                rlist[idx] = repo;
+                ++idx;
+            }
+        }
+        return rlist;
+    }
+
+    /**
+     * Convert a repository into Aether one.
+     * @param repo Repository, Aether or Maven one
+     * @return Aether repository
+     */
+    static RemoteRepository remote(final Object repo) {
+        final RemoteRepository remote;
+        if (repo instanceof MavenArtifactRepository) {
+            final MavenArtifactRepository mvn = (MavenArtifactRepository) repo;
+            final RemoteRepository.Builder builder =
+                new RemoteRepository.Builder(
+                    mvn.getId(), "default", mvn.getUrl()
+                );
+            Authentication auth = null;
+            final org.apache.maven.artifact.repository.Authentication creds =
+                mvn.getAuthentication();
+            if (creds != null) {
+                final AuthenticationBuilder abuilder =
+                    new AuthenticationBuilder().addString(
+                        creds.getUsername(), creds.getPassword()
+                    );
+                if (creds.getPrivateKey() != null) {
+                    abuilder.addPrivateKey(
+                        creds.getPrivateKey(), creds.getPassphrase()
+                    );
+                }
+                auth = abuilder.build();
+                builder.setAuthentication(auth);
+            }
+            final org.apache.maven.repository.Proxy proxy = mvn.getProxy();
+            if (proxy != null) {
+                builder.setProxy(
+                    new Proxy(
+                        proxy.getProtocol(), proxy.getHost(),
+                        proxy.getPort(), auth
+                    )
+                );
+            }
+            remote = builder.build();
+        } else {
+            remote = (RemoteRepository) repo;
+        }
+        return remote;
+    }
+
     /**
      * Build repositories taking mirrors into consideration.
      * @param repos Initial list of repositories.
+     * @param settings Maven settings
      * @return List of repositories with mirrored ones.
      */
-    private Collection<RemoteRepository> mrepos(
-        final Collection< ? extends ArtifactRepository> repos) {
-        final DefaultMirrorSelector selector = this.mirror(this.settings());
+    private static Collection<RemoteRepository> mrepos(
+        final Collection<RemoteRepository> repos, final Settings settings) {
+        final DefaultMirrorSelector selector = Aether.mirror(settings);
         final Collection<RemoteRepository> mrepos =
             new ArrayList<RemoteRepository>(repos.size());
-        for (final Object mrepo : repos) {
-        	RemoteRepository repo = null;
-        	if( ! ( mrepo instanceof RemoteRepository )  ){
-	        	if( mrepo instanceof MavenArtifactRepository){
-	        		MavenArtifactRepository mavenRepo = (MavenArtifactRepository)mrepo;
-	        		RemoteRepository.Builder builder = new RemoteRepository.Builder(mavenRepo.getId(),"default",mavenRepo.getUrl());
-	        		Authentication auth1 = null;
-	        		org.apache.maven.artifact.repository.Authentication auth = mavenRepo.getAuthentication();
-					if(auth != null){
-	        			AuthenticationBuilder authBuilder = new AuthenticationBuilder().addString(auth.getUsername(), auth.getPassword());
-	        			if(auth.getPrivateKey() != null){
-	        				authBuilder.addPrivateKey(auth.getPrivateKey(), auth.getPassphrase());
-	        			}
-	        			auth1 =authBuilder.build();
-						 builder.setAuthentication(auth1);
-	        		}
-					org.apache.maven.repository.Proxy proxy = mavenRepo.getProxy();
-					if(proxy != null){
-						builder.setProxy (   new Proxy(
-			                    proxy.getProtocol(),
-			                    proxy.getHost(),
-			                    proxy.getPort(),auth1));
-					}
-					repo = builder.build();
-	        	}
-        	}
-        		
-        	if(repo == null){
-        		repo = (RemoteRepository)mrepo;
-        	}
-        	RemoteRepository mirrored = selector.getMirror(repo);
+        for (final RemoteRepository repo : repos) {
+            final RemoteRepository mirrored = selector.getMirror(repo);
             if (mirrored == null) {
                 mrepos.add(repo);
             } else {
                 mrepos.add(mirrored);
             }
-            
         }
         return mrepos;
     }
@@ -254,40 +1205,66 @@ public final class Aether {
     /**
      * Build repositories with proxy if it is available.
      * @param repos List of repositories
+     * @param settings Maven settings
      * @return List of repositories with proxy
      */
-    private Collection<Repository> prepos(
-        final Collection<RemoteRepository> repos
-    ) {
-    	
-    	 List<Repository> retList = new LinkedList<Repository>();
-   
-        final org.apache.maven.settings.Proxy proxy = this.settings()
-            .getActiveProxy();
+    private static Collection<Repository> prepos(
+        final Collection<RemoteRepository> repos, final Settings settings) {
+        final List<Repository> prepos = new ArrayList<Repository>(
+            repos.size()
+        );
+        final org.apache.maven.settings.Proxy proxy =
+            settings.getActiveProxy();
         final DefaultProxySelector selector = new DefaultProxySelector();
-        
         if (proxy != null) {
-              selector.add(
+            selector.add(
                 new Proxy(
                     proxy.getProtocol(),
                     proxy.getHost(),
                     proxy.getPort(),
-                    new AuthenticationBuilder().addUsername(proxy.getUsername()).addPassword(proxy.getPassword()).build()
-                ), proxy.getNonProxyHosts()
+                    new AuthenticationBuilder()
+                        .addUsername(proxy.getUsername())
+                        .addPassword(proxy.getPassword())
+                        .build()
+                ),
+                proxy.getNonProxyHosts()
             );
-            
-//            for (final RemoteRepository repo : repos) {
-//            
-//            	
-//            	repo.setProxy(selector.getProxy(repo));
-//            }
-        }
-        
+        }
         for (final RemoteRepository repo : repos) {
-        	Proxy p = selector.getProxy(repo);
-            retList.add(new Repository(p == null ? repo : new RemoteRepository.Builder(repo).setProxy(p).build()));
+            final Proxy selected = selector.getProxy(repo);
+            if (selected == null) {
+                prepos.add(new Repository(repo));
+            } else {
+                prepos.add(
+                    new Repository(
+                        new RemoteRepository.Builder(repo)
+                            .setProxy(selected).build()
+                    )
+                );
+            }
         }
-        return retList;
+        return prepos;
+    }
+
+    /**
+     * Fingerprint of settings files.
+     * @return Their paths, sizes and modification times
+     */
+    static String fingerprint() {
+        final StringBuilder print = new StringBuilder(0);
+        final Collection<File> files = new ArrayList<File>(3);
+        files.add(Aether.user());
+        if (Aether.global() != null) {
+            files.add(Aether.global());
+        }
+        files.add(Aether.interpolated().toFile());
+        for (final File file : files) {
+            print.append(file.getAbsolutePath())
+                .append(':').append(file.length())
+                .append(':').append(file.lastModified())
+                .append(';');
+        }
+        return print.toString();
     }
 
     /**
@@ -299,22 +1276,28 @@ public final class Aether {
      * @param system The repository system
      * @param session The session
      * @param dreq Dependency request
-     * @return The list of dependencies
+     * @param trace Trace of the resolution
+     * @param jars Resolve artifacts, or only collect their graph
+     * @return The result
      * @throws DependencyResolutionException If can't fetch it
      */
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private List<Artifact> fetch(final RepositorySystem system,
-        final RepositorySystemSession session, final DependencyRequest dreq)
+    private DependencyResult fetch(final RepositorySystem system,
+        final RepositorySystemSession session, final DependencyRequest dreq,
+        final Trace trace, final boolean jars)
         throws DependencyResolutionException {
-        final List<Artifact> deps = new LinkedList<Artifact>();
+        DependencyResult result;
         try {
-            Collection<ArtifactResult> results;
-            synchronized (this.lrepo) {
-                results = system.resolveDependencies(session, dreq)
-                    .getArtifactResults();
-            }
-            for (final ArtifactResult res : results) {
-                deps.add(res.getArtifact());
+            if (this.locks > 0L) {
+                result = Aether.fetchAll(system, session, dreq, trace, jars);
+            } else {
+                final long start = System.nanoTime();
+                synchronized (this.lrepo) {
+                    this.metrics.waited(System.nanoTime() - start);
+                    result = Aether.fetchAll(
+                        system, session, dreq, trace, jars
+                    );
+                }
             }
         // @checkstyle IllegalCatch (1 line)
         } catch (final Exception ex) {
@@ -333,7 +1316,36 @@ public final class Aether {
                 )
             );
         }
-        return deps;
+        return result;
+    }
+
+    /**
+     * Collect the dependency graph and resolve its artifacts.
+     * @param system The repository system
+     * @param session The session
+     * @param dreq Dependency request
+     * @param trace Trace of the resolution
+     * @param jars Resolve artifacts, or only collect their graph
+     * @return The result
+     * @throws Exception If fails
+     */
+    private static DependencyResult fetchAll(
+        final RepositorySystem system, final RepositorySystemSession session,
+        final DependencyRequest dreq, final Trace trace, final boolean jars)
+        throws Exception {
+        trace.enter("collect");
+        dreq.setRoot(
+            system.collectDependencies(session, dreq.getCollectRequest())
+                .getRoot()
+        );
+        final DependencyResult result;
+        if (jars) {
+            trace.enter("resolve");
+            result = system.resolveDependencies(session, dreq);
+        } else {
+            result = new DependencyResult(dreq);
+        }
+        return result;
     }
 
     /**
@@ -382,30 +1394,155 @@ public final class Aether {
         return texts;
     }
 
+    /**
+     * Make a trace of a resolution.
+     *
+     * <p>When nobody receives traces, the trace records nothing.
+     *
+     * @param format Format of its name
+     * @param args Arguments of the format
+     * @return The trace
+     */
+    private Trace trace(final String format, final Object... args) {
+        final Trace trace;
+        if (this.tracer instanceof Tracer.Silent) {
+            trace = Trace.SILENT;
+        } else {
+            trace = new Trace(String.format(format, args));
+        }
+        return trace;
+    }
+
     /**
      * Create RepositorySystemSession.
      * @param system The repository system
+     * @param trace Trace of the resolution
      * @return The session
      */
-    private RepositorySystemSession session(final RepositorySystem system) {
+    private DefaultRepositorySystemSession session(
+        final RepositorySystem system,
+        final Trace trace) {
         final LocalRepository local = new LocalRepository(this.lrepo);
         final DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
-        session.setLocalRepositoryManager( system.newLocalRepositoryManager(session, local));
-        session.setTransferListener(new LogTransferListener());
+        LocalRepositoryManager manager =
+            system.newLocalRepositoryManager(session, local);
+        if (this.index) {
+            manager = new IndexedRepositoryManager(
+                manager, LocalIndex.of(local.getBasedir())
+            );
+        }
+        session.setLocalRepositoryManager(manager);
+        if (this.locks > 0L) {
+            session.setConfigProperty(
+                FileSyncContextFactory.TIMEOUT, this.locks
+            );
+        }
+        TransferListener transfers = new LogTransferListener();
+        if (!(this.ranking instanceof Ranking.Declared)) {
+            RankingListener.attach(session, this.ranking);
+            transfers = new RankingListener(transfers);
+        }
+        if (!(this.breakers instanceof Breakers.None)) {
+            BreakerListener.attach(session, this.breakers);
+            transfers = new BreakerListener(transfers);
+        }
+        if (this.tracer instanceof Tracer.Silent) {
+            session.setTransferListener(transfers);
+        } else {
+            final TraceListener listener = new TraceListener(transfers);
+            session.setTransferListener(listener);
+            session.setRepositoryListener(listener);
+            trace.attach(session);
+        }
+        Meter.attach(session, this.metrics);
+        if (this.link) {
+            session.setConfigProperty(LinkedConnectorFactory.ENABLED, true);
+            session.setConfigProperty(LinkedConnectorFactory.HARD, this.hard);
+        }
+        if (this.resume > 0) {
+            session.setConfigProperty(
+                ResumableConnectorFactory.ATTEMPTS, this.resume
+            );
+        }
+        if (!this.routes.empty()) {
+            this.routes.attach(session);
+        }
+        if (this.missing > 0L) {
+            session.setConfigProperty(MissingResolver.TTL, this.missing);
+        }
+        if (!(this.ranges instanceof RangeCache.None)) {
+            RangeResolver.attach(session, this.ranges);
+        }
+        if (!this.hedging.empty()) {
+            this.hedging.attach(session);
+        }
         return session;
     }
 
+    /**
+     * Find equivalents of selected mirrors among mirrors of settings.
+     * @param repos Remote repositories, with mirrors selected
+     * @param settings Maven settings
+     * @param hedging Hedging to add equivalents to
+     * @return Hedging with equivalents
+     */
+    static Hedging equivalents(final Repository[] repos,
+        final Settings settings, final Hedging hedging) {
+        Hedging found = hedging;
+        for (final Repository repo : repos) {
+            final RemoteRepository remote = repo.remote();
+            final List<RemoteRepository> origins =
+                remote.getMirroredRepositories();
+            if (origins.isEmpty()) {
+                continue;
+            }
+            for (final Mirror mirror : settings.getMirrors()) {
+                if (Aether.equivalent(remote, origins, mirror, settings)) {
+                    found = found.with(remote.getUrl(), mirror.getUrl());
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Is the mirror of settings equivalent to the selected one?
+     * @param remote Selected mirror
+     * @param origins Repositories it mirrors
+     * @param mirror Mirror of settings
+     * @param settings Maven settings
+     * @return TRUE if it mirrors all of them and needs no credentials
+     */
+    private static boolean equivalent(final RemoteRepository remote,
+        final List<RemoteRepository> origins, final Mirror mirror,
+        final Settings settings) {
+        boolean equivalent = !Layout.normal(mirror.getUrl())
+            .equals(Layout.normal(remote.getUrl()))
+            && settings.getServer(mirror.getId()) == null;
+        if (equivalent) {
+            final DefaultMirrorSelector selector =
+                new DefaultMirrorSelector().add(
+                    mirror.getId(), mirror.getUrl(), mirror.getLayout(), false,
+                    mirror.getMirrorOf(), mirror.getMirrorOfLayouts()
+                );
+            for (final RemoteRepository origin : origins) {
+                equivalent &= selector.getMirror(origin) != null;
+            }
+        }
+        return equivalent;
+    }
+
     /**
      * Setup mirrors based on maven settings.
      * @param settings Settings to use.
      * @return Mirror selector.
      */
-    private DefaultMirrorSelector mirror(final Settings settings) {
+    private static DefaultMirrorSelector mirror(final Settings settings) {
         final DefaultMirrorSelector selector =
             new DefaultMirrorSelector();
         final List<Mirror> mirrors = settings.getMirrors();
         Logger.warn(
-            this,
+            Aether.class,
             "mirrors: %s",
             mirrors
         );
@@ -424,37 +1561,68 @@ public final class Aether {
      * Provide settings from maven.
      * @return Maven settings.
      */
-    private Settings settings() {
+    private static Settings settings() {
         final SettingsBuilder builder =
             new DefaultSettingsBuilderFactory().newInstance();
         final SettingsBuildingRequest request =
             new DefaultSettingsBuildingRequest();
+        request.setUserSettingsFile(Aether.user());
+        final File global = Aether.global();
+        if (global != null) {
+            request.setGlobalSettingsFile(global);
+        }
+        final SettingsBuildingResult result;
+        try {
+            result = builder.build(request);
+        } catch (final SettingsBuildingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return Aether.invokers(builder, result);
+    }
+
+    /**
+     * User settings file.
+     * @return The file, may be absent
+     */
+    private static File user() {
         final String user =
             System.getProperty("org.apache.maven.user-settings");
+        final File file;
         if (user == null) {
-            request.setUserSettingsFile(
+            file = new File(
                 new File(
-                    new File(
-                        System.getProperty("user.home")
-                    ).getAbsoluteFile(),
-                    "/.m2/settings.xml"
-                )
+                    System.getProperty("user.home")
+                ).getAbsoluteFile(),
+                "/.m2/settings.xml"
             );
         } else {
-            request.setUserSettingsFile(new File(user));
+            file = new File(user);
         }
+        return file;
+    }
+
+    /**
+     * Global settings file.
+     * @return The file or NULL if it's not configured
+     */
+    private static File global() {
         final String global =
             System.getProperty("org.apache.maven.global-settings");
+        File file = null;
         if (global != null) {
-            request.setGlobalSettingsFile(new File(global));
-        }
-        final SettingsBuildingResult result;
-        try {
-            result = builder.build(request);
-        } catch (final SettingsBuildingException ex) {
-            throw new IllegalStateException(ex);
+            file = new File(global);
         }
-        return this.invokers(builder, result);
+        return file;
+    }
+
+    /**
+     * Settings file of maven invoker.
+     * @return The path, may be absent
+     */
+    private static Path interpolated() {
+        return Paths.get(
+            System.getProperty("user.dir"), "..", "interpolated-settings.xml"
+        );
     }
 
     /**
@@ -463,12 +1631,10 @@ public final class Aether {
      * @param result User and global settings.
      * @return User, global and invoker settings.
      */
-    private Settings invokers(final SettingsBuilder builder,
+    private static Settings invokers(final SettingsBuilder builder,
         final SettingsBuildingResult result) {
         Settings main = result.getEffectiveSettings();
-        final Path path = Paths.get(
-            System.getProperty("user.dir"), "..", "interpolated-settings.xml"
-        );
+        final Path path = Aether.interpolated();
         if (Files.exists(path)) {
             final DefaultSettingsBuildingRequest irequest =
                 new DefaultSettingsBuildingRequest();
@@ -484,4 +1650,36 @@ public final class Aether {
         }
         return main;
     }
+
+    /**
+     * Repository system, shared by all resolutions in this JVM.
+     *
+     * <p>It is built when the first resolution needs it. All its
+     * components are thread-safe and configured by sessions.
+     */
+    private static final class Shared {
+        /**
+         * The system.
+         */
+        private static final RepositorySystem SYSTEM =
+            new RepositorySystemBuilder().build();
+        /**
+         * Utility class.
+         */
+        private Shared() {
+            // intentionally empty
+        }
+    }
+
+    /**
+     * Filter that rejects dependencies which lost version conflicts.
+     */
+    private static final class WinnersFilter implements DependencyFilter {
+        @Override
+        public boolean accept(final DependencyNode node,
+            final List<DependencyNode> parents) {
+            return node.getData().get(ConflictResolver.NODE_DATA_WINNER)
+                == null;
+        }
+    }
 }
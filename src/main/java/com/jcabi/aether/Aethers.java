@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.repository.ArtifactRepository;
+
+/**
+ * Registry of {@link Aether}s, with one instance per repositories.
+ *
+ * <pre> Aether aether = Aethers.get(project, localRepo);</pre>
+ *
+ * <p>Equal lists of remote repositories with the same local repository
+ * get the same {@link Aether}, as long as Maven settings files don't
+ * change. So settings are parsed, and mirrors and proxies selected, only
+ * once, and all users of the instance share its resolutions in flight
+ * and its caches, for example all modules of a big reactor. Repository
+ * system is shared by all instances anyway.
+ *
+ * <p>Copies made by {@link Aether#indexed()} and other decorating
+ * methods are not registered. A limited amount of instances is kept, the least
+ * recently used are dropped first.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Classpath
+ */
+public final class Aethers {
+
+    /**
+     * Maximum amount of instances to keep.
+     */
+    private static final int MAX = 256;
+
+    /**
+     * Instances, by fingerprints of settings, local repositories and
+     * remote repositories.
+     */
+    private static final BoundedCache<List<Object>, Aether> ALL =
+        new BoundedCache<List<Object>, Aether>(Aethers.MAX);
+
+    /**
+     * Utility class.
+     */
+    private Aethers() {
+        // intentionally empty
+    }
+
+    /**
+     * Get the Aether of the project.
+     * @param prj The Maven project
+     * @param repo Local repository location (directory path)
+     * @return The canonical Aether
+     */
+    public static Aether get(@NotNull final MavenProject prj,
+        @NotNull final File repo) {
+        return Aethers.get(prj.getRemoteProjectRepositories(), repo);
+    }
+
+    /**
+     * Get the Aether of the repositories.
+     * @param repos Collection of remote repositories
+     * @param repo Local repository location (directory path)
+     * @return The canonical Aether
+     */
+    public static Aether get(
+        @NotNull final Collection< ? extends ArtifactRepository> repos,
+        @NotNull final File repo) {
+        final List<Object> key = new ArrayList<Object>(repos.size() + 2);
+        key.add(Aether.fingerprint());
+        key.add(repo.getAbsolutePath());
+        for (final Object remote : repos) {
+            key.add(Aether.remote(remote));
+        }
+        Aether aether = Aethers.ALL.get(key);
+        if (aether == null) {
+            final Aether made = new Aether(repos, repo);
+            aether = Aethers.ALL.putIfAbsent(key, made);
+            if (aether == null) {
+                aether = made;
+            }
+        }
+        return aether;
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.aether.artifact.AbstractArtifact;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Memory-compact list of resolved artifacts.
+ *
+ * <p>Coordinates are kept in parallel arrays, one array per attribute,
+ * instead of one object per artifact. All strings are interned, and maps
+ * of artifact properties are shared between all lists in the JVM, since
+ * there are just a few distinct ones (one per artifact type). Elements are
+ * lightweight views over the arrays, created on demand, which implement
+ * {@link Artifact} exactly like {@code DefaultArtifact} does.
+ *
+ * <p>The list is immutable and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#compact(Artifact, String)
+ */
+public final class Artifacts extends AbstractList<Artifact> {
+
+    /**
+     * Maximum amount of distinct maps of properties to keep.
+     */
+    private static final int MAX_PROPS = 1024;
+
+    /**
+     * Distinct maps of properties.
+     */
+    private static final BoundedCache<Map<String, String>,
+        Map<String, String>> PROPS = new BoundedCache<Map<String, String>,
+            Map<String, String>>(Artifacts.MAX_PROPS);
+
+    /**
+     * Group IDs.
+     */
+    private final transient String[] groups;
+
+    /**
+     * Artifact IDs.
+     */
+    private final transient String[] names;
+
+    /**
+     * Versions.
+     */
+    private final transient String[] versions;
+
+    /**
+     * Classifiers.
+     */
+    private final transient String[] classifiers;
+
+    /**
+     * Extensions.
+     */
+    private final transient String[] extensions;
+
+    /**
+     * Absolute paths of files, NULL when not resolved.
+     */
+    private final transient String[] paths;
+
+    /**
+     * Properties.
+     */
+    private final transient Map<?, ?>[] props;
+
+    /**
+     * Ctor.
+     * @param artifacts Artifacts to keep
+     */
+    public Artifacts(final Collection<? extends Artifact> artifacts) {
+        super();
+        final int size = artifacts.size();
+        this.groups = new String[size];
+        this.names = new String[size];
+        this.versions = new String[size];
+        this.classifiers = new String[size];
+        this.extensions = new String[size];
+        this.paths = new String[size];
+        this.props = new Map<?, ?>[size];
+        int idx = 0;
+        for (final Artifact artifact : artifacts) {
+            this.groups[idx] = artifact.getGroupId().intern();
+            this.names[idx] = artifact.getArtifactId().intern();
+            this.versions[idx] = artifact.getVersion().intern();
+            this.classifiers[idx] = artifact.getClassifier().intern();
+            this.extensions[idx] = artifact.getExtension().intern();
+            if (artifact.getFile() != null) {
+                this.paths[idx] = artifact.getFile().getAbsolutePath();
+            }
+            this.props[idx] = Artifacts.shared(artifact.getProperties());
+            ++idx;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Artifact get(final int index) {
+        if (index < 0 || index >= this.groups.length) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of [0..%d)", index, this.groups.length
+                )
+            );
+        }
+        return new Artifacts.View(this, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return this.groups.length;
+    }
+
+    /**
+     * Shared immutable copy of properties.
+     * @param map Properties
+     * @return The same properties, shared with other artifacts
+     */
+    private static Map<String, String> shared(final Map<String, String> map) {
+        final Map<String, String> copy = Collections.unmodifiableMap(
+            new HashMap<String, String>(map)
+        );
+        final Map<String, String> before =
+            Artifacts.PROPS.putIfAbsent(copy, copy);
+        final Map<String, String> shared;
+        if (before == null) {
+            shared = copy;
+        } else {
+            shared = before;
+        }
+        return shared;
+    }
+
+    /**
+     * Artifact at some position of the list.
+     */
+    private static final class View extends AbstractArtifact {
+        /**
+         * The list.
+         */
+        private final transient Artifacts list;
+        /**
+         * Position in the list.
+         */
+        private final transient int pos;
+        /**
+         * Ctor.
+         * @param artifacts The list
+         * @param index Position in it
+         */
+        View(final Artifacts artifacts, final int index) {
+            super();
+            this.list = artifacts;
+            this.pos = index;
+        }
+        @Override
+        public String getGroupId() {
+            return this.list.groups[this.pos];
+        }
+        @Override
+        public String getArtifactId() {
+            return this.list.names[this.pos];
+        }
+        @Override
+        public String getVersion() {
+            return this.list.versions[this.pos];
+        }
+        @Override
+        public String getClassifier() {
+            return this.list.classifiers[this.pos];
+        }
+        @Override
+        public String getExtension() {
+            return this.list.extensions[this.pos];
+        }
+        @Override
+        public File getFile() {
+            final String path = this.list.paths[this.pos];
+            File file = null;
+            if (path != null) {
+                file = new File(path);
+            }
+            return file;
+        }
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, String> getProperties() {
+            return (Map<String, String>) this.list.props[this.pos];
+        }
+    }
+}
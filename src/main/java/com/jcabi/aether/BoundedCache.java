@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Cache of results, bounded in size, memory and time.
+ *
+ * <p>Values are kept by soft references, so that the garbage collector
+ * may drop them when memory is short, and the least recently used are
+ * dropped when there are too many of them. When a time to live is set,
+ * values are dropped when it is over. All caches of Aether are made of
+ * it: descriptors, version ranges, roots of classpaths, selected mirrors,
+ * registered instances and shared properties of artifacts.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ */
+@ToString(of = { "max", "ttl" })
+@EqualsAndHashCode(of = { "max", "ttl" })
+final class BoundedCache<K, V> {
+
+    /**
+     * Maximum amount of values to keep.
+     */
+    private final transient int max;
+
+    /**
+     * Time to live of a value, in nanoseconds, or zero if it's unlimited.
+     */
+    private final transient long ttl;
+
+    /**
+     * Values, in access order.
+     */
+    private final transient Map<K, BoundedCache.Entry<V>> map;
+
+    /**
+     * Ctor.
+     * @param size Maximum amount of values to keep
+     */
+    BoundedCache(final int size) {
+        this(size, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Ctor.
+     * @param size Maximum amount of values to keep
+     * @param time Time to live of every value, zero if it's unlimited
+     * @param unit Unit of time
+     */
+    BoundedCache(final int size, final long time, final TimeUnit unit) {
+        this.max = size;
+        this.ttl = unit.toNanos(time);
+        this.map = new LinkedHashMap<K, BoundedCache.Entry<V>>(
+            0, 0.75f, true
+        ) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<K, BoundedCache.Entry<V>> eldest) {
+                return this.size() > BoundedCache.this.max;
+            }
+        };
+    }
+
+    /**
+     * Get a value.
+     * @param key The key
+     * @return The value or NULL if it's absent
+     */
+    public V get(final K key) {
+        synchronized (this.map) {
+            final BoundedCache.Entry<V> entry = this.map.get(key);
+            V value = null;
+            if (entry != null) {
+                value = entry.value();
+                if (value == null) {
+                    this.map.remove(key);
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Put a value.
+     * @param key The key
+     * @param value The value
+     */
+    public void put(final K key, final V value) {
+        long deadline = 0L;
+        if (this.ttl > 0L) {
+            deadline = System.nanoTime() + this.ttl;
+        }
+        synchronized (this.map) {
+            this.map.put(key, new BoundedCache.Entry<V>(value, deadline));
+        }
+    }
+
+    /**
+     * Put a value, unless there is one already.
+     * @param key The key
+     * @param value The value
+     * @return The value that is there already, or NULL if it was put
+     */
+    public V putIfAbsent(final K key, final V value) {
+        long deadline = 0L;
+        if (this.ttl > 0L) {
+            deadline = System.nanoTime() + this.ttl;
+        }
+        synchronized (this.map) {
+            final BoundedCache.Entry<V> entry = this.map.get(key);
+            V before = null;
+            if (entry != null) {
+                before = entry.value();
+            }
+            if (before == null) {
+                this.map.put(key, new BoundedCache.Entry<V>(value, deadline));
+            }
+            return before;
+        }
+    }
+
+    /**
+     * Forget all values.
+     */
+    public void clear() {
+        synchronized (this.map) {
+            this.map.clear();
+        }
+    }
+
+    /**
+     * Cached value.
+     * @param <V> Type of value
+     */
+    private static final class Entry<V> {
+        /**
+         * The value.
+         */
+        private final transient SoftReference<V> ref;
+        /**
+         * When it expires, in nanoseconds, or zero if never.
+         */
+        private final transient long deadline;
+        /**
+         * Ctor.
+         * @param value The value
+         * @param time When it expires, zero if never
+         */
+        Entry(final V value, final long time) {
+            this.ref = new SoftReference<V>(value);
+            this.deadline = time;
+        }
+        /**
+         * Get the value, if it's still alive.
+         * @return The value or NULL if it's expired or collected
+         */
+        public V value() {
+            V value = null;
+            if (this.deadline == 0L || System.nanoTime() - this.deadline < 0L) {
+                value = this.ref.get();
+            }
+            return value;
+        }
+    }
+}
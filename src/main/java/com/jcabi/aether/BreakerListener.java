@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * Listener of transfer events, which reports health of repositories to
+ * the {@link Breakers} of their session.
+ *
+ * <p>A transfer is cancelled when it starts, if the breaker of its
+ * repository doesn't let it through. A successful transfer and a "not
+ * found" answer mean that the repository is healthy, any other failure
+ * (except cancellation) means it's not. Events are passed to the original
+ * listener afterwards.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "origin")
+@EqualsAndHashCode(of = "origin")
+final class BreakerListener implements TransferListener {
+
+    /**
+     * Key of the breakers in session data.
+     */
+    private static final String KEY = Breakers.class.getName();
+
+    /**
+     * Breakers of sessions without them.
+     */
+    private static final Breakers NONE = new Breakers.None();
+
+    /**
+     * Original transfer listener.
+     */
+    private final transient TransferListener origin;
+
+    /**
+     * Ctor.
+     * @param listener Original transfer listener
+     */
+    BreakerListener(final TransferListener listener) {
+        this.origin = listener;
+    }
+
+    /**
+     * Attach breakers to the session.
+     * @param session The session
+     * @param breakers The breakers
+     */
+    public static void attach(final DefaultRepositorySystemSession session,
+        final Breakers breakers) {
+        session.getData().set(BreakerListener.KEY, breakers);
+    }
+
+    /**
+     * Breakers of the session.
+     * @param session The session
+     * @return Breakers, which never break if the session has none
+     */
+    public static Breakers of(final RepositorySystemSession session) {
+        Breakers breakers =
+            (Breakers) session.getData().get(BreakerListener.KEY);
+        if (breakers == null) {
+            breakers = BreakerListener.NONE;
+        }
+        return breakers;
+    }
+
+    @Override
+    public void transferInitiated(final TransferEvent event)
+        throws TransferCancelledException {
+        final String url = event.getResource().getRepositoryUrl();
+        if (!BreakerListener.of(event.getSession()).starts(url)) {
+            throw new TransferCancelledException(
+                String.format("breaker of %s is not closed", url)
+            );
+        }
+        this.origin.transferInitiated(event);
+    }
+
+    @Override
+    public void transferStarted(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferStarted(event);
+    }
+
+    @Override
+    public void transferProgressed(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferProgressed(event);
+    }
+
+    @Override
+    public void transferCorrupted(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferCorrupted(event);
+    }
+
+    @Override
+    public void transferSucceeded(final TransferEvent event) {
+        BreakerListener.of(event.getSession()).succeeded(
+            event.getResource().getRepositoryUrl()
+        );
+        this.origin.transferSucceeded(event);
+    }
+
+    @Override
+    public void transferFailed(final TransferEvent event) {
+        final Exception error = event.getException();
+        final String url = event.getResource().getRepositoryUrl();
+        if (error instanceof ArtifactNotFoundException
+            || error instanceof MetadataNotFoundException) {
+            BreakerListener.of(event.getSession()).succeeded(url);
+        } else if (!BreakerListener.cancelled(error)) {
+            BreakerListener.of(event.getSession()).failed(url);
+        }
+        this.origin.transferFailed(event);
+    }
+
+    /**
+     * Was the transfer cancelled?
+     * @param error Its exception
+     * @return TRUE if it or one of its causes is a cancellation
+     */
+    private static boolean cancelled(final Throwable error) {
+        boolean cancelled = false;
+        Throwable cause = error;
+        while (cause != null) {
+            if (cause instanceof TransferCancelledException) {
+                cancelled = true;
+                break;
+            }
+            cause = cause.getCause();
+        }
+        return cancelled;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Circuit breakers of remote repositories.
+ *
+ * <p>Before a repository is asked for anything, its breaker is asked
+ * whether it's allowed, and once again when a transfer from it really
+ * starts, since many requests are answered from the local repository and
+ * never reach it. After a transfer, the breaker learns whether the
+ * repository was healthy: a resource found or reported absent is a
+ * success, a broken connection or a server error is a failure.
+ * Repositories are identified by their URLs. Implementations must be
+ * thread-safe. They are not required to be immutable:
+ * {@link CircuitBreakers} keeps states of breakers.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#guarded(Breakers)
+ * @see CircuitBreakers
+ */
+public interface Breakers {
+
+    /**
+     * May the repository be asked now?
+     * @param url URL of the repository
+     * @return TRUE if it may
+     */
+    boolean allows(String url);
+
+    /**
+     * May a transfer from the repository start now?
+     * @param url URL of the repository
+     * @return TRUE if it may, FALSE if the transfer must be cancelled
+     */
+    boolean starts(String url);
+
+    /**
+     * The repository answered.
+     * @param url URL of the repository
+     */
+    void succeeded(String url);
+
+    /**
+     * The repository failed to answer.
+     * @param url URL of the repository
+     */
+    void failed(String url);
+
+    /**
+     * State of the breaker of the repository.
+     * @param url URL of the repository
+     * @return The state
+     */
+    Breakers.State state(String url);
+
+    /**
+     * State of a breaker.
+     */
+    enum State {
+        /**
+         * The repository is healthy and asked as usual.
+         */
+        CLOSED,
+        /**
+         * The repository failed too many times and is skipped.
+         */
+        OPEN,
+        /**
+         * The repository is asked by one transfer, to find out whether
+         * it's back.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Breakers that never break.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class None implements Breakers {
+        @Override
+        public boolean allows(final String url) {
+            return true;
+        }
+        @Override
+        public boolean starts(final String url) {
+            return true;
+        }
+        @Override
+        public void succeeded(final String url) {
+            // nothing to do
+        }
+        @Override
+        public void failed(final String url) {
+            // nothing to do
+        }
+        @Override
+        public Breakers.State state(final String url) {
+            return Breakers.State.CLOSED;
+        }
+    }
+
+}
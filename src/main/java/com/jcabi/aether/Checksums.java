@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+
+/**
+ * Verification of SHA-1 checksums of artifacts, for connectors.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Checksums {
+
+    /**
+     * Utility class.
+     */
+    private Checksums() {
+        // intentionally empty
+    }
+
+    /**
+     * Verify checksum of a file, according to the policy.
+     *
+     * <p>With "ignore" policy nothing is verified, with "warn" policy
+     * problems are only logged.
+     *
+     * @param file The file
+     * @param text Content of {@code .sha1} file, NULL if it's absent
+     * @param policy Checksum policy
+     * @param source Where the file came from, for messages
+     * @throws IOException If fails to read the file
+     * @throws ChecksumFailureException If checksum is wrong or absent
+     */
+    public static void verify(final File file, final String text,
+        final String policy, final Object source)
+        throws IOException, ChecksumFailureException {
+        if (RepositoryPolicy.CHECKSUM_POLICY_IGNORE.equals(policy)) {
+            return;
+        }
+        String problem = null;
+        if (text == null) {
+            problem = String.format("no checksum of %s", source);
+        } else {
+            final String expected = text.trim().split("\\s+")[0]
+                .toLowerCase(Locale.ENGLISH);
+            final String actual = Checksums.sha1(file);
+            if (!expected.equals(actual)) {
+                problem = String.format(
+                    "checksum of %s is %s, while %s expected",
+                    source, actual, expected
+                );
+            }
+        }
+        if (problem != null) {
+            if (RepositoryPolicy.CHECKSUM_POLICY_FAIL.equals(policy)) {
+                throw new ChecksumFailureException(problem);
+            }
+            Logger.warn(Checksums.class, "#verify(): %s", problem);
+        }
+    }
+
+    /**
+     * SHA-1 digest of a file.
+     * @param src The file
+     * @return Digest, in hex
+     * @throws IOException If fails
+     */
+    public static String sha1(final File src) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final InputStream input = new FileInputStream(src);
+        try {
+            // @checkstyle MagicNumber (1 line)
+            final byte[] buffer = new byte[1 << 16];
+            while (true) {
+                final int len = input.read(buffer);
+                if (len < 0) {
+                    break;
+                }
+                digest.update(buffer, 0, len);
+            }
+        } finally {
+            input.close();
+        }
+        // @checkstyle MagicNumber (1 line)
+        return String.format("%040x", new BigInteger(1, digest.digest()));
+    }
+
+}
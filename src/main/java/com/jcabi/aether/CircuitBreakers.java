@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Circuit breakers, which skip a repository after a number of failures in
+ * a row, for a cool-down period.
+ *
+ * <pre> CircuitBreakers breakers = new CircuitBreakers(
+ *   3, 1L, TimeUnit.MINUTES
+ * );
+ * Aether aether = new Aether(repos, lrepo).guarded(breakers);
+ * Breakers.State state = breakers.state("http://repo.example.com/");</pre>
+ *
+ * <p>A breaker is {@code CLOSED} while the repository works. After the
+ * given number of failures in a row, it opens and the repository is not
+ * asked at all. When the cool-down is over, the breaker is
+ * {@code HALF_OPEN}: requests are allowed again, but only the first
+ * transfer that really starts goes to the repository, others are
+ * cancelled. Its outcome closes the breaker or opens it for one more
+ * cool-down. Requests answered without a transfer, for example from the
+ * local repository, don't take the place of the probe. If the probe
+ * never comes back, another one is allowed after the cool-down.
+ *
+ * <p>One object should be shared by all {@link Aether}s that work with
+ * the same repositories. The class is mutable, since it keeps states of
+ * breakers, and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "threshold", "cooldown" })
+@EqualsAndHashCode(of = { "threshold", "cooldown" })
+public final class CircuitBreakers implements Breakers {
+
+    /**
+     * Failures in a row that open a breaker.
+     */
+    private final transient int threshold;
+
+    /**
+     * Cool-down period, in nanoseconds.
+     */
+    private final transient long cooldown;
+
+    /**
+     * Circuits, by normalized URLs of repositories.
+     */
+    private final transient ConcurrentMap<String, CircuitBreakers.Circuit> all;
+
+    /**
+     * Public ctor.
+     * @param failures Failures in a row that open a breaker
+     * @param time Cool-down period
+     * @param unit Unit of time
+     */
+    public CircuitBreakers(final int failures, final long time,
+        final TimeUnit unit) {
+        if (failures <= 0) {
+            throw new IllegalArgumentException(
+                String.format("failures must be positive: %d", failures)
+            );
+        }
+        this.threshold = failures;
+        this.cooldown = unit.toNanos(time);
+        this.all = new ConcurrentHashMap<String, CircuitBreakers.Circuit>(0);
+    }
+
+    @Override
+    public boolean allows(final String url) {
+        return this.circuit(url).allows(System.nanoTime());
+    }
+
+    @Override
+    public boolean starts(final String url) {
+        return this.circuit(url).starts(System.nanoTime());
+    }
+
+    @Override
+    public void succeeded(final String url) {
+        if (this.circuit(url).succeeded()) {
+            Logger.info(this, "repository %s is back, breaker closed", url);
+        }
+    }
+
+    @Override
+    public void failed(final String url) {
+        if (this.circuit(url).failed(System.nanoTime())) {
+            Logger.warn(
+                this, "repository %s failed, skipping it for %[nano]s",
+                url, this.cooldown
+            );
+        }
+    }
+
+    @Override
+    public Breakers.State state(final String url) {
+        return this.circuit(url).state();
+    }
+
+    /**
+     * States of all breakers that ever saw a transfer.
+     * @return States by URLs of repositories
+     */
+    public Map<String, Breakers.State> states() {
+        final Map<String, Breakers.State> states =
+            new TreeMap<String, Breakers.State>();
+        for (final Map.Entry<String, CircuitBreakers.Circuit> entry
+            : this.all.entrySet()) {
+            states.put(entry.getKey(), entry.getValue().state());
+        }
+        return states;
+    }
+
+    /**
+     * Get the circuit of the repository.
+     * @param url URL of the repository
+     * @return The circuit
+     */
+    private CircuitBreakers.Circuit circuit(final String url) {
+        final String key = Layout.normal(url);
+        CircuitBreakers.Circuit circuit = this.all.get(key);
+        if (circuit == null) {
+            this.all.putIfAbsent(
+                key, new CircuitBreakers.Circuit(this.threshold, this.cooldown)
+            );
+            circuit = this.all.get(key);
+        }
+        return circuit;
+    }
+
+    /**
+     * Circuit of one repository.
+     */
+    private static final class Circuit {
+        /**
+         * Failures in a row that open it.
+         */
+        private final transient int threshold;
+        /**
+         * Cool-down period, in nanoseconds.
+         */
+        private final transient long cooldown;
+        /**
+         * Current state.
+         */
+        private transient Breakers.State current = Breakers.State.CLOSED;
+        /**
+         * Failures in a row.
+         */
+        private transient int failures;
+        /**
+         * When it was opened or probed last time, in nanoseconds.
+         */
+        private transient long since;
+        /**
+         * The probe is in progress.
+         */
+        private transient boolean probing;
+        /**
+         * Ctor.
+         * @param max Failures in a row that open it
+         * @param time Cool-down period, in nanoseconds
+         */
+        Circuit(final int max, final long time) {
+            this.threshold = max;
+            this.cooldown = time;
+        }
+        /**
+         * May the repository be asked now?
+         * @param now Current time, in nanoseconds
+         * @return TRUE if it may
+         */
+        public synchronized boolean allows(final long now) {
+            if (this.current != Breakers.State.CLOSED
+                && now - this.since >= this.cooldown) {
+                this.current = Breakers.State.HALF_OPEN;
+                this.probing = false;
+                this.since = now;
+            }
+            return this.current == Breakers.State.CLOSED
+                || this.current == Breakers.State.HALF_OPEN && !this.probing;
+        }
+        /**
+         * May a transfer start now? The first one in half-open state is
+         * the probe.
+         * @param now Current time, in nanoseconds
+         * @return TRUE if it may
+         */
+        public synchronized boolean starts(final long now) {
+            final boolean starts = this.allows(now);
+            if (starts && this.current == Breakers.State.HALF_OPEN) {
+                this.probing = true;
+                this.since = now;
+            }
+            return starts;
+        }
+        /**
+         * The repository answered.
+         * @return TRUE if the circuit was closed now
+         */
+        public synchronized boolean succeeded() {
+            final boolean closed = this.current != Breakers.State.CLOSED;
+            this.current = Breakers.State.CLOSED;
+            this.failures = 0;
+            return closed;
+        }
+        /**
+         * The repository failed.
+         * @param now Current time, in nanoseconds
+         * @return TRUE if the circuit was opened now
+         */
+        public synchronized boolean failed(final long now) {
+            ++this.failures;
+            final boolean opened = this.current == Breakers.State.HALF_OPEN
+                || this.current == Breakers.State.CLOSED
+                && this.failures >= this.threshold;
+            if (opened) {
+                this.current = Breakers.State.OPEN;
+                this.since = now;
+            }
+            return opened;
+        }
+        /**
+         * Current state.
+         * @return The state
+         */
+        public synchronized Breakers.State state() {
+            return this.current;
+        }
+    }
+}
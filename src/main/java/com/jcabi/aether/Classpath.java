@@ -31,13 +31,18 @@ package com.jcabi.aether;
 
 import java.io.File;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import javax.validation.constraints.NotNull;
@@ -45,6 +50,8 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -70,10 +77,20 @@ import lombok.EqualsAndHashCode;
  *   System.getProperty("path.separator")
  * );</pre>
  *
- * <p>Important to notice that this class resolves artifacts from repositories
- * only once per instance. It means that once resolved the list of files
- * is cached and never flushes. In order to resolve again (if you think that
- * content of repositories is changed), make a new instance of the class.
+ * <p>Important to notice that resolved children of dependencies are
+ * cached, by their coordinates, exclusions and scope, in a
+ * {@link RootCache}. It keeps a limited amount of them, each for ten
+ * minutes at most, and never keeps children with snapshots. When the
+ * project changes some of its dependencies, only the changed and added
+ * ones are resolved, and the classpath is merged again from the cached
+ * children of all others.
+ *
+ * <p>{@link Aether} is taken from {@link Aethers}, so all classpaths of
+ * the same repositories share one instance, with its caches.
+ *
+ * <p>To get classpaths of a few scopes, with scopes of transitive
+ * dependencies respected and every dependency resolved once for all of
+ * them, use {@link Classpaths}.
  *
  * @author Yegor Bugayenko (yegor@tpc2.com)
  * @version $Id$
@@ -81,7 +98,9 @@ import lombok.EqualsAndHashCode;
  * @see Aether
  * @checkstyle ClassDataAbstractionCoupling (500 lines)
  */
-@EqualsAndHashCode(callSuper = false, of = { "project", "aether", "scopes" })
+@EqualsAndHashCode(
+    callSuper = false, of = { "project", "aether", "scopes", "view" }
+)
 @Loggable(
     value = Loggable.DEBUG,
     limit = 1, unit = TimeUnit.MINUTES,
@@ -90,6 +109,12 @@ import lombok.EqualsAndHashCode;
 @SuppressWarnings("PMD.TooManyMethods")
 public final class Classpath extends AbstractSet<File> {
 
+    /**
+     * Children and graphs of root artifacts, already resolved in this JVM.
+     */
+    private static final RootCache CACHE =
+        new RootCache(4096, 10L, TimeUnit.MINUTES);
+
     /**
      * Maven Project.
      */
@@ -105,6 +130,24 @@ public final class Classpath extends AbstractSet<File> {
      */
     private final transient Set<String> scopes;
 
+    /**
+     * Local repository.
+     */
+    private final transient File local;
+
+    /**
+     * How many artifacts to download ahead of the iterator, or a negative
+     * number if all of them are downloaded before iteration.
+     */
+    private final transient int ahead;
+
+    /**
+     * Scope of the classpath, if it is derived from graphs of
+     * dependencies, or an empty string if dependencies are taken as they
+     * are resolved.
+     */
+    private final transient String view;
+
     /**
      * Public ctor.
      * @param prj The Maven project
@@ -124,10 +167,69 @@ public final class Classpath extends AbstractSet<File> {
      */
     public Classpath(@NotNull final MavenProject prj,
         @NotNull final File repo, @NotNull final Collection<String> scps) {
+        this(prj, Aethers.get(prj, repo), scps, repo, -1, "");
+    }
+
+    /**
+     * Ctor of a classpath derived from graphs of dependencies.
+     * @param prj The Maven project
+     * @param aeth Aether to work with
+     * @param repo Local repository location (directory path)
+     * @param scope Scope of the classpath
+     * @see Classpaths
+     */
+    Classpath(final MavenProject prj, final Aether aeth, final File repo,
+        final String scope) {
+        this(prj, aeth, Classpaths.scopes(scope), repo, -1, scope);
+    }
+
+    /**
+     * Private ctor.
+     * @param prj The Maven project
+     * @param aeth Aether to work with
+     * @param scps All scopes to include
+     * @param repo Local repository location (directory path)
+     * @param count How many artifacts to download ahead of the iterator
+     * @param scope Scope of the classpath derived from graphs, or empty
+     */
+    private Classpath(final MavenProject prj, final Aether aeth,
+        final Collection<String> scps, final File repo, final int count,
+        final String scope) {
         super();
         this.project = prj;
-        this.aether = new Aether(prj, repo);
+        this.aether = aeth;
         this.scopes = new HashSet<String>(scps);
+        this.local = repo;
+        this.ahead = count;
+        this.view = scope;
+    }
+
+    /**
+     * Classpath, which downloads artifacts only when its iterator
+     * reaches them.
+     *
+     * <p>The graph of dependencies is collected from their POMs first,
+     * and then the iterator downloads JARs one by one, with the given
+     * number of following ones downloaded in background. A consumer that
+     * stops early, for example when a class is found, doesn't wait for
+     * the rest. {@link #size()} and {@link #digest()} still need all
+     * files. Classpaths made by {@link Classpaths} are lazy the same way,
+     * their graphs are collected without files as well.
+     *
+     * @param count How many artifacts to download ahead of the iterator
+     * @return New classpath, with the same project and scopes
+     * @since 1.0
+     */
+    public Classpath lazy(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException(
+                String.format("read-ahead can't be negative: %d", count)
+            );
+        }
+        return new Classpath(
+            this.project, this.aether, this.scopes, this.local, count,
+            this.view
+        );
     }
 
     /**
@@ -142,9 +244,24 @@ public final class Classpath extends AbstractSet<File> {
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Iterator<File> iterator() {
         try {
-            return this.fetch().iterator();
+            final Iterator<File> files;
+            if (this.ahead < 0) {
+                files = this.fetch().iterator();
+            } else {
+                final Collection<File> elements = new LinkedList<File>();
+                for (final String path : this.elements()) {
+                    elements.add(new File(path));
+                }
+                files = new LazyFiles(
+                    this.aether, elements,
+                    new ArrayList<Artifact>(this.artifacts(false)),
+                    this.ahead
+                );
+            }
+            return files;
         } catch (final DependencyResolutionException ex) {
             throw new IllegalStateException(ex);
         }
@@ -162,6 +279,54 @@ public final class Classpath extends AbstractSet<File> {
         }
     }
 
+    /**
+     * Stable digest of this classpath.
+     *
+     * <p>The digest is calculated from resolved coordinates of all
+     * artifacts, project classpath elements, and sizes and modification
+     * times of their files. It is persisted in the local repository, so
+     * next time, when nothing is changed in the project and in the files,
+     * the digest is returned without any resolution. When the project
+     * declares version ranges or snapshots, or they are found among
+     * transitive dependencies, the digest is always calculated again. The
+     * declaration includes dependency management and the parent of the
+     * project.
+     *
+     * @return Hex digest, which changes when the classpath changes
+     * @since 1.0
+     */
+    public String digest() {
+        final Callable<Map<String, File>> source =
+            new Callable<Map<String, File>>() {
+                @Override
+                public Map<String, File> call()
+                    throws DependencyResolutionException {
+                    return Classpath.this.entries();
+                }
+            };
+        try {
+            final String digest;
+            if (this.floating()) {
+                digest = Fingerprint.calculate(source.call());
+            } else {
+                digest = new Fingerprint(this.local).digest(
+                    this.declaration(), source,
+                    new Callable<Boolean>() {
+                        @Override
+                        public Boolean call()
+                            throws DependencyResolutionException {
+                            return !Classpath.this.drifting();
+                        }
+                    }
+                );
+            }
+            return digest;
+        // @checkstyle IllegalCatch (1 line)
+        } catch (final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     /**
      * Fetch all files found (JAR, ZIP, directories, etc).
      * @return Set of files
@@ -173,12 +338,110 @@ public final class Classpath extends AbstractSet<File> {
         for (final String path : this.elements()) {
             files.add(new File(path));
         }
-        for (final Artifact artifact : this.artifacts()) {
+        for (final Artifact artifact : this.artifacts(true)) {
             files.add(artifact.getFile());
         }
         return files;
     }
 
+    /**
+     * All entries of the classpath, with their labels.
+     * @return Labels (paths or coordinates) mapped to files
+     * @throws DependencyResolutionException If can't resolve
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private Map<String, File> entries() throws DependencyResolutionException {
+        final Map<String, File> entries = new LinkedHashMap<String, File>(0);
+        for (final String path : this.elements()) {
+            entries.put(path, new File(path));
+        }
+        for (final Artifact artifact : this.artifacts(true)) {
+            entries.put(artifact.toString(), artifact.getFile());
+        }
+        return entries;
+    }
+
+    /**
+     * Everything declared for this classpath, as a text.
+     *
+     * <p>If the text is the same, the classpath may only change when files
+     * change.
+     *
+     * @return Text with repositories, scopes, dependencies and elements
+     */
+    private String declaration() {
+        final StringBuilder text = new StringBuilder(0)
+            .append(this.local.getAbsolutePath()).append('\n')
+            .append(new TreeSet<String>(this.scopes)).append('\n')
+            .append(this.project.getRemoteProjectRepositories()).append('\n')
+            .append(this.elements()).append('\n');
+        if (!this.view.isEmpty()) {
+            text.append("classpath ").append(this.view).append('\n');
+        }
+        if (this.project.getParentArtifact() != null) {
+            text.append("parent ").append(this.project.getParentArtifact())
+                .append('\n');
+        }
+        Classpath.declare(text, this.project.getDependencies());
+        final DependencyManagement mgmt =
+            this.project.getDependencyManagement();
+        if (mgmt != null) {
+            text.append("managed\n");
+            Classpath.declare(text, mgmt.getDependencies());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Add dependencies to the declaration.
+     * @param text The declaration
+     * @param deps Dependencies
+     */
+    static void declare(final StringBuilder text,
+        final Collection<Dependency> deps) {
+        for (final Dependency dep : deps) {
+            text.append(dep.getManagementKey()).append(':')
+                .append(dep.getVersion()).append(':')
+                .append(dep.getScope());
+            for (final Exclusion exc : dep.getExclusions()) {
+                text.append(' ').append(exc.getGroupId())
+                    .append(':').append(exc.getArtifactId());
+            }
+            text.append('\n');
+        }
+    }
+
+    /**
+     * Some transitive dependencies have version ranges or snapshots?
+     * @return TRUE if at least one root has them in its graph
+     * @throws DependencyResolutionException If fails to collect
+     */
+    private boolean drifting() throws DependencyResolutionException {
+        boolean drifting = false;
+        for (final RootArtifact root : this.roots()) {
+            if (root.floating()) {
+                drifting = true;
+                break;
+            }
+        }
+        return drifting;
+    }
+
+    /**
+     * Project declares version ranges or snapshots in its dependencies?
+     * @return TRUE if at least one version is a range or a snapshot
+     */
+    private boolean floating() {
+        boolean floating = false;
+        for (final Dependency dep : this.project.getDependencies()) {
+            if (Fingerprint.floating(dep.getVersion())) {
+                floating = true;
+                break;
+            }
+        }
+        return floating;
+    }
+
     /**
      * Get Maven Project elements.
      * @return Collection of them
@@ -211,31 +474,53 @@ public final class Classpath extends AbstractSet<File> {
      * <p>This method gets a full list of artifacts of the project,
      * including their transitive dependencies.
      *
+     * @param files Download artifacts, or only collect their coordinates
      * @return The set of artifacts
      * @throws DependencyResolutionException If can't resolve some of them
      */
-    private Set<Artifact> artifacts() throws DependencyResolutionException {
-        final Set<Artifact> artifacts = new LinkedHashSet<Artifact>(0);
+    private Set<Artifact> artifacts(final boolean files)
+        throws DependencyResolutionException {
+        final Map<String, Artifact> artifacts =
+            new LinkedHashMap<String, Artifact>(0);
         for (final RootArtifact root : this.roots()) {
-            for (final Artifact child : root.children()) {
-                if (Classpath.contains(child, artifacts)) {
-                    final Artifact found = Classpath.find(child, artifacts);
-                    if (found.getVersion().equals(child.getVersion())) {
-                        continue;
-                    }
-                    final Artifact newer = Classpath.newer(child, found);
-                    if (newer.equals(child)) {
-                        artifacts.remove(found);
-                    } else {
-                        artifacts.remove(child);
+            final Collection<Artifact> children;
+            if (!this.view.isEmpty()) {
+                children = root.children(
+                    Classpath.CACHE.graph(this.aether, root, files), this.view
+                );
+            } else if (files) {
+                children = Classpath.CACHE.children(this.aether, root);
+            } else {
+                children = Classpath.CACHE.coordinates(this.aether, root);
+            }
+            for (final Artifact child : children) {
+                final String key = Classpath.key(child);
+                final Artifact found = artifacts.get(key);
+                if (found == null) {
+                    if (!root.excluded(child)) {
+                        artifacts.put(key, child);
                     }
-                    artifacts.add(newer);
-                } else if (!root.excluded(child)) {
-                    artifacts.add(child);
+                } else if (!found.getVersion().equals(child.getVersion())
+                    && Classpath.newer(child, found).equals(child)) {
+                    artifacts.remove(key);
+                    artifacts.put(key, child);
                 }
             }
         }
-        return artifacts;
+        return new LinkedHashSet<Artifact>(artifacts.values());
+    }
+
+    /**
+     * Key of the artifact, which is the same for all its versions.
+     * @param artifact The artifact
+     * @return The key
+     */
+    private static String key(final Artifact artifact) {
+        return new StringBuilder(0)
+            .append(artifact.getGroupId()).append(':')
+            .append(artifact.getArtifactId()).append(':')
+            .append(artifact.getClassifier())
+            .toString();
     }
 
     /**
@@ -295,49 +580,8 @@ public final class Classpath extends AbstractSet<File> {
                 dep.getType(),
                 dep.getVersion()
             ),
-            dep.getExclusions()
+            dep.getExclusions(),
+            dep.getScope()
         );
     }
-
-    /**
-     * Artifact exists in collection?
-     * @param artifact The artifact
-     * @param artifacts Collection of them
-     * @return TRUE if it is already there
-     */
-    private static boolean contains(final Artifact artifact,
-        final Collection<Artifact> artifacts) {
-        boolean contains = false;
-        for (final Artifact exists : artifacts) {
-            if (artifact.getArtifactId().equals(exists.getArtifactId())
-                && artifact.getGroupId().equals(exists.getGroupId())
-                && artifact.getClassifier().equals(exists.getClassifier())) {
-                contains = true;
-                break;
-            }
-        }
-        return contains;
-    }
-
-    /**
-     * Find artifact in collection.
-     * Artifact has to exist in the collection otherwise
-     * IllegalArgumentException will be thrown.
-     *
-     * @param artifact The artifact
-     * @param artifacts Collection of them
-     * @return Found artifact,
-     */
-    private static Artifact find(final Artifact artifact,
-        final Collection<Artifact> artifacts) {
-        for (final Artifact exists : artifacts) {
-            if (artifact.getArtifactId().equals(exists.getArtifactId())
-                && artifact.getGroupId().equals(exists.getGroupId())
-                && artifact.getClassifier().equals(exists.getClassifier())) {
-                return exists;
-            }
-        }
-        throw new IllegalArgumentException("Artifact not found");
-    }
 }
-
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.artifact.JavaScopes;
+
+/**
+ * Classpaths of a Maven Project in all scopes, resolved together.
+ *
+ * <p>Every dependency of the project is resolved only once, into a graph
+ * with scopes of all its transitive dependencies, and classpaths of all
+ * scopes are derived from these graphs, for example:
+ *
+ * <pre> Classpaths all = new Classpaths(project, localRepo);
+ * Set&lt;File&gt; compile = all.get("compile");
+ * Set&lt;File&gt; test = all.get("test");</pre>
+ *
+ * <p>Classpaths contain scopes as Maven classpaths do: compile one has
+ * compile, provided and system dependencies, runtime one has compile and
+ * runtime dependencies, and test one has all of them.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Classpath
+ */
+@ToString(of = "project")
+@EqualsAndHashCode(of = { "project", "aether" })
+public final class Classpaths {
+
+    /**
+     * Scopes of dependencies, by scopes of classpaths.
+     */
+    private static final Map<String, Set<String>> SCOPES =
+        Classpaths.table();
+
+    /**
+     * Maven Project.
+     */
+    private final transient MavenProject project;
+
+    /**
+     * Aether to work with.
+     */
+    private final transient Aether aether;
+
+    /**
+     * Local repository.
+     */
+    private final transient File local;
+
+    /**
+     * Public ctor.
+     * @param prj The Maven project
+     * @param repo Local repository location (directory path)
+     */
+    public Classpaths(@NotNull final MavenProject prj,
+        @NotNull final File repo) {
+        this.project = prj;
+        this.aether = Aethers.get(prj, repo);
+        this.local = repo;
+    }
+
+    /**
+     * Classpath of the scope.
+     * @param scope The scope: "compile", "runtime" or "test"
+     * @return The classpath
+     */
+    public Classpath get(@NotNull final String scope) {
+        return new Classpath(this.project, this.aether, this.local, scope);
+    }
+
+    /**
+     * Scopes of dependencies in the classpath of the scope.
+     * @param scope The scope: "compile", "runtime" or "test"
+     * @return Scopes of dependencies
+     */
+    static Set<String> scopes(final String scope) {
+        final Set<String> scopes = Classpaths.SCOPES.get(scope);
+        if (scopes == null) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "unknown classpath scope '%s', expected one of %s",
+                    scope, Classpaths.SCOPES.keySet()
+                )
+            );
+        }
+        return scopes;
+    }
+
+    /**
+     * Build the table of scopes.
+     * @return Scopes of dependencies, by scopes of classpaths
+     */
+    private static Map<String, Set<String>> table() {
+        final Map<String, Set<String>> table =
+            new HashMap<String, Set<String>>(0);
+        table.put(
+            JavaScopes.COMPILE,
+            Classpaths.set(
+                JavaScopes.COMPILE, JavaScopes.PROVIDED, JavaScopes.SYSTEM
+            )
+        );
+        table.put(
+            JavaScopes.RUNTIME,
+            Classpaths.set(JavaScopes.COMPILE, JavaScopes.RUNTIME)
+        );
+        table.put(
+            JavaScopes.TEST,
+            Classpaths.set(
+                JavaScopes.COMPILE, JavaScopes.PROVIDED, JavaScopes.SYSTEM,
+                JavaScopes.RUNTIME, JavaScopes.TEST
+            )
+        );
+        return Collections.unmodifiableMap(table);
+    }
+
+    /**
+     * Make an unmodifiable set.
+     * @param items Items of it
+     * @return The set
+     */
+    private static Set<String> set(final String... items) {
+        return Collections.unmodifiableSet(
+            new HashSet<String>(Arrays.asList(items))
+        );
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.maven.repository.internal.DefaultArtifactDescriptorReader;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+
+/**
+ * Reader of artifact descriptors (POMs), which records every read in the
+ * {@link Trace} of the session and keeps descriptors in a JVM-wide cache.
+ *
+ * <p>Reading itself is done by {@link DefaultArtifactDescriptorReader}.
+ * Its results are shared by all sessions of all {@link Aether} objects,
+ * by coordinates of the artifact, the local repository, request context
+ * and the set of remote repositories, so that every POM (with its parents
+ * and imported BOMs) is read and modelled once. Descriptors of snapshots
+ * and descriptors read with errors are never kept. Every caller gets its
+ * own copy of a kept descriptor, with its own lists.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class DescriptorReader implements ArtifactDescriptorReader, Service {
+
+    /**
+     * Descriptors of all sessions.
+     */
+    private static final BoundedCache<String, ArtifactDescriptorResult> CACHE =
+        new BoundedCache<String, ArtifactDescriptorResult>(8192);
+
+    /**
+     * Original reader.
+     */
+    private final transient DefaultArtifactDescriptorReader origin;
+
+    /**
+     * Ctor, for the service locator, which makes only non-public
+     * constructors of non-public classes accessible.
+     */
+    DescriptorReader() {
+        this(new DefaultArtifactDescriptorReader());
+    }
+
+    /**
+     * Ctor.
+     * @param reader Original reader
+     */
+    DescriptorReader(final DefaultArtifactDescriptorReader reader) {
+        this.origin = reader;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtifactDescriptorResult readArtifactDescriptor(
+        final RepositorySystemSession session,
+        final ArtifactDescriptorRequest request)
+        throws ArtifactDescriptorException {
+        final Object key = new Object();
+        Trace.start(
+            session, key,
+            String.format("descriptor %s", request.getArtifact())
+        );
+        try {
+            return this.read(session, request);
+        } finally {
+            Trace.stop(session, key);
+        }
+    }
+
+    /**
+     * Read, through the cache.
+     * @param session The session
+     * @param request The request
+     * @return The result
+     * @throws ArtifactDescriptorException If fails
+     */
+    private ArtifactDescriptorResult read(
+        final RepositorySystemSession session,
+        final ArtifactDescriptorRequest request)
+        throws ArtifactDescriptorException {
+        ArtifactDescriptorResult result;
+        if (request.getArtifact().isSnapshot()) {
+            result = this.origin.readArtifactDescriptor(session, request);
+        } else {
+            final String key = DescriptorReader.key(session, request);
+            final ArtifactDescriptorResult cached =
+                DescriptorReader.CACHE.get(key);
+            Meter.of(session).cached("descriptor", cached != null);
+            if (cached == null) {
+                result = this.origin.readArtifactDescriptor(session, request);
+                if (result.getExceptions().isEmpty()) {
+                    DescriptorReader.CACHE.put(
+                        key, DescriptorReader.copy(result, request)
+                    );
+                }
+            } else {
+                result = DescriptorReader.copy(cached, request);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Make a key of the request.
+     * @param session The session
+     * @param request The request
+     * @return The key
+     */
+    private static String key(final RepositorySystemSession session,
+        final ArtifactDescriptorRequest request) {
+        final Artifact artifact = request.getArtifact();
+        final Set<String> repos = new TreeSet<String>();
+        for (final RemoteRepository repo : request.getRepositories()) {
+            repos.add(String.format("%s=%s", repo.getId(), repo.getUrl()));
+        }
+        return String.format(
+            "%s:%s:%s:%s:%s %s %s %s",
+            artifact.getGroupId(), artifact.getArtifactId(),
+            artifact.getExtension(), artifact.getClassifier(),
+            artifact.getVersion(),
+            session.getLocalRepository().getBasedir(),
+            request.getRequestContext(), repos
+        );
+    }
+
+    /**
+     * Copy cached result for a new request.
+     * @param cached Cached result
+     * @param request The request
+     * @return New result, with its own lists
+     */
+    private static ArtifactDescriptorResult copy(
+        final ArtifactDescriptorResult cached,
+        final ArtifactDescriptorRequest request) {
+        final ArtifactDescriptorResult result =
+            new ArtifactDescriptorResult(request);
+        result.setArtifact(cached.getArtifact());
+        result.setRepository(cached.getRepository());
+        result.setRelocations(
+            new ArrayList<Artifact>(cached.getRelocations())
+        );
+        result.setAliases(new ArrayList<Artifact>(cached.getAliases()));
+        result.setDependencies(
+            new ArrayList<Dependency>(cached.getDependencies())
+        );
+        result.setManagedDependencies(
+            new ArrayList<Dependency>(cached.getManagedDependencies())
+        );
+        result.setRepositories(
+            new ArrayList<RemoteRepository>(cached.getRepositories())
+        );
+        result.setProperties(
+            new LinkedHashMap<String, Object>(cached.getProperties())
+        );
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.model.Exclusion;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Precompiled exclusions of a root artifact.
+ *
+ * <p>Exclusions without wildcards are kept in a hash set and checked in
+ * constant time. Exclusions with Maven 3 style wildcards, like
+ * {@code *:*}, {@code org.apache.*:*} or {@code *:commons-*}, are kept in
+ * a prefix tree by their literal beginnings, so that only patterns which
+ * may match an artifact are tried against it.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Exclusions {
+
+    /**
+     * Wildcard.
+     */
+    private static final char ANY = '*';
+
+    /**
+     * Exact exclusions, as "groupId:artifactId".
+     */
+    private final transient Set<String> exact;
+
+    /**
+     * Root of the prefix tree of exclusions with wildcards.
+     */
+    private final transient Exclusions.Node wild;
+
+    /**
+     * Ctor.
+     * @param excl Exclusions to compile
+     */
+    Exclusions(final Collection<Exclusion> excl) {
+        this.exact = new HashSet<String>(excl.size() << 1);
+        this.wild = new Exclusions.Node();
+        for (final Exclusion exclusion : excl) {
+            final String group = exclusion.getGroupId();
+            final String name = exclusion.getArtifactId();
+            final String key = Exclusions.key(group, name);
+            final int star = key.indexOf(Exclusions.ANY);
+            if (star < 0) {
+                this.exact.add(key);
+            } else {
+                this.wild.add(key, star).add(new String[] {group, name});
+            }
+        }
+    }
+
+    /**
+     * Is this artifact excluded?
+     * @param artifact The artifact to check
+     * @return TRUE if it matches one of exclusions
+     */
+    public boolean matches(final Artifact artifact) {
+        return this.matches(artifact.getGroupId(), artifact.getArtifactId());
+    }
+
+    /**
+     * Is this artifact excluded?
+     * @param group Group ID of the artifact
+     * @param name Artifact ID of the artifact
+     * @return TRUE if it matches one of exclusions
+     */
+    public boolean matches(final String group, final String name) {
+        final String key = Exclusions.key(group, name);
+        boolean matches = this.exact.contains(key);
+        Exclusions.Node node = this.wild;
+        int pos = 0;
+        while (!matches && node != null) {
+            for (final String[] pattern : node.patterns) {
+                if (Exclusions.glob(pattern[0], group)
+                    && Exclusions.glob(pattern[1], name)) {
+                    matches = true;
+                    break;
+                }
+            }
+            if (pos == key.length()) {
+                break;
+            }
+            node = node.kids.get(key.charAt(pos));
+            ++pos;
+        }
+        return matches;
+    }
+
+    /**
+     * Make a key.
+     * @param group Group ID
+     * @param name Artifact ID
+     * @return The key
+     */
+    private static String key(final String group, final String name) {
+        return new StringBuilder(group.length() + name.length() + 1)
+            .append(group).append(':').append(name).toString();
+    }
+
+    /**
+     * Does the text match the pattern, where star means any characters?
+     * @param pattern The pattern
+     * @param text The text
+     * @return TRUE if matches
+     */
+    private static boolean glob(final String pattern, final String text) {
+        int pidx = 0;
+        int tidx = 0;
+        int star = -1;
+        int mark = 0;
+        boolean matches = true;
+        while (tidx < text.length()) {
+            if (pidx < pattern.length()
+                && pattern.charAt(pidx) == Exclusions.ANY) {
+                star = pidx;
+                mark = tidx;
+                ++pidx;
+            } else if (pidx < pattern.length()
+                && pattern.charAt(pidx) == text.charAt(tidx)) {
+                ++pidx;
+                ++tidx;
+            } else if (star >= 0) {
+                pidx = star + 1;
+                ++mark;
+                tidx = mark;
+            } else {
+                matches = false;
+                break;
+            }
+        }
+        while (matches && pidx < pattern.length()
+            && pattern.charAt(pidx) == Exclusions.ANY) {
+            ++pidx;
+        }
+        return matches && pidx == pattern.length();
+    }
+
+    /**
+     * Node of the prefix tree.
+     */
+    private static final class Node {
+        /**
+         * Children, by next character.
+         */
+        private final transient Map<Character, Exclusions.Node> kids =
+            new HashMap<Character, Exclusions.Node>(0);
+        /**
+         * Patterns, as pairs of group and artifact IDs, whose literal
+         * beginning ends at this node.
+         */
+        private final transient Collection<String[]> patterns =
+            new LinkedList<String[]>();
+        /**
+         * Find or create a node for the beginning of the key.
+         * @param key The key
+         * @param len Length of the beginning
+         * @return Patterns of the node
+         */
+        public Collection<String[]> add(final String key, final int len) {
+            Exclusions.Node node = this;
+            for (int pos = 0; pos < len; ++pos) {
+                Exclusions.Node next = node.kids.get(key.charAt(pos));
+                if (next == null) {
+                    next = new Exclusions.Node();
+                    node.kids.put(key.charAt(pos), next);
+                }
+                node = next;
+            }
+            return node.patterns;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Read/write locks of a local repository, shared between processes.
+ *
+ * <p>Every lock is identified by a key (usually a directory of an
+ * artifact) and is backed by a file in the {@code .locks} directory of
+ * the local repository, locked with {@link FileChannel#tryLock}. Many
+ * readers may hold the lock at the same time, in any process, while a
+ * writer holds it exclusively. Inside one JVM, threads are coordinated in
+ * memory, since file locks are held by the entire process; only the first
+ * reader (or the writer) locks the file. A writer may acquire the same
+ * lock again, for reading or writing, without blocking.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "dir")
+@EqualsAndHashCode(of = "dir")
+final class FileLocks {
+
+    /**
+     * Locks already used in this JVM, by their directories.
+     */
+    private static final ConcurrentMap<File, FileLocks> ALL =
+        new ConcurrentHashMap<File, FileLocks>(0);
+
+    /**
+     * Longest pause between attempts to lock a file, in milliseconds.
+     */
+    private static final long PAUSE = 100L;
+
+    /**
+     * Directory with lock files.
+     */
+    private final transient File dir;
+
+    /**
+     * Slots of all keys used so far.
+     */
+    private final transient ConcurrentMap<String, FileLocks.Slot> slots;
+
+    /**
+     * Ctor.
+     * @param path Directory with lock files
+     */
+    private FileLocks(final File path) {
+        this.dir = path;
+        this.slots = new ConcurrentHashMap<String, FileLocks.Slot>(0);
+    }
+
+    /**
+     * Get locks of the local repository.
+     * @param repo Local repository
+     * @return Locks
+     */
+    public static FileLocks of(final File repo) {
+        final File path = new File(repo.getAbsoluteFile(), ".locks");
+        FileLocks.ALL.putIfAbsent(path, new FileLocks(path));
+        return FileLocks.ALL.get(path);
+    }
+
+    /**
+     * Acquire a lock, waiting for it no longer than given time.
+     * @param key The key
+     * @param shared TRUE for a read lock, FALSE for a write one
+     * @param timeout Timeout in milliseconds
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void acquire(final String key, final boolean shared,
+        final long timeout) throws InterruptedException {
+        this.slots.putIfAbsent(key, new FileLocks.Slot(this.file(key)));
+        this.slots.get(key).acquire(
+            shared, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)
+        );
+    }
+
+    /**
+     * Release a lock, acquired by the current thread.
+     * @param key The key
+     */
+    public void release(final String key) {
+        final FileLocks.Slot slot = this.slots.get(key);
+        if (slot == null) {
+            throw new IllegalStateException(
+                String.format("lock '%s' is not acquired", key)
+            );
+        }
+        slot.release();
+    }
+
+    /**
+     * Lock file of the key.
+     * @param key The key
+     * @return File
+     */
+    private File file(final String key) {
+        return new File(
+            this.dir,
+            String.format("%s.lock", key.replaceAll("[^\\w.-]", "_"))
+        );
+    }
+
+    /**
+     * State of one lock in this JVM.
+     */
+    private static final class Slot {
+        /**
+         * Lock file.
+         */
+        private final transient File file;
+        /**
+         * Amount of readers in this JVM.
+         */
+        private transient int readers;
+        /**
+         * The writer, if any.
+         */
+        private transient Thread writer;
+        /**
+         * How many times the writer acquired the lock.
+         */
+        private transient int depth;
+        /**
+         * The file is being locked right now.
+         */
+        private transient boolean busy;
+        /**
+         * Channel of the locked file.
+         */
+        private transient FileChannel channel;
+        /**
+         * Ctor.
+         * @param path Lock file
+         */
+        Slot(final File path) {
+            this.file = path;
+        }
+        /**
+         * Acquire.
+         * @param shared Read lock?
+         * @param deadline Deadline, in {@link System#nanoTime()} terms
+         * @throws InterruptedException If interrupted
+         */
+        public void acquire(final boolean shared, final long deadline)
+            throws InterruptedException {
+            final Thread me = Thread.currentThread();
+            synchronized (this) {
+                while (true) {
+                    if (this.writer == me) {
+                        ++this.depth;
+                        return;
+                    }
+                    if (!this.busy && this.writer == null) {
+                        if (shared && this.readers > 0) {
+                            ++this.readers;
+                            return;
+                        }
+                        if (shared || this.readers == 0) {
+                            break;
+                        }
+                    }
+                    this.pause(deadline);
+                }
+                this.busy = true;
+                if (!shared) {
+                    this.writer = me;
+                }
+            }
+            FileChannel locked = null;
+            try {
+                locked = this.lock(shared, deadline);
+            } finally {
+                synchronized (this) {
+                    this.busy = false;
+                    if (locked == null) {
+                        this.writer = null;
+                    } else if (shared) {
+                        this.channel = locked;
+                        this.readers = 1;
+                    } else {
+                        this.channel = locked;
+                        this.depth = 1;
+                    }
+                    this.notifyAll();
+                }
+            }
+        }
+        /**
+         * Release.
+         */
+        public synchronized void release() {
+            if (this.writer == Thread.currentThread()) {
+                --this.depth;
+                if (this.depth == 0) {
+                    this.writer = null;
+                    this.unlock();
+                }
+            } else if (this.readers > 0) {
+                --this.readers;
+                if (this.readers == 0) {
+                    this.unlock();
+                }
+            } else {
+                throw new IllegalStateException(
+                    String.format("%s is not locked", this.file)
+                );
+            }
+            this.notifyAll();
+        }
+        /**
+         * Wait until something changes, or fail if it's too late.
+         * @param deadline Deadline
+         * @throws InterruptedException If interrupted
+         */
+        private void pause(final long deadline) throws InterruptedException {
+            final long left = deadline - System.nanoTime();
+            if (left <= 0L) {
+                throw new IllegalStateException(
+                    String.format("timeout while waiting for %s", this.file)
+                );
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+        }
+        /**
+         * Lock the file, waiting for other processes.
+         * @param shared Shared lock?
+         * @param deadline Deadline
+         * @return Channel of the locked file
+         * @throws InterruptedException If interrupted
+         */
+        private FileChannel lock(final boolean shared, final long deadline)
+            throws InterruptedException {
+            this.file.getParentFile().mkdirs();
+            final FileChannel chnl;
+            try {
+                chnl = FileChannel.open(
+                    this.file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE
+                );
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            boolean locked = false;
+            try {
+                long pause = 1L;
+                while (chnl.tryLock(0L, Long.MAX_VALUE, shared) == null) {
+                    if (System.nanoTime() > deadline) {
+                        throw new IllegalStateException(
+                            String.format(
+                                "timeout while %s is locked by another process",
+                                this.file
+                            )
+                        );
+                    }
+                    TimeUnit.MILLISECONDS.sleep(pause);
+                    pause = Math.min(pause * 2L, FileLocks.PAUSE);
+                }
+                locked = true;
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            } finally {
+                if (!locked) {
+                    Slot.close(chnl);
+                }
+            }
+            return chnl;
+        }
+        /**
+         * Close the channel, releasing its lock.
+         * @param chnl The channel
+         */
+        private static void close(final FileChannel chnl) {
+            try {
+                chnl.close();
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        /**
+         * Unlock the file.
+         */
+        private void unlock() {
+            final FileChannel chnl = this.channel;
+            this.channel = null;
+            Slot.close(chnl);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.impl.SyncContextFactory;
+import org.eclipse.aether.metadata.Metadata;
+
+/**
+ * Factory of sync contexts, which lock the local repository with
+ * {@link FileLocks}.
+ *
+ * <p>Artifacts and metadata are locked by their directories in the
+ * local repository, since files there (e.g. {@code _remote.repositories})
+ * are shared by all of them. Locking is enabled only when the session has
+ * a timeout set in {@link #TIMEOUT} config property (in milliseconds);
+ * otherwise contexts do nothing, as the default ones.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode
+final class FileSyncContextFactory implements SyncContextFactory {
+
+    /**
+     * Session config property with a lock timeout, in milliseconds.
+     */
+    public static final String TIMEOUT = "jcabi.aether.lock.timeout";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SyncContext newInstance(final RepositorySystemSession session,
+        final boolean shared) {
+        final Object timeout = session.getConfigProperties()
+            .get(FileSyncContextFactory.TIMEOUT);
+        final long msec;
+        if (timeout == null) {
+            msec = 0L;
+        } else {
+            msec = Long.parseLong(timeout.toString());
+        }
+        return new FileSyncContextFactory.Context(
+            FileLocks.of(session.getLocalRepository().getBasedir()),
+            shared, msec, Meter.of(session)
+        );
+    }
+
+    /**
+     * Sync context.
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "locks", "shared" })
+    private static final class Context implements SyncContext {
+        /**
+         * Locks.
+         */
+        private final transient FileLocks locks;
+        /**
+         * Shared?
+         */
+        private final transient boolean shared;
+        /**
+         * Timeout in milliseconds, zero if locking is disabled.
+         */
+        private final transient long timeout;
+        /**
+         * Metrics to report waits to.
+         */
+        private final transient Metrics metrics;
+        /**
+         * Keys acquired so far, in order.
+         */
+        private final transient LinkedList<String> acquired;
+        /**
+         * Ctor.
+         * @param lcks Locks
+         * @param shrd Shared?
+         * @param msec Timeout
+         * @param mtrs Metrics
+         */
+        Context(final FileLocks lcks, final boolean shrd, final long msec,
+            final Metrics mtrs) {
+            this.locks = lcks;
+            this.shared = shrd;
+            this.timeout = msec;
+            this.metrics = mtrs;
+            this.acquired = new LinkedList<String>();
+        }
+        @Override
+        public void acquire(final Collection<? extends Artifact> artifacts,
+            final Collection<? extends Metadata> metadatas) {
+            if (this.timeout <= 0L) {
+                return;
+            }
+            final SortedMap<String, Boolean> keys =
+                new TreeMap<String, Boolean>();
+            if (artifacts != null) {
+                for (final Artifact artifact : artifacts) {
+                    keys.put(
+                        Context.key(
+                            artifact.getGroupId(), artifact.getArtifactId(),
+                            artifact.getBaseVersion()
+                        ),
+                        true
+                    );
+                }
+            }
+            if (metadatas != null) {
+                for (final Metadata metadata : metadatas) {
+                    keys.put(
+                        Context.key(
+                            metadata.getGroupId(), metadata.getArtifactId(),
+                            metadata.getVersion()
+                        ),
+                        true
+                    );
+                }
+            }
+            final long start = System.nanoTime();
+            try {
+                for (final String key : keys.keySet()) {
+                    this.locks.acquire(key, this.shared, this.timeout);
+                    this.acquired.addFirst(key);
+                }
+                this.metrics.waited(System.nanoTime() - start);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.close();
+                throw new IllegalStateException(ex);
+            } catch (final IllegalStateException ex) {
+                this.close();
+                throw ex;
+            }
+        }
+        @Override
+        public void close() {
+            while (!this.acquired.isEmpty()) {
+                this.locks.release(this.acquired.removeFirst());
+            }
+        }
+        /**
+         * Make a key of a directory.
+         * @param group Group ID
+         * @param artifact Artifact ID, may be empty
+         * @param version Version, may be empty
+         * @return The key
+         */
+        private static String key(final String group, final String artifact,
+            final String version) {
+            return new StringBuilder(group)
+                .append(':').append(artifact)
+                .append(':').append(version)
+                .toString();
+        }
+    }
+}
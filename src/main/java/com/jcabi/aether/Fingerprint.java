@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Persistent fingerprint of a classpath.
+ *
+ * <p>The fingerprint is a SHA-1 digest of all classpath entries (resolved
+ * coordinates and project elements) together with sizes and modification
+ * times of their files. Jar contents are never read. Once calculated, the
+ * fingerprint is kept in memory and in a file inside the local repository,
+ * next to the list of files it was calculated from. Next time, if none of these
+ * files changed their size or modification time, the recorded digest is
+ * returned without calling the source, i.e. without any resolution.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode(of = "dir")
+final class Fingerprint {
+
+    /**
+     * Encoding of persisted fingerprints.
+     */
+    private static final Charset ENCODING = Charset.forName("UTF-8");
+
+    /**
+     * Records already known in this JVM, by their files.
+     */
+    private static final ConcurrentMap<File, Fingerprint.Record> RECORDS =
+        new ConcurrentHashMap<File, Fingerprint.Record>(0);
+
+    /**
+     * Directory with persisted fingerprints.
+     */
+    private final transient File dir;
+
+    /**
+     * Ctor.
+     * @param repo Local repository to keep fingerprints in
+     */
+    Fingerprint(final File repo) {
+        this.dir = new File(repo, ".cache/jcabi-aether/fingerprints");
+    }
+
+    /**
+     * Get a digest, calculating it only if something changed.
+     *
+     * <p>The key must uniquely identify everything declared for the
+     * classpath (dependencies, scopes, repositories), since it is the only
+     * thing compared before the files are checked.
+     *
+     * @param key Key of the classpath declaration
+     * @param source Entries of the classpath, labels mapped to files
+     * @return Hex digest
+     * @throws Exception If source fails
+     */
+    public String digest(final String key,
+        final Callable<Map<String, File>> source) throws Exception {
+        return this.digest(
+            key, source,
+            new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return true;
+                }
+            }
+        );
+    }
+
+    /**
+     * Get a digest, calculating it only if something changed, and
+     * recording it only if the entries are steady.
+     *
+     * <p>Entries are not steady when they may change without any change
+     * in the key and in the files, for example when versions of
+     * transitive dependencies are ranges or snapshots. Their digest is
+     * calculated every time.
+     *
+     * @param key Key of the classpath declaration
+     * @param source Entries of the classpath, labels mapped to files
+     * @param steady Are the entries steady, asked after the source
+     * @return Hex digest
+     * @throws Exception If source fails
+     */
+    public String digest(final String key,
+        final Callable<Map<String, File>> source,
+        final Callable<Boolean> steady) throws Exception {
+        final File file = new File(this.dir, Fingerprint.sha(key));
+        Fingerprint.Record record = Fingerprint.RECORDS.get(file);
+        if (record == null && file.exists()) {
+            record = Fingerprint.load(file);
+        }
+        if (record == null || !record.fresh()) {
+            record = Fingerprint.Record.of(source.call());
+            if (steady.call()) {
+                Fingerprint.save(file, record);
+                Fingerprint.RECORDS.put(file, record);
+            } else {
+                Fingerprint.RECORDS.remove(file);
+                if (file.exists() && !file.delete()) {
+                    Logger.warn(
+                        Fingerprint.class, "failed to delete %s", file
+                    );
+                }
+            }
+        } else {
+            Fingerprint.RECORDS.put(file, record);
+        }
+        return record.digest();
+    }
+
+    /**
+     * Calculate a digest right now, without looking at what is recorded.
+     * @param entries Entries of the classpath, labels mapped to files
+     * @return Hex digest
+     */
+    public static String calculate(final Map<String, File> entries) {
+        return Fingerprint.Record.of(entries).digest();
+    }
+
+    /**
+     * This version may resolve to different files over time?
+     *
+     * <p>Version ranges and snapshots may, so a digest of a classpath with
+     * them can't be taken from a record: files of a record don't change
+     * until they are resolved again.
+     *
+     * @param version The version, may be NULL
+     * @return TRUE if it is a range or a snapshot
+     */
+    public static boolean floating(final String version) {
+        return version != null
+            && (version.matches("[\\[(].*") || version.endsWith("SNAPSHOT"));
+    }
+
+    /**
+     * Load record from file.
+     * @param file The file
+     * @return Record or NULL if it can't be read
+     */
+    private static Fingerprint.Record load(final File file) {
+        Fingerprint.Record record = null;
+        try {
+            final List<String> lines = Files.readAllLines(
+                file.toPath(), Fingerprint.ENCODING
+            );
+            if (!lines.isEmpty()) {
+                record = new Fingerprint.Record(
+                    lines.get(0), lines.subList(1, lines.size())
+                );
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                Fingerprint.class, "failed to read %s: %s",
+                file, ex.getMessage()
+            );
+        }
+        return record;
+    }
+
+    /**
+     * Save record to file, atomically.
+     * @param file The file
+     * @param record The record
+     */
+    private static void save(final File file, final Fingerprint.Record record) {
+        final List<String> lines = new ArrayList<String>(
+            record.stats().size() + 1
+        );
+        lines.add(record.digest());
+        lines.addAll(record.stats());
+        try {
+            file.getParentFile().mkdirs();
+            final File temp = File.createTempFile(
+                file.getName(), ".tmp", file.getParentFile()
+            );
+            Files.write(temp.toPath(), lines, Fingerprint.ENCODING);
+            Files.move(
+                temp.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (final IOException ex) {
+            Logger.warn(
+                Fingerprint.class, "failed to save %s: %s",
+                file, ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * SHA-1 of a text, in hex.
+     * @param text The text
+     * @return Hex digest
+     */
+    private static String sha(final String text) {
+        try {
+            return String.format(
+                "%040x",
+                new BigInteger(
+                    1,
+                    MessageDigest.getInstance("SHA-1").digest(
+                        text.getBytes(Fingerprint.ENCODING)
+                    )
+                )
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Stat line of one file, its size and modification time.
+     * @param file The file
+     * @return Text line
+     */
+    private static String stat(final File file) {
+        return String.format(
+            "%s\t%d\t%d", file.getAbsolutePath(),
+            file.length(), file.lastModified()
+        );
+    }
+
+    /**
+     * Digest with the stats of the files it was made from.
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "hex", "lines" })
+    private static final class Record {
+        /**
+         * The digest.
+         */
+        private final transient String hex;
+        /**
+         * Stat lines of all files involved.
+         */
+        private final transient Collection<String> lines;
+        /**
+         * Ctor.
+         * @param dgst Digest
+         * @param stats Stat lines
+         */
+        Record(final String dgst, final Collection<String> stats) {
+            this.hex = dgst;
+            this.lines = new ArrayList<String>(stats);
+        }
+        /**
+         * Make a record from classpath entries.
+         * @param entries Labels mapped to files, NULL files are ignored
+         * @return Record
+         */
+        public static Fingerprint.Record of(final Map<String, File> entries) {
+            final Collection<String> stats =
+                new ArrayList<String>(entries.size());
+            final StringBuilder text = new StringBuilder(0);
+            for (final Map.Entry<String, File> entry : entries.entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                final String stat = Fingerprint.stat(entry.getValue());
+                stats.add(stat);
+                text.append(entry.getKey()).append('\t')
+                    .append(stat).append('\n');
+            }
+            return new Fingerprint.Record(
+                Fingerprint.sha(text.toString()), stats
+            );
+        }
+        /**
+         * Digest.
+         * @return Hex
+         */
+        public String digest() {
+            return this.hex;
+        }
+        /**
+         * Stat lines.
+         * @return Lines
+         */
+        public Collection<String> stats() {
+            return this.lines;
+        }
+        /**
+         * All files are exactly as they were when recorded?
+         * @return TRUE if none of them changed
+         */
+        public boolean fresh() {
+            boolean fresh = true;
+            for (final String line : this.lines) {
+                final String path = line.substring(0, line.indexOf('\t'));
+                if (!line.equals(Fingerprint.stat(new File(path)))) {
+                    fresh = false;
+                    break;
+                }
+            }
+            return fresh;
+        }
+    }
+}
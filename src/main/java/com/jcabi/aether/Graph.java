@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.version.VersionConstraint;
+
+/**
+ * Resolved dependency graph.
+ *
+ * <p>Nodes are numbered in pre-order, starting from the root, which is
+ * {@link #ROOT}. Everything is kept in arrays of primitives and interned
+ * strings: artifacts in {@link Artifacts}, children and parents of all
+ * nodes in two compressed adjacency arrays (offsets of every node into
+ * one array of neighbours). So the graph takes little memory and can be
+ * walked in linear time, for example:
+ *
+ * <pre> Graph graph = aether.graph(root, "runtime");
+ * for (int node = 0; node &lt; graph.size(); ++node) {
+ *   if (graph.winner(node) == node) {
+ *     System.out.println(graph.artifact(node).getFile());
+ *   }
+ * }</pre>
+ *
+ * <p>Dependencies which lost version conflicts are in the graph as well,
+ * without children, and {@link #winner(int)} points to the node which
+ * won the conflict. Their artifacts are not resolved. Nodes outside of
+ * the requested scope are not in the graph, with all their descendants.
+ *
+ * <p>Graphs made by {@link Aether#collect(Artifact, String)} have the
+ * same structure, but their artifacts have no files.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#graph(Artifact, String)
+ * @see Aether#collect(Artifact, String)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Graph {
+
+    /**
+     * Index of the root node.
+     */
+    public static final int ROOT = 0;
+
+    /**
+     * Artifacts of nodes.
+     */
+    private final transient Artifacts artifacts;
+
+    /**
+     * Scopes of nodes, interned.
+     */
+    private final transient String[] scopes;
+
+    /**
+     * Optional flags of nodes.
+     */
+    private final transient boolean[] optionals;
+
+    /**
+     * Some versions are ranges or snapshots.
+     */
+    private final transient boolean floating;
+
+    /**
+     * Winners of conflicts, the node itself if it's a winner.
+     */
+    private final transient int[] winners;
+
+    /**
+     * Offsets of children of every node in {@link #kids}, plus one.
+     */
+    private final transient int[] koffsets;
+
+    /**
+     * Children of all nodes.
+     */
+    private final transient int[] kids;
+
+    /**
+     * Offsets of parents of every node in {@link #folks}, plus one.
+     */
+    private final transient int[] poffsets;
+
+    /**
+     * Parents of all nodes.
+     */
+    private final transient int[] folks;
+
+    /**
+     * Ctor.
+     * @param root Root node of the resolved graph
+     * @param filter Filter of nodes to include
+     * @checkstyle ExecutableStatementCount (80 lines)
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    Graph(final DependencyNode root, final DependencyFilter filter) {
+        final Map<DependencyNode, Integer> index =
+            new IdentityHashMap<DependencyNode, Integer>(0);
+        final List<DependencyNode> nodes = new ArrayList<DependencyNode>(0);
+        Graph.visit(
+            root, filter, new LinkedList<DependencyNode>(), index, nodes
+        );
+        final int size = nodes.size();
+        final List<Artifact> arts = new ArrayList<Artifact>(size);
+        this.scopes = new String[size];
+        this.optionals = new boolean[size];
+        this.winners = new int[size];
+        this.koffsets = new int[size + 1];
+        this.poffsets = new int[size + 1];
+        final int[] counts = new int[size];
+        int edges = 0;
+        boolean floats = false;
+        for (int idx = 0; idx < size; ++idx) {
+            final DependencyNode node = nodes.get(idx);
+            arts.add(node.getArtifact());
+            floats = floats || Graph.floating(node);
+            if (node.getDependency() == null) {
+                this.scopes[idx] = "";
+            } else {
+                this.scopes[idx] = node.getDependency().getScope().intern();
+                this.optionals[idx] = node.getDependency().isOptional();
+            }
+            final Object winner =
+                node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+            if (winner == null) {
+                this.winners[idx] = idx;
+            } else if (index.containsKey(winner)) {
+                this.winners[idx] = index.get(winner);
+            } else {
+                this.winners[idx] = -1;
+            }
+            this.koffsets[idx + 1] = this.koffsets[idx];
+            for (final DependencyNode kid : node.getChildren()) {
+                final Integer pos = index.get(kid);
+                if (pos != null) {
+                    ++this.koffsets[idx + 1];
+                    ++counts[pos];
+                    ++edges;
+                }
+            }
+        }
+        this.artifacts = new Artifacts(arts);
+        this.floating = floats;
+        this.kids = new int[edges];
+        this.folks = new int[edges];
+        for (int idx = 0; idx < size; ++idx) {
+            this.poffsets[idx + 1] = this.poffsets[idx] + counts[idx];
+        }
+        final int[] filled = new int[size];
+        int next = 0;
+        for (int idx = 0; idx < size; ++idx) {
+            for (final DependencyNode kid : nodes.get(idx).getChildren()) {
+                final Integer pos = index.get(kid);
+                if (pos != null) {
+                    this.kids[next] = pos;
+                    ++next;
+                    this.folks[this.poffsets[pos] + filled[pos]] = idx;
+                    ++filled[pos];
+                }
+            }
+        }
+    }
+
+    /**
+     * Amount of nodes.
+     * @return Amount
+     */
+    public int size() {
+        return this.winners.length;
+    }
+
+    /**
+     * Some versions in the graph are ranges or snapshots?
+     *
+     * <p>Such a graph may be different when it's resolved again, even if
+     * nothing is changed in the root.
+     *
+     * @return TRUE if at least one node was selected from a version range
+     *  or is a snapshot
+     */
+    public boolean floating() {
+        return this.floating;
+    }
+
+    /**
+     * Artifacts of all nodes, by their indexes.
+     * @return Artifacts
+     */
+    public List<Artifact> artifacts() {
+        return this.artifacts;
+    }
+
+    /**
+     * Artifact of the node.
+     * @param node Index of the node
+     * @return The artifact
+     */
+    public Artifact artifact(final int node) {
+        return this.artifacts.get(node);
+    }
+
+    /**
+     * Scope of the node.
+     * @param node Index of the node
+     * @return Scope, empty for the root
+     */
+    public String scope(final int node) {
+        return this.scopes[node];
+    }
+
+    /**
+     * Is the node optional?
+     * @param node Index of the node
+     * @return TRUE if it's an optional dependency
+     */
+    public boolean optional(final int node) {
+        return this.optionals[node];
+    }
+
+    /**
+     * Winner of the version conflict of the node.
+     * @param node Index of the node
+     * @return Index of the winner, the node itself if it won, or -1 if
+     *  the winner is not in the graph
+     */
+    public int winner(final int node) {
+        return this.winners[node];
+    }
+
+    /**
+     * Children of the node.
+     * @param node Index of the node
+     * @return Indexes of children
+     */
+    public int[] children(final int node) {
+        return Arrays.copyOfRange(
+            this.kids, this.koffsets[node], this.koffsets[node + 1]
+        );
+    }
+
+    /**
+     * Parents of the node.
+     * @param node Index of the node
+     * @return Indexes of parents
+     */
+    public int[] parents(final int node) {
+        return Arrays.copyOfRange(
+            this.folks, this.poffsets[node], this.poffsets[node + 1]
+        );
+    }
+
+    /**
+     * Why the node is in the graph: the shortest path from the root.
+     * @param node Index of the node
+     * @return Indexes of nodes from the root to this one
+     */
+    public int[] path(final int node) {
+        final int[] prev = new int[this.size()];
+        Arrays.fill(prev, -1);
+        prev[Graph.ROOT] = Graph.ROOT;
+        final int[] queue = new int[this.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail] = Graph.ROOT;
+        ++tail;
+        while (head < tail && prev[node] < 0) {
+            final int cur = queue[head];
+            ++head;
+            for (int pos = this.koffsets[cur]; pos < this.koffsets[cur + 1];
+                ++pos) {
+                final int kid = this.kids[pos];
+                if (prev[kid] < 0) {
+                    prev[kid] = cur;
+                    queue[tail] = kid;
+                    ++tail;
+                }
+            }
+        }
+        int len = 1;
+        for (int cur = node; cur != Graph.ROOT; cur = prev[cur]) {
+            ++len;
+        }
+        final int[] path = new int[len];
+        int cur = node;
+        for (int pos = len - 1; pos >= 0; --pos) {
+            path[pos] = cur;
+            cur = prev[cur];
+        }
+        return path;
+    }
+
+    /**
+     * Resolved artifacts of all winners, except the root, in pre-order.
+     *
+     * <p>The list is the same as {@link Aether#resolve(Artifact, String)}
+     * returns.
+     *
+     * @return Artifacts
+     */
+    public List<Artifact> classpath() {
+        final List<Artifact> list = new ArrayList<Artifact>(this.size());
+        for (int node = Graph.ROOT + 1; node < this.size(); ++node) {
+            if (this.winners[node] == node) {
+                list.add(this.artifacts.get(node));
+            }
+        }
+        return new Artifacts(list);
+    }
+
+    /**
+     * The version of the node was selected from a range or is a snapshot?
+     * @param node The node
+     * @return TRUE if it's floating
+     */
+    private static boolean floating(final DependencyNode node) {
+        final VersionConstraint constraint = node.getVersionConstraint();
+        return constraint != null && constraint.getRange() != null
+            || node.getArtifact() != null && node.getArtifact().isSnapshot();
+    }
+
+    /**
+     * Number the node and all its accepted descendants in pre-order.
+     * @param node The node
+     * @param filter Filter of nodes
+     * @param parents Parents of the node, the closest first
+     * @param index Numbers of nodes visited so far
+     * @param nodes Nodes visited so far, by their numbers
+     */
+    private static void visit(final DependencyNode node,
+        final DependencyFilter filter, final LinkedList<DependencyNode> parents,
+        final Map<DependencyNode, Integer> index,
+        final List<DependencyNode> nodes) {
+        if (index.containsKey(node)
+            || !parents.isEmpty() && !filter.accept(node, parents)) {
+            return;
+        }
+        index.put(node, nodes.size());
+        nodes.add(node);
+        parents.addFirst(node);
+        for (final DependencyNode kid : node.getChildren()) {
+            Graph.visit(kid, filter, parents, index, nodes);
+        }
+        parents.removeFirst();
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+
+/**
+ * Connector to an HTTP repository with equivalents, which downloads
+ * artifacts with {@link HedgedDownload}.
+ *
+ * <p>The delay before an equivalent repository is asked is the percentile
+ * of {@link Hedging} among recent times to the first byte from this
+ * repository, or one second until enough of them are known. Downloaded
+ * artifacts are checked against SHA-1 checksums of the repository they
+ * came from. Everything else is done by {@link HttpDownloads}, as for
+ * {@link ResumableConnector}. Hedged downloads are not resumable: a
+ * broken download is repeated from the start, by the next equivalent.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "downloads", "alternatives" })
+@EqualsAndHashCode(of = { "downloads", "alternatives" })
+final class HedgedConnector
+    implements RepositoryConnector, HttpDownloads.Fetch {
+
+    /**
+     * Recent times to the first byte, per repository URL.
+     */
+    private static final ConcurrentMap<String, Latencies> LATENCIES =
+        new ConcurrentHashMap<String, Latencies>(0);
+
+    /**
+     * How many recent latencies to keep per repository.
+     */
+    private static final int WINDOW = 128;
+
+    /**
+     * How many latencies have to be known to trust their percentile.
+     */
+    private static final int ENOUGH = 16;
+
+    /**
+     * Delay until enough latencies are known, in nanoseconds.
+     */
+    private static final long FALLBACK = TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * Downloads from the repository.
+     */
+    private final transient HttpDownloads downloads;
+
+    /**
+     * Normalized URL of the repository.
+     */
+    private final transient String base;
+
+    /**
+     * URLs of equivalent repositories.
+     */
+    private final transient List<String> alternatives;
+
+    /**
+     * Percentile of latencies to wait for the first byte.
+     */
+    private final transient double percentile;
+
+    /**
+     * Timeouts of connections to the repository.
+     */
+    private final transient Timeouts timeouts;
+
+    /**
+     * Ctor.
+     * @param sess The session
+     * @param remote The repository
+     * @param connector Original connector
+     * @param hedging Hedging, with equivalents of the repository
+     */
+    HedgedConnector(final RepositorySystemSession sess,
+        final RemoteRepository remote, final RepositoryConnector connector,
+        final Hedging hedging) {
+        this.downloads = new HttpDownloads(sess, remote, connector);
+        this.base = Layout.normal(remote.getUrl());
+        this.alternatives = hedging.alternatives(remote.getUrl());
+        this.percentile = hedging.percentile();
+        this.timeouts = Timeouts.of(sess, remote);
+    }
+
+    @Override
+    public void get(final Collection< ? extends ArtifactDownload> artifacts,
+        final Collection< ? extends MetadataDownload> metadatas) {
+        this.downloads.get(artifacts, metadatas, this);
+    }
+
+    @Override
+    public void put(final Collection< ? extends ArtifactUpload> artifacts,
+        final Collection< ? extends MetadataUpload> metadatas) {
+        this.downloads.origin().put(artifacts, metadatas);
+    }
+
+    @Override
+    public void close() {
+        this.downloads.origin().close();
+    }
+
+    @Override
+    public long fetch(final ArtifactDownload download, final URL url,
+        final Runnable first) throws IOException, ChecksumFailureException {
+        final String path = Layout.path(download.getArtifact());
+        final List<URL> urls = new ArrayList<URL>(
+            this.alternatives.size() + 1
+        );
+        urls.add(url);
+        for (final String alt : this.alternatives) {
+            urls.add(new URL(String.format("%s/%s", alt, path)));
+        }
+        final Latencies latencies = HedgedConnector.latencies(this.base);
+        final HedgedDownload dld = new HedgedDownload(
+            urls, download.getFile(),
+            latencies.percentile(
+                this.percentile, HedgedConnector.ENOUGH,
+                HedgedConnector.FALLBACK
+            ),
+            this.timeouts
+        );
+        try {
+            final URL source = dld.fetch(first);
+            HttpDownloads.verify(
+                source, dld.part(), download.getChecksumPolicy(),
+                this.timeouts
+            );
+        } finally {
+            if (dld.latency() >= 0L) {
+                latencies.add(dld.latency());
+            }
+        }
+        HttpDownloads.move(dld.part(), download.getFile());
+        return download.getFile().length();
+    }
+
+    /**
+     * Recent latencies of the repository.
+     * @param url URL of the repository
+     * @return Latencies
+     */
+    private static Latencies latencies(final String url) {
+        HedgedConnector.LATENCIES.putIfAbsent(
+            url, new Latencies(HedgedConnector.WINDOW)
+        );
+        return HedgedConnector.LATENCIES.get(url);
+    }
+}
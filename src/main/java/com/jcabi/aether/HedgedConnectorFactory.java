@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.connector.async.AsyncRepositoryConnectorFactory;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+
+/**
+ * Factory of {@link HedgedConnector}s.
+ *
+ * <p>Hedged downloads are enabled only when the session has a
+ * {@link Hedging} with equivalents of the repository, and only for HTTP
+ * repositories without authentication and proxies. Otherwise, the
+ * factory refuses to connect and other factories are used, as before.
+ *
+ * <p>The priority of the factory is higher than the one of
+ * {@link ResumableConnectorFactory}, so that downloads from a repository
+ * with equivalents are hedged and not resumable, even when resumable
+ * downloads are enabled too: a hedged download that breaks is repeated
+ * from the start by an equivalent repository, since a {@code .part} file
+ * of one source can't be continued from another one.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class HedgedConnectorFactory
+    implements RepositoryConnectorFactory, Service {
+
+    /**
+     * Factory of connectors for everything but artifact downloads.
+     */
+    private final transient AsyncRepositoryConnectorFactory origin =
+        new AsyncRepositoryConnectorFactory();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RepositoryConnector newInstance(
+        final RepositorySystemSession session, final RemoteRepository repo)
+        throws NoRepositoryConnectorException {
+        final Hedging hedging = Hedging.of(session);
+        if (hedging == null
+            || hedging.alternatives(repo.getUrl()).isEmpty()
+            || !repo.getProtocol().matches("https?")
+            || repo.getProxy() != null
+            || repo.getAuthentication() != null) {
+            throw new NoRepositoryConnectorException(repo);
+        }
+        return new HedgedConnector(
+            session, repo, this.origin.newInstance(session, repo), hedging
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>It's higher than the one of {@link ResumableConnectorFactory},
+     * which disables resumable downloads for hedged repositories.
+     */
+    @Override
+    public float getPriority() {
+        return this.origin.getPriority() + 2.0f;
+    }
+}
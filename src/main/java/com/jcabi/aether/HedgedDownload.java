@@ -0,0 +1,473 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Download of a file over HTTP from equivalent sources, hedged.
+ *
+ * <p>The file is requested from the first source. If no source has sent
+ * its first byte within the delay, or if all running requests failed, the
+ * next source is requested too. The first complete download wins and
+ * is saved to {@link #part()}, while others are cancelled and their
+ * partial files deleted. When a source doesn't have the file, others
+ * are not asked, since they are equivalent.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "urls", "file", "delay" })
+@EqualsAndHashCode(of = { "urls", "file", "delay" })
+final class HedgedDownload {
+
+    /**
+     * Threads of running requests.
+     */
+    private static final ExecutorService THREADS =
+        Executors.newCachedThreadPool(new VerboseThreads("aether-hedge"));
+
+    /**
+     * Source URLs, the preferred one first.
+     */
+    private final transient List<URL> urls;
+
+    /**
+     * Target file.
+     */
+    private final transient File file;
+
+    /**
+     * Delay of the first byte before the next source is requested,
+     * in nanoseconds.
+     */
+    private final transient long delay;
+
+    /**
+     * Timeouts of connections.
+     */
+    private final transient Timeouts timeouts;
+
+    /**
+     * Time to the first byte from the first source, in nanoseconds.
+     */
+    private transient long first = -1L;
+
+    /**
+     * Ctor.
+     * @param srcs Where to download from, the preferred source first
+     * @param dest Where to save
+     * @param nanos Delay of the first byte, in nanoseconds
+     */
+    HedgedDownload(final List<URL> srcs, final File dest, final long nanos) {
+        this(srcs, dest, nanos, Timeouts.DEFAULT);
+    }
+
+    /**
+     * Ctor.
+     * @param srcs Where to download from, the preferred source first
+     * @param dest Where to save
+     * @param nanos Delay of the first byte, in nanoseconds
+     * @param tmts Timeouts of connections
+     */
+    HedgedDownload(final List<URL> srcs, final File dest, final long nanos,
+        final Timeouts tmts) {
+        this.urls = new ArrayList<URL>(srcs);
+        this.file = dest;
+        this.delay = nanos;
+        this.timeouts = tmts;
+    }
+
+    /**
+     * File where the complete download is saved by {@link #fetch()}.
+     * @return The file
+     */
+    public File part() {
+        return new File(String.format("%s.hedge", this.file.getPath()));
+    }
+
+    /**
+     * Time to the first byte from the first source, if it was seen.
+     * @return Nanoseconds, or a negative number if unknown
+     */
+    public long latency() {
+        return this.first;
+    }
+
+    /**
+     * Download the file into {@link #part()}.
+     * @return Source it came from
+     * @throws IOException If fails with all sources
+     */
+    public URL fetch() throws IOException {
+        return this.fetch(
+            new Runnable() {
+                @Override
+                public void run() {
+                    // nothing to do
+                }
+            }
+        );
+    }
+
+    /**
+     * Download the file into {@link #part()}.
+     * @param first What to run when a first byte arrives from any source
+     * @return Source it came from
+     * @throws IOException If fails with all sources
+     */
+    public URL fetch(final Runnable first) throws IOException {
+        final CompletionService<HedgedDownload.Attempt> done =
+            new ExecutorCompletionService<HedgedDownload.Attempt>(
+                HedgedDownload.THREADS
+            );
+        final List<HedgedDownload.Attempt> attempts =
+            new ArrayList<HedgedDownload.Attempt>(this.urls.size());
+        HedgedDownload.Attempt winner = null;
+        try {
+            winner = this.race(done, attempts, first);
+        } finally {
+            for (final HedgedDownload.Attempt attempt : attempts) {
+                if (!attempt.equals(winner)) {
+                    attempt.cancel();
+                }
+            }
+            if (!attempts.isEmpty()) {
+                this.first = attempts.get(0).latency();
+            }
+        }
+        HttpDownloads.move(winner.part(), this.part());
+        if (attempts.size() > 1) {
+            Logger.info(
+                this, "%s won over %d other source(s) of %s",
+                winner.source(), attempts.size() - 1, this.file.getName()
+            );
+        }
+        return winner.source();
+    }
+
+    /**
+     * Run attempts until one of them succeeds.
+     * @param done Completion of attempts
+     * @param attempts Attempts started
+     * @param first What to run when a first byte arrives
+     * @return The successful attempt
+     * @throws IOException If all of them fail
+     */
+    private HedgedDownload.Attempt race(
+        final CompletionService<HedgedDownload.Attempt> done,
+        final List<HedgedDownload.Attempt> attempts, final Runnable first)
+        throws IOException {
+        this.start(done, attempts, first);
+        int running = 1;
+        HedgedDownload.Attempt winner = null;
+        try {
+            while (winner == null) {
+                final Future<HedgedDownload.Attempt> future;
+                if (attempts.size() < this.urls.size()) {
+                    future = done.poll(this.delay, TimeUnit.NANOSECONDS);
+                } else {
+                    future = done.take();
+                }
+                if (future == null) {
+                    if (!HedgedDownload.started(attempts)) {
+                        this.start(done, attempts, first);
+                        ++running;
+                    }
+                } else {
+                    --running;
+                    winner = this.settle(future.get(), running, attempts);
+                    if (winner == null && running == 0) {
+                        this.start(done, attempts, first);
+                        ++running;
+                    }
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(ex.getMessage());
+        } catch (final ExecutionException ex) {
+            throw new IOException(ex);
+        }
+        return winner;
+    }
+
+    /**
+     * Settle a finished attempt.
+     * @param attempt The attempt
+     * @param running How many attempts are still running
+     * @param attempts Attempts started
+     * @return The attempt if it succeeded, NULL otherwise
+     * @throws IOException If it failed and there is nothing more to try
+     */
+    private HedgedDownload.Attempt settle(final HedgedDownload.Attempt attempt,
+        final int running, final List<HedgedDownload.Attempt> attempts)
+        throws IOException {
+        HedgedDownload.Attempt winner = null;
+        if (attempt.error() == null) {
+            winner = attempt;
+        } else if (running == 0
+            && (attempt.error() instanceof FileNotFoundException
+            || attempts.size() == this.urls.size())) {
+            throw attempt.error();
+        }
+        return winner;
+    }
+
+    /**
+     * Start an attempt with the next source.
+     * @param done Completion of attempts
+     * @param attempts Attempts started
+     * @param first What to run when a first byte arrives
+     */
+    private void start(final CompletionService<HedgedDownload.Attempt> done,
+        final List<HedgedDownload.Attempt> attempts, final Runnable first) {
+        final int idx = attempts.size();
+        final HedgedDownload.Attempt attempt = new HedgedDownload.Attempt(
+            this.urls.get(idx),
+            new File(String.format("%s.hedge%d", this.file.getPath(), idx)),
+            this.timeouts, first
+        );
+        attempts.add(attempt);
+        done.submit(attempt);
+    }
+
+    /**
+     * Has any of the attempts received its first byte?
+     * @param attempts Attempts started
+     * @return TRUE if at least one of them did
+     */
+    private static boolean started(
+        final List<HedgedDownload.Attempt> attempts) {
+        boolean started = false;
+        for (final HedgedDownload.Attempt attempt : attempts) {
+            if (attempt.latency() >= 0L) {
+                started = true;
+                break;
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Download from one source into its own partial file.
+     */
+    @ToString(of = { "url", "file" })
+    private static final class Attempt
+        implements Callable<HedgedDownload.Attempt> {
+        /**
+         * Source.
+         */
+        private final transient URL url;
+        /**
+         * Partial file.
+         */
+        private final transient File file;
+        /**
+         * Timeouts of the connection.
+         */
+        private final transient Timeouts timeouts;
+        /**
+         * What to run when the first byte arrives.
+         */
+        private final transient Runnable started;
+        /**
+         * Time to the first byte, in nanoseconds.
+         */
+        private volatile transient long first = -1L;
+        /**
+         * Was it cancelled?
+         */
+        private volatile transient boolean cancelled;
+        /**
+         * Open connection.
+         */
+        private volatile transient HttpURLConnection conn;
+        /**
+         * Failure, if any.
+         */
+        private volatile transient IOException failure;
+        /**
+         * Ctor.
+         * @param src Source
+         * @param dest Partial file
+         * @param tmts Timeouts of the connection
+         * @param run What to run when the first byte arrives
+         */
+        Attempt(final URL src, final File dest, final Timeouts tmts,
+            final Runnable run) {
+            this.url = src;
+            this.file = dest;
+            this.timeouts = tmts;
+            this.started = run;
+        }
+        @Override
+        public HedgedDownload.Attempt call() {
+            final long start = System.nanoTime();
+            try {
+                this.conn = ResumableDownload.open(this.url, this.timeouts);
+                if (this.cancelled) {
+                    throw new IOException("cancelled");
+                }
+                if (this.conn.getResponseCode()
+                    == HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw new FileNotFoundException(this.url.toString());
+                }
+                ResumableDownload.check(this.conn);
+                this.copy(start);
+            } catch (final IOException ex) {
+                this.failure = ex;
+                if (this.file.exists() && !this.file.delete()) {
+                    Logger.warn(
+                        this, "#call(): failed to delete %s", this.file
+                    );
+                }
+            } finally {
+                if (this.conn != null) {
+                    this.conn.disconnect();
+                }
+            }
+            return this;
+        }
+        /**
+         * Source.
+         * @return URL
+         */
+        public URL source() {
+            return this.url;
+        }
+        /**
+         * Partial file.
+         * @return The file
+         */
+        public File part() {
+            return this.file;
+        }
+        /**
+         * Time to the first byte.
+         * @return Nanoseconds, or a negative number if not seen yet
+         */
+        public long latency() {
+            return this.first;
+        }
+        /**
+         * Failure.
+         * @return The failure or NULL if the download succeeded
+         */
+        public IOException error() {
+            return this.failure;
+        }
+        /**
+         * Cancel it and delete its partial file.
+         */
+        public void cancel() {
+            this.cancelled = true;
+            final HttpURLConnection connection = this.conn;
+            if (connection != null) {
+                connection.disconnect();
+            }
+            if (this.file.exists() && !this.file.delete()) {
+                Logger.warn(this, "#cancel(): failed to delete %s", this.file);
+            }
+        }
+        /**
+         * Copy the response into the partial file, as long as its
+         * {@code Content-Length} says, if there is any.
+         * @param start When the request was started
+         * @throws IOException If fails or the file is incomplete
+         */
+        private void copy(final long start) throws IOException {
+            final byte[] buffer = new byte[16 * 1024];
+            final InputStream input = this.conn.getInputStream();
+            try {
+                int len = input.read(buffer);
+                this.first = System.nanoTime() - start;
+                if (len >= 0) {
+                    this.started.run();
+                }
+                final OutputStream output = Files.newOutputStream(
+                    this.file.toPath()
+                );
+                try {
+                    while (len >= 0 && !this.cancelled) {
+                        output.write(buffer, 0, len);
+                        len = input.read(buffer);
+                    }
+                } finally {
+                    output.close();
+                }
+            } finally {
+                input.close();
+            }
+            if (this.cancelled) {
+                throw new IOException("cancelled");
+            }
+            final long total = this.conn.getContentLengthLong();
+            if (total >= 0L && this.file.length() > total) {
+                throw new IOException(
+                    String.format(
+                        "%s is longer than %d bytes", this.url, total
+                    )
+                );
+            }
+            if (total >= 0L && this.file.length() < total) {
+                throw new IOException(
+                    String.format(
+                        "connection closed at %d of %d bytes",
+                        this.file.length(), total
+                    )
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Hedging of artifact downloads across equivalent repositories.
+ *
+ * <pre> Aether aether = new Aether(repos, lrepo).hedged(
+ *   new Hedging(95.0d).with(
+ *     "http://mirror-a.example.com/maven2",
+ *     "http://mirror-b.example.com/maven2"
+ *   )
+ * );</pre>
+ *
+ * <p>When a download from a repository doesn't get its first byte within
+ * the given percentile of latencies seen from this repository, the same
+ * file is requested from an equivalent one, and the first complete
+ * download wins. Equivalence is one-way: declare it twice to hedge in
+ * both directions. See {@link Aether#hedged(double)} for equivalents
+ * found among mirrors of Maven settings. Equivalent repositories, in any
+ * direction, are also the ones a {@link Ranking} may
+ * {@link #order(Ranking, List)} among themselves.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "pct", "primaries", "alternatives" })
+public final class Hedging {
+
+    /**
+     * Key of hedging in session data.
+     */
+    private static final String KEY = Hedging.class.getName();
+
+    /**
+     * Percentile of latencies to wait for the first byte.
+     */
+    private final transient double pct;
+
+    /**
+     * URLs of repositories, one per equivalence.
+     */
+    @Immutable.Array
+    private final transient String[] primaries;
+
+    /**
+     * URLs of their equivalents, one per equivalence.
+     */
+    @Immutable.Array
+    private final transient String[] alternatives;
+
+    /**
+     * Public ctor, of hedging without equivalent repositories.
+     * @param percentile Percentile of latencies, like 95.0
+     */
+    public Hedging(final double percentile) {
+        this(percentile, new String[0], new String[0]);
+    }
+
+    /**
+     * Private ctor.
+     * @param percentile Percentile of latencies
+     * @param prims URLs of repositories
+     * @param alts URLs of their equivalents
+     */
+    private Hedging(final double percentile, final String[] prims,
+        final String[] alts) {
+        if (percentile <= 0.0d || percentile >= 100.0d) {
+            throw new IllegalArgumentException(
+                String.format("percentile must be in (0, 100): %f", percentile)
+            );
+        }
+        this.pct = percentile;
+        this.primaries = prims;
+        this.alternatives = alts;
+    }
+
+    /**
+     * Hedging with one more equivalence.
+     * @param url URL of the repository
+     * @param alternative URL of the repository with the same content
+     * @return New hedging
+     */
+    public Hedging with(@NotNull final String url,
+        @NotNull final String alternative) {
+        final int size = this.primaries.length;
+        final String[] prims = Arrays.copyOf(this.primaries, size + 1);
+        final String[] alts = Arrays.copyOf(this.alternatives, size + 1);
+        prims[size] = Layout.normal(url);
+        alts[size] = Layout.normal(alternative);
+        return new Hedging(this.pct, prims, alts);
+    }
+
+    /**
+     * Percentile of latencies to wait for the first byte.
+     * @return The percentile
+     */
+    public double percentile() {
+        return this.pct;
+    }
+
+    /**
+     * Repositories equivalent to this one.
+     * @param url URL of the repository
+     * @return URLs of equivalent repositories, without trailing slashes
+     */
+    public List<String> alternatives(@NotNull final String url) {
+        final String key = Layout.normal(url);
+        final List<String> alts = new LinkedList<String>();
+        for (int idx = 0; idx < this.primaries.length; ++idx) {
+            if (this.primaries[idx].equals(key)) {
+                alts.add(this.alternatives[idx]);
+            }
+        }
+        return alts;
+    }
+
+    /**
+     * Order repositories by the ranking, among equivalent ones only.
+     *
+     * <p>Repositories equivalent to the first of them, in any direction,
+     * make a group, which keeps the places its members have in the list,
+     * and only the members are reordered within these places. Other
+     * repositories keep their places.
+     *
+     * @param ranking The ranking
+     * @param repos Repositories, in the declared order
+     * @return The same repositories, ordered
+     */
+    List<RemoteRepository> order(final Ranking ranking,
+        final List<RemoteRepository> repos) {
+        final List<RemoteRepository> ordered =
+            new ArrayList<RemoteRepository>(repos);
+        final boolean[] grouped = new boolean[repos.size()];
+        for (int idx = 0; idx < repos.size(); ++idx) {
+            if (grouped[idx]) {
+                continue;
+            }
+            final List<Integer> places = new ArrayList<Integer>(1);
+            final List<RemoteRepository> group =
+                new ArrayList<RemoteRepository>(1);
+            for (int next = idx; next < repos.size(); ++next) {
+                if (!grouped[next] && this.equivalent(
+                    repos.get(idx).getUrl(), repos.get(next).getUrl()
+                )) {
+                    grouped[next] = true;
+                    places.add(next);
+                    group.add(repos.get(next));
+                }
+            }
+            if (group.size() > 1) {
+                final List<RemoteRepository> ranked = ranking.order(group);
+                for (int pos = 0; pos < places.size(); ++pos) {
+                    ordered.set(places.get(pos), ranked.get(pos));
+                }
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Are there any equivalent repositories?
+     * @return TRUE if there are none
+     */
+    boolean empty() {
+        return this.primaries.length == 0;
+    }
+
+    /**
+     * Are two repositories equivalent, in any direction?
+     * @param left URL of one of them
+     * @param right URL of the other one
+     * @return TRUE if they are the same or equivalent
+     */
+    private boolean equivalent(final String left, final String right) {
+        final String first = Layout.normal(left);
+        final String second = Layout.normal(right);
+        boolean equivalent = first.equals(second);
+        for (int idx = 0; !equivalent && idx < this.primaries.length;
+            ++idx) {
+            equivalent = this.primaries[idx].equals(first)
+                && this.alternatives[idx].equals(second)
+                || this.primaries[idx].equals(second)
+                && this.alternatives[idx].equals(first);
+        }
+        return equivalent;
+    }
+
+    /**
+     * Get the hedging of the session.
+     * @param session The session
+     * @return The hedging, NULL if the session doesn't have any
+     */
+    static Hedging of(final RepositorySystemSession session) {
+        return (Hedging) session.getData().get(Hedging.KEY);
+    }
+
+    /**
+     * Attach it to the session.
+     * @param session The session
+     */
+    void attach(final DefaultRepositorySystemSession session) {
+        session.getData().set(Hedging.KEY, this);
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Downloads of artifacts over HTTP, shared by connectors of this package.
+ *
+ * <p>Existence checks and metadata are passed to the original connector.
+ * Artifacts are downloaded a few at a time, each of them by the
+ * {@link HttpDownloads.Fetch} of the connector, while the listener of the
+ * session is notified about transfers and failures are reported to
+ * downloads the way Aether expects: {@link ArtifactNotFoundException}
+ * when the repository doesn't have an artifact and
+ * {@link ArtifactTransferException} otherwise.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "repo")
+@EqualsAndHashCode(of = "repo")
+final class HttpDownloads {
+
+    /**
+     * Maximum amount of downloads running at the same time.
+     */
+    private static final int PARALLEL = 8;
+
+    /**
+     * Threads of downloads, shared by all connectors.
+     */
+    private static final ExecutorService THREADS =
+        Executors.newFixedThreadPool(
+            HttpDownloads.PARALLEL, new VerboseThreads("aether-download")
+        );
+
+    /**
+     * The session.
+     */
+    private final transient RepositorySystemSession session;
+
+    /**
+     * The repository.
+     */
+    private final transient RemoteRepository repo;
+
+    /**
+     * Original connector.
+     */
+    private final transient RepositoryConnector origin;
+
+    /**
+     * Ctor.
+     * @param sess The session
+     * @param remote The repository
+     * @param connector Original connector
+     */
+    HttpDownloads(final RepositorySystemSession sess,
+        final RemoteRepository remote, final RepositoryConnector connector) {
+        this.session = sess;
+        this.repo = remote;
+        this.origin = connector;
+    }
+
+    /**
+     * Download artifacts and metadata.
+     * @param artifacts Artifacts, may be NULL
+     * @param metadatas Metadata, may be NULL
+     * @param fetch How to download one artifact
+     */
+    public void get(final Collection< ? extends ArtifactDownload> artifacts,
+        final Collection< ? extends MetadataDownload> metadatas,
+        final HttpDownloads.Fetch fetch) {
+        final Collection<ArtifactDownload> rest =
+            new ArrayList<ArtifactDownload>(0);
+        final Collection<Callable<Void>> tasks =
+            new ArrayList<Callable<Void>>(0);
+        if (artifacts != null) {
+            for (final ArtifactDownload download : artifacts) {
+                if (download.isExistenceCheck()) {
+                    rest.add(download);
+                } else {
+                    tasks.add(
+                        new Callable<Void>() {
+                            @Override
+                            public Void call() {
+                                HttpDownloads.this.download(download, fetch);
+                                return null;
+                            }
+                        }
+                    );
+                }
+            }
+        }
+        HttpDownloads.run(tasks);
+        this.origin.get(rest, metadatas);
+    }
+
+    /**
+     * Original connector, for everything but artifact downloads.
+     * @return The connector
+     */
+    public RepositoryConnector origin() {
+        return this.origin;
+    }
+
+    /**
+     * Verify checksum of a downloaded file, and delete it if it's wrong.
+     * @param url Where it came from
+     * @param part The file
+     * @param policy Checksum policy
+     * @param timeouts Timeouts of the connection
+     * @throws IOException If fails
+     * @throws ChecksumFailureException If checksum is wrong
+     */
+    public static void verify(final URL url, final File part,
+        final String policy, final Timeouts timeouts)
+        throws IOException, ChecksumFailureException {
+        if (!RepositoryPolicy.CHECKSUM_POLICY_IGNORE.equals(policy)) {
+            try {
+                Checksums.verify(
+                    part,
+                    ResumableDownload.text(
+                        new URL(String.format("%s.sha1", url)), timeouts
+                    ),
+                    policy, url
+                );
+            } catch (final ChecksumFailureException ex) {
+                if (!part.delete()) {
+                    Logger.warn(
+                        HttpDownloads.class,
+                        "#verify(): failed to delete %s", part
+                    );
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Move a complete file to its place.
+     * @param part The file
+     * @param target Its place
+     * @throws IOException If fails
+     */
+    public static void move(final File part, final File target)
+        throws IOException {
+        try {
+            Files.move(
+                part.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (final AtomicMoveNotSupportedException ex) {
+            Files.move(
+                part.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING
+            );
+        }
+    }
+
+    /**
+     * Download one artifact.
+     * @param download The download
+     * @param fetch How to download it
+     */
+    private void download(final ArtifactDownload download,
+        final HttpDownloads.Fetch fetch) {
+        final Artifact artifact = download.getArtifact();
+        final String path = Layout.path(artifact);
+        final TransferEvent.Builder event = new TransferEvent.Builder(
+            this.session,
+            new TransferResource(
+                this.repo.getUrl(), path, download.getFile(),
+                download.getTrace()
+            )
+        ).setRequestType(TransferEvent.RequestType.GET);
+        try {
+            final URL url = new URL(
+                String.format("%s/%s", Layout.normal(this.repo.getUrl()), path)
+            );
+            Transfers.initiated(this.session, event);
+            final Transfers.FirstByte first =
+                new Transfers.FirstByte(this.session, event);
+            final long bytes = fetch.fetch(download, url, first);
+            first.verify();
+            Transfers.succeeded(
+                this.session, event.setTransferredBytes(bytes)
+            );
+        } catch (final FileNotFoundException ex) {
+            download.setException(
+                new ArtifactNotFoundException(artifact, this.repo)
+            );
+        } catch (final IOException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        } catch (final ChecksumFailureException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        } catch (final TransferCancelledException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        }
+        if (download.getException() != null) {
+            Transfers.failed(this.session, event, download.getException());
+        }
+    }
+
+    /**
+     * Run downloads, a few at a time, and wait for all of them.
+     * @param tasks Downloads
+     */
+    private static void run(final Collection<Callable<Void>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.iterator().next().call();
+            // @checkstyle IllegalCatch (1 line)
+            } catch (final Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        } else if (!tasks.isEmpty()) {
+            try {
+                for (final Future<Void> future
+                    : HttpDownloads.THREADS.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (final ExecutionException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Download of one artifact by a connector.
+     */
+    interface Fetch {
+        /**
+         * Download the artifact into its file, verified.
+         * @param download The download
+         * @param url URL of the artifact in the repository
+         * @param first What to run when the first byte arrives
+         * @return Bytes transferred over the network
+         * @throws IOException If fails
+         * @throws FileNotFoundException If the repository doesn't have it
+         * @throws ChecksumFailureException If checksum is wrong
+         * @throws TransferCancelledException If cancelled
+         */
+        long fetch(ArtifactDownload download, URL url, Runnable first)
+            throws IOException, ChecksumFailureException,
+            TransferCancelledException;
+    }
+}
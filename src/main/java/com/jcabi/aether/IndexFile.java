@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Append-only file of text records, one per line.
+ *
+ * <p>Records are appended one by one, and read all at once, through
+ * a memory-mapped buffer. Problems with the file are logged and
+ * don't break the caller: an index which fails to persist its records
+ * just doesn't remember them next time.
+ *
+ * <p>Every record is written by one write of a stream open in append
+ * mode, under an exclusive lock of the file, so that records of
+ * different processes sharing the file are never interleaved. The file
+ * can be {@link #rewrite(Collection)}-n, atomically, to compact it; a
+ * record appended by another process to the replaced file is lost,
+ * which only means that it has to be learned again.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class IndexFile {
+
+    /**
+     * Encoding of the file.
+     */
+    private static final String ENCODING = "UTF-8";
+
+    /**
+     * The file.
+     */
+    private final transient File file;
+
+    /**
+     * Ctor.
+     * @param path The file
+     */
+    IndexFile(final File path) {
+        this.file = path;
+    }
+
+    /**
+     * Append a record to the file.
+     * @param line The record, without a line break
+     */
+    public void append(final String line) {
+        synchronized (this.file) {
+            this.file.getParentFile().mkdirs();
+            try {
+                final FileOutputStream stream =
+                    new FileOutputStream(this.file, true);
+                try {
+                    final FileChannel channel = stream.getChannel();
+                    final FileLock lock = channel.lock();
+                    try {
+                        channel.write(
+                            ByteBuffer.wrap(
+                                new StringBuilder(line).append('\n')
+                                    .toString().getBytes(IndexFile.ENCODING)
+                            )
+                        );
+                    } finally {
+                        lock.release();
+                    }
+                } finally {
+                    stream.close();
+                }
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "failed to update %s: %s",
+                    this.file, ex.getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Replace all records of the file, atomically.
+     * @param lines The records, without line breaks
+     */
+    public void rewrite(final Collection<String> lines) {
+        synchronized (this.file) {
+            this.file.getParentFile().mkdirs();
+            final StringBuilder text = new StringBuilder(0);
+            for (final String line : lines) {
+                text.append(line).append('\n');
+            }
+            File temp = null;
+            try {
+                temp = File.createTempFile(
+                    this.file.getName(), ".tmp", this.file.getParentFile()
+                );
+                Files.write(
+                    temp.toPath(), text.toString().getBytes(IndexFile.ENCODING)
+                );
+                Files.move(
+                    temp.toPath(), this.file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "failed to rewrite %s: %s",
+                    this.file, ex.getMessage()
+                );
+                if (temp != null && temp.exists() && !temp.delete()) {
+                    Logger.warn(this, "failed to delete %s", temp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read all records from the file.
+     * @return Records, in the order of appending, empty if no file
+     */
+    public Collection<String> lines() {
+        final Collection<String> lines = new ArrayList<String>(0);
+        synchronized (this.file) {
+            if (this.file.exists()) {
+                try {
+                    final String text = this.text();
+                    int start = 0;
+                    while (start < text.length()) {
+                        int end = text.indexOf('\n', start);
+                        if (end < 0) {
+                            end = text.length();
+                        }
+                        if (end > start) {
+                            lines.add(text.substring(start, end));
+                        }
+                        start = end + 1;
+                    }
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        this, "failed to load %s: %s",
+                        this.file, ex.getMessage()
+                    );
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Delete the file.
+     */
+    public void delete() {
+        synchronized (this.file) {
+            if (this.file.exists() && !this.file.delete()) {
+                Logger.warn(this, "failed to delete %s", this.file);
+            }
+        }
+    }
+
+    /**
+     * Read the entire file.
+     * @return Its content
+     * @throws IOException If fails
+     */
+    private String text() throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(this.file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            final FileLock lock = channel.lock(0L, Long.MAX_VALUE, true);
+            try {
+                final MappedByteBuffer buf = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+                return Charset.forName(IndexFile.ENCODING).decode(buf)
+                    .toString();
+            } finally {
+                lock.release();
+            }
+        } finally {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.LocalArtifactRegistration;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalMetadataRegistration;
+import org.eclipse.aether.repository.LocalMetadataRequest;
+import org.eclipse.aether.repository.LocalMetadataResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Local repository manager, which answers availability questions from
+ * the {@link LocalIndex}.
+ *
+ * <p>When the index knows that the artifact is in the local repository
+ * and came from one of the requested repositories (or was installed
+ * locally), the answer is given without touching the file system.
+ * Otherwise the question goes to the original manager, and its positive
+ * answers are recorded in the index. Everything added to the local
+ * repository is recorded as well. Metadata is not indexed.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "origin", "index" })
+final class IndexedRepositoryManager implements LocalRepositoryManager {
+
+    /**
+     * Original manager.
+     */
+    private final transient LocalRepositoryManager origin;
+
+    /**
+     * The index.
+     */
+    private final transient LocalIndex index;
+
+    /**
+     * Ctor.
+     * @param manager Original manager
+     * @param idx Index of the local repository
+     */
+    IndexedRepositoryManager(final LocalRepositoryManager manager,
+        final LocalIndex idx) {
+        this.origin = manager;
+        this.index = idx;
+    }
+
+    @Override
+    public LocalRepository getRepository() {
+        return this.origin.getRepository();
+    }
+
+    @Override
+    public String getPathForLocalArtifact(final Artifact artifact) {
+        return this.origin.getPathForLocalArtifact(artifact);
+    }
+
+    @Override
+    public String getPathForRemoteArtifact(final Artifact artifact,
+        final RemoteRepository repository, final String context) {
+        return this.origin.getPathForRemoteArtifact(
+            artifact, repository, context
+        );
+    }
+
+    @Override
+    public String getPathForLocalMetadata(final Metadata metadata) {
+        return this.origin.getPathForLocalMetadata(metadata);
+    }
+
+    @Override
+    public String getPathForRemoteMetadata(final Metadata metadata,
+        final RemoteRepository repository, final String context) {
+        return this.origin.getPathForRemoteMetadata(
+            metadata, repository, context
+        );
+    }
+
+    @Override
+    public LocalArtifactResult find(final RepositorySystemSession session,
+        final LocalArtifactRequest request) {
+        final String path = this.getPathForLocalArtifact(
+            request.getArtifact()
+        );
+        final Set<String> known = this.index.repositories(path);
+        LocalArtifactResult result = null;
+        if (known.contains("")) {
+            result = this.found(request, path, null);
+        } else {
+            for (final RemoteRepository repo : request.getRepositories()) {
+                if (known.contains(repo.getId())) {
+                    result = this.found(request, path, repo);
+                    break;
+                }
+            }
+        }
+        Meter.of(session).cached("local-index", result != null);
+        if (result == null) {
+            result = this.origin.find(session, request);
+            if (result.isAvailable()) {
+                this.index.add(path, IndexedRepositoryManager.id(result));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void add(final RepositorySystemSession session,
+        final LocalArtifactRegistration request) {
+        this.origin.add(session, request);
+        String repo = "";
+        if (request.getRepository() != null) {
+            repo = request.getRepository().getId();
+        }
+        this.index.add(
+            this.getPathForLocalArtifact(request.getArtifact()), repo
+        );
+    }
+
+    @Override
+    public LocalMetadataResult find(final RepositorySystemSession session,
+        final LocalMetadataRequest request) {
+        return this.origin.find(session, request);
+    }
+
+    @Override
+    public void add(final RepositorySystemSession session,
+        final LocalMetadataRegistration request) {
+        this.origin.add(session, request);
+    }
+
+    /**
+     * Make a positive result, taken from the index.
+     * @param request The request
+     * @param path Path of the artifact
+     * @param repo Repository it came from, NULL if installed locally
+     * @return The result
+     */
+    private LocalArtifactResult found(final LocalArtifactRequest request,
+        final String path, final RemoteRepository repo) {
+        final LocalArtifactResult result = new LocalArtifactResult(request);
+        result.setFile(new File(this.getRepository().getBasedir(), path));
+        result.setAvailable(true);
+        result.setRepository(repo);
+        return result;
+    }
+
+    /**
+     * ID of the repository the found artifact came from.
+     * @param result The result
+     * @return ID or empty string if it was installed locally
+     */
+    private static String id(final LocalArtifactResult result) {
+        String repo = "";
+        if (result.getRepository() != null) {
+            repo = result.getRepository().getId();
+        }
+        return repo;
+    }
+}
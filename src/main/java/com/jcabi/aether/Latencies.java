@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of recent transfers from one repository.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Latencies {
+
+    /**
+     * Recent latencies, in nanoseconds, as a ring.
+     */
+    private final transient long[] ring;
+
+    /**
+     * Latencies recorded so far.
+     */
+    private transient long total;
+
+    /**
+     * Ctor.
+     * @param size How many recent latencies to keep
+     */
+    Latencies(final int size) {
+        this.ring = new long[size];
+    }
+
+    /**
+     * Record a latency.
+     * @param nanos The latency, in nanoseconds
+     */
+    public synchronized void add(final long nanos) {
+        this.ring[(int) (this.total % this.ring.length)] = nanos;
+        ++this.total;
+    }
+
+    /**
+     * Percentile of recent latencies.
+     * @param pct Percentile, like 95.0
+     * @param min How many latencies have to be known
+     * @param fallback Result when there are not enough of them
+     * @return Latency, in nanoseconds
+     */
+    public synchronized long percentile(final double pct, final int min,
+        final long fallback) {
+        final int size = (int) Math.min(this.total, this.ring.length);
+        long latency = fallback;
+        if (size >= min) {
+            final long[] sorted = Arrays.copyOf(this.ring, size);
+            Arrays.sort(sorted);
+            latency = sorted[
+                Math.min(size - 1, (int) Math.ceil(pct / 100.0d * size) - 1)
+            ];
+        }
+        return latency;
+    }
+}
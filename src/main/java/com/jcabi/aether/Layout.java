@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Default (Maven 2) layout of repositories.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Layout {
+
+    /**
+     * Utility class.
+     */
+    private Layout() {
+        // intentionally empty
+    }
+
+    /**
+     * Path of an artifact in the repository.
+     * @param artifact The artifact
+     * @return Relative path
+     */
+    public static String path(final Artifact artifact) {
+        final StringBuilder path = new StringBuilder(0)
+            .append(artifact.getGroupId().replace('.', '/')).append('/')
+            .append(artifact.getArtifactId()).append('/')
+            .append(artifact.getBaseVersion()).append('/')
+            .append(artifact.getArtifactId()).append('-')
+            .append(artifact.getVersion());
+        if (!artifact.getClassifier().isEmpty()) {
+            path.append('-').append(artifact.getClassifier());
+        }
+        return path.append('.').append(artifact.getExtension()).toString();
+    }
+
+    /**
+     * Normalized URL of a repository, to compare URLs of repositories
+     * with URLs of transfer resources.
+     * @param url The URL
+     * @return The URL without trailing slashes
+     */
+    public static String normal(final String url) {
+        int end = url.length();
+        while (end > 0 && url.charAt(end - 1) == '/') {
+            --end;
+        }
+        return url.substring(0, end);
+    }
+
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.VerboseThreads;
+import java.io.File;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import lombok.ToString;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Iterator of classpath files, which downloads artifacts only when
+ * it reaches them.
+ *
+ * <p>Files of project elements go first, as they are. Then artifacts are
+ * downloaded one by one, when the iterator gets to them, and the next
+ * few of them are downloaded in background, to be ready in time. Files
+ * already returned are skipped. Background downloads of an abandoned
+ * iterator are not cancelled, they finish in the local repository.
+ *
+ * <p>The class is not thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Classpath#lazy(int)
+ */
+@ToString(of = { "artifacts", "ahead" })
+final class LazyFiles implements Iterator<File> {
+
+    /**
+     * Threads of background downloads.
+     */
+    private static final ExecutorService THREADS =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new VerboseThreads("aether-lazy")
+        );
+
+    /**
+     * Aether to download with.
+     */
+    private final transient Aether aether;
+
+    /**
+     * Files of project elements.
+     */
+    private final transient Iterator<File> elements;
+
+    /**
+     * Artifacts, without files.
+     */
+    private final transient List<Artifact> artifacts;
+
+    /**
+     * How many artifacts to download in background.
+     */
+    private final transient int ahead;
+
+    /**
+     * Downloads started, the one of the current artifact first.
+     */
+    private final transient Queue<FutureTask<File>> pending =
+        new LinkedList<FutureTask<File>>();
+
+    /**
+     * Files returned so far.
+     */
+    private final transient Set<File> seen = new HashSet<File>(0);
+
+    /**
+     * How many artifacts are downloading or downloaded.
+     */
+    private transient int started;
+
+    /**
+     * Next file to return, if already known.
+     */
+    private transient File upcoming;
+
+    /**
+     * Ctor.
+     * @param aeth Aether to download with
+     * @param elems Files of project elements
+     * @param arts Artifacts, without files
+     * @param count How many artifacts to download in background
+     */
+    LazyFiles(final Aether aeth, final Collection<File> elems,
+        final List<Artifact> arts, final int count) {
+        this.aether = aeth;
+        this.elements = elems.iterator();
+        this.artifacts = arts;
+        this.ahead = count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.upcoming == null) {
+            this.upcoming = this.advance();
+        }
+        return this.upcoming != null;
+    }
+
+    @Override
+    public File next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("no more files");
+        }
+        final File file = this.upcoming;
+        this.upcoming = null;
+        return file;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("classpath is read-only");
+    }
+
+    /**
+     * Find the next file, which was not returned yet.
+     * @return The file or NULL if there are no more files
+     */
+    private File advance() {
+        File file = null;
+        while (file == null && (this.elements.hasNext()
+            || this.started < this.artifacts.size()
+            || !this.pending.isEmpty())) {
+            final File candidate;
+            if (this.elements.hasNext()) {
+                candidate = this.elements.next();
+            } else {
+                candidate = this.download();
+            }
+            if (this.seen.add(candidate)) {
+                file = candidate;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Download the next artifact and start downloads of the following.
+     * @return File of the next artifact
+     */
+    private File download() {
+        while (this.started < this.artifacts.size()
+            && this.pending.size() <= this.ahead) {
+            final Artifact artifact = this.artifacts.get(this.started);
+            final FutureTask<File> task = new FutureTask<File>(
+                new Callable<File>() {
+                    @Override
+                    public File call() throws Exception {
+                        return LazyFiles.this.aether.file(artifact);
+                    }
+                }
+            );
+            if (!this.pending.isEmpty()) {
+                LazyFiles.THREADS.execute(task);
+            }
+            this.pending.add(task);
+            ++this.started;
+        }
+        final FutureTask<File> current = this.pending.remove();
+        current.run();
+        try {
+            return current.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Connector to a {@code file://} repository, which puts artifacts into
+ * the local repository with {@link LinkedCopy}.
+ *
+ * <p>Artifacts are copied, or hard linked when it's explicitly enabled.
+ * Checksums are verified against {@code .sha1} files of the
+ * repository, according to the checksum policy of the download. Metadata,
+ * existence checks and uploads are done by the original connector.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "repo", "base", "hard" })
+@EqualsAndHashCode(of = { "repo", "base", "hard" })
+final class LinkedConnector implements RepositoryConnector {
+
+    /**
+     * The session.
+     */
+    private final transient RepositorySystemSession session;
+
+    /**
+     * The repository.
+     */
+    private final transient RemoteRepository repo;
+
+    /**
+     * Directory of the repository.
+     */
+    private final transient File base;
+
+    /**
+     * Original connector.
+     */
+    private final transient RepositoryConnector origin;
+
+    /**
+     * Make hard links instead of copies.
+     */
+    private final transient boolean hard;
+
+    /**
+     * Ctor.
+     * @param sess The session
+     * @param remote The repository
+     * @param dir Directory of the repository
+     * @param connector Original connector
+     * @param links Make hard links instead of copies
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    LinkedConnector(final RepositorySystemSession sess,
+        final RemoteRepository remote, final File dir,
+        final RepositoryConnector connector, final boolean links) {
+        this.session = sess;
+        this.repo = remote;
+        this.base = dir;
+        this.origin = connector;
+        this.hard = links;
+    }
+
+    @Override
+    public void get(final Collection< ? extends ArtifactDownload> artifacts,
+        final Collection< ? extends MetadataDownload> metadatas) {
+        final Collection<ArtifactDownload> rest =
+            new ArrayList<ArtifactDownload>(0);
+        if (artifacts != null) {
+            for (final ArtifactDownload download : artifacts) {
+                if (download.isExistenceCheck()) {
+                    rest.add(download);
+                } else {
+                    this.download(download);
+                }
+            }
+        }
+        this.origin.get(rest, metadatas);
+    }
+
+    @Override
+    public void put(final Collection< ? extends ArtifactUpload> artifacts,
+        final Collection< ? extends MetadataUpload> metadatas) {
+        this.origin.put(artifacts, metadatas);
+    }
+
+    @Override
+    public void close() {
+        this.origin.close();
+    }
+
+    /**
+     * Copy one artifact.
+     * @param download The download
+     */
+    private void download(final ArtifactDownload download) {
+        final Artifact artifact = download.getArtifact();
+        final String path = Layout.path(artifact);
+        final File src = new File(this.base, path);
+        final TransferEvent.Builder event = new TransferEvent.Builder(
+            this.session,
+            new TransferResource(
+                this.repo.getUrl(), path, download.getFile(),
+                download.getTrace()
+            )
+        ).setRequestType(TransferEvent.RequestType.GET);
+        try {
+            Transfers.initiated(this.session, event);
+            if (!src.isFile()) {
+                download.setException(
+                    new ArtifactNotFoundException(artifact, this.repo)
+                );
+            } else {
+                Transfers.started(this.session, event);
+                this.verify(src, download.getChecksumPolicy());
+                LinkedCopy.copy(src, download.getFile(), this.hard);
+                Transfers.succeeded(
+                    this.session, event.setTransferredBytes(src.length())
+                );
+            }
+        } catch (final IOException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        } catch (final ChecksumFailureException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        } catch (final TransferCancelledException ex) {
+            download.setException(
+                new ArtifactTransferException(artifact, this.repo, ex)
+            );
+        }
+        if (download.getException() != null) {
+            Transfers.failed(this.session, event, download.getException());
+        }
+    }
+
+    /**
+     * Verify checksum of the source file.
+     * @param src The file
+     * @param policy Checksum policy
+     * @throws IOException If fails
+     * @throws ChecksumFailureException If checksum is wrong
+     */
+    private void verify(final File src, final String policy)
+        throws IOException, ChecksumFailureException {
+        if (!RepositoryPolicy.CHECKSUM_POLICY_IGNORE.equals(policy)) {
+            final File sha = new File(String.format("%s.sha1", src.getPath()));
+            String text = null;
+            if (sha.isFile()) {
+                text = new String(Files.readAllBytes(sha.toPath()), "UTF-8");
+            }
+            Checksums.verify(src, text, policy, src);
+        }
+    }
+}
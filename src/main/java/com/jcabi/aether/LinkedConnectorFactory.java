@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.net.URI;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.connector.file.FileRepositoryConnectorFactory;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.eclipse.aether.util.ConfigUtils;
+
+/**
+ * Factory of {@link LinkedConnector}s.
+ *
+ * <p>Linking is enabled only when the session has {@link #ENABLED} config
+ * property set, and only for {@code file://} repositories. Otherwise, the
+ * factory refuses to connect and other factories are used, as before.
+ * Artifacts are copied, unless {@link #HARD} config property is
+ * {@code true}, which is an explicit opt-in for hard links into a
+ * read-only local repository.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class LinkedConnectorFactory
+    implements RepositoryConnectorFactory, Service {
+
+    /**
+     * Session config property, which enables linking.
+     */
+    public static final String ENABLED = "jcabi.aether.link";
+
+    /**
+     * Session config property, which makes hard links instead of copies.
+     */
+    public static final String HARD = "jcabi.aether.link.hard";
+
+    /**
+     * Factory of connectors for everything but artifact downloads.
+     */
+    private final transient FileRepositoryConnectorFactory origin =
+        new FileRepositoryConnectorFactory();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RepositoryConnector newInstance(
+        final RepositorySystemSession session, final RemoteRepository repo)
+        throws NoRepositoryConnectorException {
+        if (session.getConfigProperties()
+            .get(LinkedConnectorFactory.ENABLED) == null
+            || !"file".equals(repo.getProtocol())) {
+            throw new NoRepositoryConnectorException(repo);
+        }
+        final File dir;
+        try {
+            dir = new File(URI.create(repo.getUrl()));
+        } catch (final IllegalArgumentException ex) {
+            throw new NoRepositoryConnectorException(repo, ex);
+        }
+        return new LinkedConnector(
+            session, repo, dir, this.origin.newInstance(session, repo),
+            ConfigUtils.getBoolean(session, false, LinkedConnectorFactory.HARD)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getPriority() {
+        return this.origin.getPriority() + 1.0f;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Copy of a file without moving its bytes through the JVM.
+ *
+ * <p>Bytes are copied with {@code FileChannel.transferTo()}, which the
+ * kernel may do without copying them into user space. When hard links
+ * are explicitly asked for, and the source and the target are on the same
+ * file system, the target becomes a hard link to the source, which takes
+ * no time and no disk space, but makes them the same file: a change of
+ * one of them in place changes the other. Anyway, the target appears
+ * atomically.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class LinkedCopy {
+
+    /**
+     * Utility class.
+     */
+    private LinkedCopy() {
+        // intentionally empty
+    }
+
+    /**
+     * Copy or link the file.
+     * @param src Source file
+     * @param target Target file
+     * @param hard Make a hard link, if the file system allows
+     * @return TRUE if it was linked, FALSE if copied
+     * @throws IOException If fails
+     */
+    public static boolean copy(final File src, final File target,
+        final boolean hard) throws IOException {
+        final Path dir = target.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(dir);
+        final Path temp = dir.resolve(
+            String.format(
+                "%s.%x%x.tmp", target.getName(),
+                Thread.currentThread().getId(), System.nanoTime()
+            )
+        );
+        try {
+            final boolean linked = hard && LinkedCopy.link(src.toPath(), temp);
+            if (!linked) {
+                LinkedCopy.transfer(src.toPath(), temp);
+            }
+            try {
+                Files.move(
+                    temp, target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(
+                    temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING
+                );
+            }
+            return linked;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Make a hard link, if the file system allows.
+     * @param src Source file
+     * @param link The link to create
+     * @return TRUE if the link was created
+     */
+    private static boolean link(final Path src, final Path link) {
+        boolean done;
+        try {
+            Files.createLink(link, src);
+            done = true;
+        } catch (final UnsupportedOperationException ex) {
+            done = false;
+        } catch (final IOException ex) {
+            done = false;
+        }
+        return done;
+    }
+
+    /**
+     * Copy bytes from channel to channel.
+     * @param src Source file
+     * @param target Target file, absent
+     * @throws IOException If fails
+     */
+    private static void transfer(final Path src, final Path target)
+        throws IOException {
+        final FileChannel input = FileChannel.open(
+            src, StandardOpenOption.READ
+        );
+        try {
+            final FileChannel output = FileChannel.open(
+                target, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE_NEW
+            );
+            try {
+                final long size = input.size();
+                long pos = 0L;
+                while (pos < size) {
+                    pos += input.transferTo(pos, size - pos, output);
+                }
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+    }
+}
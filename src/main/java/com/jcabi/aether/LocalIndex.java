@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Index of artifacts available in a local repository.
+ *
+ * <p>Every artifact downloaded or installed into the local repository is
+ * recorded here, with the ID of the repository it came from (an empty ID
+ * means that it was installed locally). The index is persisted as an
+ * append-only file inside the local repository, which is memory-mapped and
+ * parsed once per JVM. After that, questions like "is this artifact
+ * already here and where is it from?" are answered from memory, without
+ * touching the file system.
+ *
+ * <p>The index trusts its records: if somebody deletes a file from the
+ * local repository behind its back, the index has to be {@link #clear()}-ed,
+ * which is what {@link Aether#reindex()} does.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "file")
+@EqualsAndHashCode(of = "file")
+final class LocalIndex {
+
+    /**
+     * Indexes already open in this JVM, by their files.
+     */
+    private static final ConcurrentMap<File, LocalIndex> ALL =
+        new ConcurrentHashMap<File, LocalIndex>(0);
+
+    /**
+     * Separator between path and repository ID in a record.
+     */
+    private static final char TAB = '\t';
+
+    /**
+     * Index file.
+     */
+    private final transient IndexFile file;
+
+    /**
+     * Repository IDs by relative paths of artifacts.
+     */
+    private final transient ConcurrentMap<String, Set<String>> records;
+
+    /**
+     * Ctor.
+     * @param path Index file
+     */
+    LocalIndex(final File path) {
+        this.file = new IndexFile(path);
+        this.records = new ConcurrentHashMap<String, Set<String>>(0);
+        this.load();
+    }
+
+    /**
+     * Get index of the local repository, opening it if necessary.
+     * @param repo Local repository
+     * @return The index
+     */
+    public static LocalIndex of(final File repo) {
+        final File path = new File(
+            repo.getAbsoluteFile(), ".cache/jcabi-aether/local.idx"
+        );
+        LocalIndex index = LocalIndex.ALL.get(path);
+        if (index == null) {
+            synchronized (LocalIndex.ALL) {
+                index = LocalIndex.ALL.get(path);
+                if (index == null) {
+                    index = new LocalIndex(path);
+                    LocalIndex.ALL.put(path, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Repositories the artifact came from.
+     * @param path Path of the artifact, relative to the local repository
+     * @return IDs of repositories, empty ID for a local installation
+     */
+    public Set<String> repositories(final String path) {
+        Set<String> repos = this.records.get(path);
+        if (repos == null) {
+            repos = Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(repos);
+    }
+
+    /**
+     * Record that the artifact is available.
+     * @param path Path of the artifact, relative to the local repository
+     * @param repo ID of the repository it came from, empty if installed
+     */
+    public void add(final String path, final String repo) {
+        Set<String> repos = this.records.get(path);
+        if (repos == null) {
+            this.records.putIfAbsent(
+                path,
+                Collections.newSetFromMap(
+                    new ConcurrentHashMap<String, Boolean>(1)
+                )
+            );
+            repos = this.records.get(path);
+        }
+        if (repos.add(repo)) {
+            this.file.append(
+                new StringBuilder(path).append(LocalIndex.TAB)
+                    .append(repo).toString()
+            );
+        }
+    }
+
+    /**
+     * Forget everything, in memory and on disc.
+     */
+    public void clear() {
+        this.records.clear();
+        this.file.delete();
+    }
+
+    /**
+     * Load all records from the file.
+     */
+    private void load() {
+        for (final String line : this.file.lines()) {
+            final int tab = line.indexOf(LocalIndex.TAB);
+            if (tab > 0) {
+                final String path = line.substring(0, tab);
+                this.records.putIfAbsent(
+                    path,
+                    Collections.newSetFromMap(
+                        new ConcurrentHashMap<String, Boolean>(1)
+                    )
+                );
+                this.records.get(path).add(line.substring(tab + 1));
+            }
+        }
+        Logger.debug(
+            this, "%d artifacts loaded from %s", this.records.size(), this.file
+        );
+    }
+}
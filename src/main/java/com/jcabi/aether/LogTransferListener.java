@@ -30,6 +30,8 @@
 package com.jcabi.aether;
 
 import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
 import org.eclipse.aether.transfer.TransferEvent;
 
 import com.jcabi.aspects.Immutable;
@@ -41,6 +43,9 @@ import lombok.ToString;
 /**
  * Logger of transfer events.
  *
+ * <p>Downloads and failed transfers are also reported to {@link Metrics}
+ * of the session, if any.
+ *
  * @author Yegor Bugayenko (yegor@tpc2.com)
  * @version $Id$
  * @since 0.1.6
@@ -56,7 +61,13 @@ final class LogTransferListener extends AbstractTransferListener {
     @Override
     @Loggable(Loggable.WARN)
     public void transferFailed(final TransferEvent event) {
-        // nothing to do
+        final Exception error = event.getException();
+        if (!(error instanceof ArtifactNotFoundException
+            || error instanceof MetadataNotFoundException)) {
+            Meter.of(event.getSession()).failed(
+                event.getResource().getRepositoryUrl()
+            );
+        }
     }
 
     /**
@@ -65,7 +76,9 @@ final class LogTransferListener extends AbstractTransferListener {
     @Override
     @Loggable(Loggable.WARN)
     public void transferCorrupted(final TransferEvent event) {
-        // nothing to do
+        Meter.of(event.getSession()).failed(
+            event.getResource().getRepositoryUrl()
+        );
     }
 
     /**
@@ -74,7 +87,12 @@ final class LogTransferListener extends AbstractTransferListener {
     @Override
     @Loggable(Loggable.INFO)
     public void transferSucceeded(final TransferEvent event) {
-        // nothing to do
+        if (event.getRequestType() == TransferEvent.RequestType.GET) {
+            Meter.of(event.getSession()).downloaded(
+                event.getResource().getRepositoryUrl(),
+                event.getTransferredBytes()
+            );
+        }
     }
 
 }
@@ -37,10 +37,15 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import org.apache.maven.artifact.Artifact;
@@ -50,6 +55,9 @@ import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
@@ -184,22 +192,155 @@ public final class MavenClasspath extends AbstractSet<File> {
         return this.fetch().size();
     }
 
+    /**
+     * Stable digest of this classpath.
+     *
+     * <p>The digest is calculated from coordinates of all artifacts in the
+     * dependency graph, project classpath elements, and sizes and
+     * modification times of their files. It is persisted in the local
+     * repository, so next time, when nothing is changed in the project and
+     * in the files, the digest is returned without building the graph.
+     * When the project declares version ranges or snapshots, or they are
+     * found among transitive dependencies, the digest is always calculated
+     * again. The declaration includes dependency management and the parent
+     * of the project.
+     *
+     * @return Hex digest, which changes when the classpath changes
+     * @since 1.0
+     */
+    public String digest() {
+        final AtomicBoolean drifting = new AtomicBoolean();
+        final Callable<Map<String, File>> source =
+            new Callable<Map<String, File>>() {
+                @Override
+                public Map<String, File> call()
+                    throws DependencyGraphBuilderException {
+                    final DependencyNode root = MavenClasspath.this.graph();
+                    drifting.set(MavenClasspath.floating(root));
+                    return MavenClasspath.this.entries(root);
+                }
+            };
+        try {
+            final String digest;
+            if (this.floating()) {
+                digest = Fingerprint.calculate(source.call());
+            } else {
+                digest = new Fingerprint(
+                    new File(this.session.getLocalRepository().getBasedir())
+                ).digest(
+                    this.declaration(), source,
+                    new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() {
+                            return !drifting.get();
+                        }
+                    }
+                );
+            }
+            return digest;
+        // @checkstyle IllegalCatch (1 line)
+        } catch (final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     /**
      * Fetch all files found (JAR, ZIP, directories, etc).
      * @return Set of files
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private Set<File> fetch() {
-        final Set<File> files = new LinkedHashSet<File>(0);
-        for (final String path : this.elements()) {
-            files.add(new File(path));
-        }
+        return new LinkedHashSet<File>(this.entries().values());
+    }
+
+    /**
+     * All entries of the classpath, with their labels.
+     * @return Labels (paths or coordinates) mapped to files
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private Map<String, File> entries() {
         try {
-            files.addAll(this.dependencies(this.graph(), this.scopes));
+            return this.entries(this.graph());
         } catch (final DependencyGraphBuilderException ex) {
             throw new IllegalStateException(ex);
         }
-        return files;
+    }
+
+    /**
+     * All entries of the classpath, with their labels.
+     * @param root Root of the dependency graph
+     * @return Labels (paths or coordinates) mapped to files
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private Map<String, File> entries(final DependencyNode root) {
+        final Map<String, File> entries = new LinkedHashMap<String, File>(0);
+        for (final String path : this.elements()) {
+            entries.put(path, new File(path));
+        }
+        entries.putAll(this.dependencies(root, this.scopes));
+        return entries;
+    }
+
+    /**
+     * Everything declared for this classpath, as a text.
+     *
+     * <p>If the text is the same, the classpath may only change when files
+     * change.
+     *
+     * @return Text with project, scopes, dependencies and elements
+     */
+    private String declaration() {
+        final MavenProject project = this.session.getCurrentProject();
+        final StringBuilder text = new StringBuilder(0)
+            .append(project.getId()).append('\n')
+            .append(new TreeSet<String>(this.scopes)).append('\n')
+            .append(project.getRemoteProjectRepositories()).append('\n')
+            .append(this.elements()).append('\n');
+        if (project.getParentArtifact() != null) {
+            text.append("parent ").append(project.getParentArtifact())
+                .append('\n');
+        }
+        Classpath.declare(text, project.getDependencies());
+        final DependencyManagement mgmt = project.getDependencyManagement();
+        if (mgmt != null) {
+            text.append("managed\n");
+            Classpath.declare(text, mgmt.getDependencies());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Project declares version ranges or snapshots in its dependencies?
+     * @return TRUE if at least one version is a range or a snapshot
+     */
+    private boolean floating() {
+        boolean floating = false;
+        for (final Dependency dep
+            : this.session.getCurrentProject().getDependencies()) {
+            if (Fingerprint.floating(dep.getVersion())) {
+                floating = true;
+                break;
+            }
+        }
+        return floating;
+    }
+
+    /**
+     * Some versions in the graph are ranges or snapshots?
+     * @param node Node of the dependency graph
+     * @return TRUE if the node or any of its children floats
+     */
+    private static boolean floating(final DependencyNode node) {
+        boolean floating = node.getArtifact().isSnapshot()
+            || Fingerprint.floating(node.getVersionConstraint());
+        if (!floating) {
+            for (final DependencyNode child : node.getChildren()) {
+                if (MavenClasspath.floating(child)) {
+                    floating = true;
+                    break;
+                }
+            }
+        }
+        return floating;
     }
 
     /**
@@ -292,24 +433,27 @@ public final class MavenClasspath extends AbstractSet<File> {
      * Retrieve dependencies for from given node and scope.
      * @param node Node to traverse.
      * @param scps Scopes to use.
-     * @return Collection of dependency files.
+     * @return Dependency files, by artifact coordinates.
      */
-    private Collection<File> dependencies(final DependencyNode node,
+    private Map<String, File> dependencies(final DependencyNode node,
         final Collection<String> scps) {
         final Artifact artifact = node.getArtifact();
-        final Collection<File> files = new LinkedList<File>();
+        final Map<String, File> files = new LinkedHashMap<String, File>(0);
         if ((artifact.getScope() == null)
             || scps.contains(artifact.getScope())) {
+            final File file;
             if (artifact.getScope() == null) {
-                files.add(artifact.getFile());
+                file = artifact.getFile();
             } else {
-                files.add(
-                    this.session.getLocalRepository().find(artifact).getFile()
-                );
+                file = this.session.getLocalRepository().find(artifact)
+                    .getFile();
+            }
+            if (file != null) {
+                files.put(artifact.getId(), file);
             }
             for (final DependencyNode child : node.getChildren()) {
                 if (child.getArtifact().compareTo(node.getArtifact()) != 0) {
-                    files.addAll(this.dependencies(child, scps));
+                    files.putAll(this.dependencies(child, scps));
                 }
             }
         }
@@ -60,6 +60,11 @@ final class MavenRootArtifact {
     @NotNull
     private final transient Collection<Exclusion> exclusions;
 
+    /**
+     * Exclusions, compiled for matching.
+     */
+    private final transient Exclusions matcher;
+
     /**
      * This artifact child artifacts.
      */
@@ -77,6 +82,7 @@ final class MavenRootArtifact {
         @NotNull final Collection<Artifact> chld) {
         this.art = artifact;
         this.exclusions = excl;
+        this.matcher = new Exclusions(excl);
         this.chldrn = chld;
     }
 
@@ -124,19 +130,17 @@ final class MavenRootArtifact {
 
     /**
      * Is this one should be excluded?
+     *
+     * <p>Exclusions may have Maven 3 style wildcards in group and
+     * artifact IDs, like {@code *:*} or {@code org.apache.*:*}.
+     *
      * @param artifact The artifact to check
      * @return TRUE if it should be excluded
      */
     public boolean excluded(@NotNull final Artifact artifact) {
-        boolean excluded = false;
-        for (final Exclusion exclusion : this.exclusions) {
-            if (exclusion.getArtifactId().equals(artifact.getArtifactId())
-                && exclusion.getGroupId().equals(artifact.getGroupId())) {
-                excluded = true;
-                break;
-            }
-        }
-        return excluded;
+        return this.matcher.matches(
+            artifact.getGroupId(), artifact.getArtifactId()
+        );
     }
 
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Access to {@link Metrics} of a session.
+ *
+ * <p>Metrics travel with the session, in its data, so that components
+ * of the repository system, which are shared, may report to the metrics
+ * of the {@link Aether} that runs the resolution.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Meter {
+
+    /**
+     * Key of metrics in session data.
+     */
+    private static final String KEY = Metrics.class.getName();
+
+    /**
+     * Metrics of sessions without them.
+     */
+    private static final Metrics SILENT = new Metrics.Silent();
+
+    /**
+     * Utility class.
+     */
+    private Meter() {
+        // intentionally empty
+    }
+
+    /**
+     * Attach metrics to the session.
+     * @param session The session
+     * @param metrics The metrics
+     */
+    public static void attach(final DefaultRepositorySystemSession session,
+        final Metrics metrics) {
+        session.getData().set(Meter.KEY, metrics);
+    }
+
+    /**
+     * Metrics of the session.
+     * @param session The session
+     * @return Metrics, silent if the session has none
+     */
+    public static Metrics of(final RepositorySystemSession session) {
+        Metrics metrics = (Metrics) session.getData().get(Meter.KEY);
+        if (metrics == null) {
+            metrics = Meter.SILENT;
+        }
+        return metrics;
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Receiver of operational events of {@link Aether}.
+ *
+ * <p>Events are reported by the resolution path: start and end of every
+ * resolution, waits for the local repository lock, hits and misses of
+ * caches, downloads and failed transfers per repository. Implementations
+ * must be thread-safe and fast, since they are called from inside of
+ * resolution. They are not required to be immutable: {@link Statistics}
+ * is the one that aggregates events in memory and publishes them through
+ * JMX.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#measured(Metrics)
+ */
+public interface Metrics {
+
+    /**
+     * Resolution started.
+     */
+    void resolving();
+
+    /**
+     * Resolution finished.
+     * @param nanos How long it took, in nanoseconds
+     * @param success TRUE if it succeeded
+     */
+    void resolved(long nanos, boolean success);
+
+    /**
+     * Lock of the local repository acquired.
+     * @param nanos How long it took to get it, in nanoseconds
+     */
+    void waited(long nanos);
+
+    /**
+     * Cache was asked.
+     * @param cache Name of the cache
+     * @param hit TRUE if the answer was found there
+     */
+    void cached(String cache, boolean hit);
+
+    /**
+     * File downloaded.
+     * @param repo URL of the repository
+     * @param bytes How many bytes were transferred
+     */
+    void downloaded(String repo, long bytes);
+
+    /**
+     * Transfer failed, not because the file was absent.
+     * @param repo URL of the repository
+     */
+    void failed(String repo);
+
+    /**
+     * Metrics that ignore all events.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class Silent implements Metrics {
+        @Override
+        public void resolving() {
+            // nothing to do
+        }
+        @Override
+        public void resolved(final long nanos, final boolean success) {
+            // nothing to do
+        }
+        @Override
+        public void waited(final long nanos) {
+            // nothing to do
+        }
+        @Override
+        public void cached(final String cache, final boolean hit) {
+            // nothing to do
+        }
+        @Override
+        public void downloaded(final String repo, final long bytes) {
+            // nothing to do
+        }
+        @Override
+        public void failed(final String repo) {
+            // nothing to do
+        }
+    }
+
+}
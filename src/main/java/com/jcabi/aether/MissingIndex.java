@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Index of artifacts known to be absent in remote repositories.
+ *
+ * <p>Every time a remote repository says that it doesn't have an
+ * artifact, the fact is recorded here, with the ID of the repository and
+ * the time it was learned. The index is persisted as an append-only file
+ * inside the local repository, which is parsed once per JVM, so that
+ * the next resolution (in this or another build) doesn't ask the same
+ * repository again, until the record gets older than the time to live
+ * the caller is ready to accept.
+ *
+ * <p>When an artifact is published and has to be found before its record
+ * expires, the index has to be {@link #clear()}-ed.
+ *
+ * <p>Since the same artifact may be recorded again and again, every time
+ * its record expires, the file is {@link #compact(long)}-ed once per JVM,
+ * when it has more lines than live records: it is rewritten with the
+ * latest record of every artifact younger than the time to live.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "file")
+@EqualsAndHashCode(of = "file")
+final class MissingIndex {
+
+    /**
+     * Indexes already open in this JVM, by their files.
+     */
+    private static final ConcurrentMap<File, MissingIndex> ALL =
+        new ConcurrentHashMap<File, MissingIndex>(0);
+
+    /**
+     * Separator between path, repository ID and time in a record.
+     */
+    private static final char TAB = '\t';
+
+    /**
+     * Index file.
+     */
+    private final transient IndexFile file;
+
+    /**
+     * Times of learning, in milliseconds, by paths and repository IDs.
+     */
+    private final transient ConcurrentMap<String, Long> records;
+
+    /**
+     * How many lines the file has.
+     */
+    private final transient AtomicInteger lines;
+
+    /**
+     * Whether the file is already compacted by this JVM.
+     */
+    private final transient AtomicBoolean compacted;
+
+    /**
+     * Ctor.
+     * @param path Index file
+     */
+    MissingIndex(final File path) {
+        this.file = new IndexFile(path);
+        this.records = new ConcurrentHashMap<String, Long>(0);
+        this.lines = new AtomicInteger();
+        this.compacted = new AtomicBoolean();
+        this.load();
+    }
+
+    /**
+     * Get index of the local repository, opening it if necessary.
+     * @param repo Local repository
+     * @return The index
+     */
+    public static MissingIndex of(final File repo) {
+        final File path = new File(
+            repo.getAbsoluteFile(), ".cache/jcabi-aether/missing.idx"
+        );
+        MissingIndex index = MissingIndex.ALL.get(path);
+        if (index == null) {
+            synchronized (MissingIndex.ALL) {
+                index = MissingIndex.ALL.get(path);
+                if (index == null) {
+                    index = new MissingIndex(path);
+                    MissingIndex.ALL.put(path, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Is the artifact known to be absent in the repository?
+     * @param path Path of the artifact, relative to the repository
+     * @param repo ID of the repository
+     * @param ttl How old the knowledge may be, in milliseconds
+     * @return TRUE if it was absent less than TTL ago
+     */
+    public boolean missing(final String path, final String repo,
+        final long ttl) {
+        final Long time = this.records.get(MissingIndex.key(path, repo));
+        return time != null && System.currentTimeMillis() - time < ttl;
+    }
+
+    /**
+     * Record that the artifact is absent in the repository now.
+     * @param path Path of the artifact, relative to the repository
+     * @param repo ID of the repository
+     */
+    public void add(final String path, final String repo) {
+        final long now = System.currentTimeMillis();
+        synchronized (this.records) {
+            this.records.put(MissingIndex.key(path, repo), now);
+            this.file.append(
+                MissingIndex.line(MissingIndex.key(path, repo), now)
+            );
+            this.lines.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop records older than time to live and repeated records, from
+     * memory and from the file, unless already done by this JVM.
+     * @param ttl How old records may be, in milliseconds
+     */
+    public void compact(final long ttl) {
+        if (this.compacted.compareAndSet(false, true)) {
+            synchronized (this.records) {
+                final long now = System.currentTimeMillis();
+                final Iterator<Map.Entry<String, Long>> entries =
+                    this.records.entrySet().iterator();
+                while (entries.hasNext()) {
+                    if (now - entries.next().getValue() >= ttl) {
+                        entries.remove();
+                    }
+                }
+                if (this.lines.get() > this.records.size()) {
+                    final Collection<String> live =
+                        new ArrayList<String>(this.records.size());
+                    for (final Map.Entry<String, Long> entry
+                        : this.records.entrySet()) {
+                        live.add(
+                            MissingIndex.line(
+                                entry.getKey(), entry.getValue()
+                            )
+                        );
+                    }
+                    this.file.rewrite(live);
+                    Logger.debug(
+                        this, "%s compacted from %d to %d records",
+                        this.file, this.lines.get(), live.size()
+                    );
+                    this.lines.set(live.size());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget everything, in memory and on disc.
+     */
+    public void clear() {
+        synchronized (this.records) {
+            this.records.clear();
+            this.file.delete();
+            this.lines.set(0);
+        }
+    }
+
+    /**
+     * Make a line of the file.
+     * @param key Key of the record
+     * @param time Time of the record
+     * @return The line
+     */
+    private static String line(final String key, final long time) {
+        return new StringBuilder(key).append(MissingIndex.TAB)
+            .append(time).toString();
+    }
+
+    /**
+     * Make a key of a record.
+     * @param path Path of the artifact
+     * @param repo ID of the repository
+     * @return The key
+     */
+    private static String key(final String path, final String repo) {
+        return new StringBuilder(path).append(MissingIndex.TAB)
+            .append(repo).toString();
+    }
+
+    /**
+     * Load all records from the file, the latest of them winning.
+     */
+    private void load() {
+        for (final String line : this.file.lines()) {
+            this.lines.incrementAndGet();
+            final int tab = line.lastIndexOf(MissingIndex.TAB);
+            if (tab > 0) {
+                this.record(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        Logger.debug(
+            this, "%d missing artifacts loaded from %s",
+            this.records.size(), this.file
+        );
+    }
+
+    /**
+     * Load one record.
+     * @param key Key of the record
+     * @param time Time of the record, as a text
+     */
+    private void record(final String key, final String time) {
+        try {
+            final long when = Long.parseLong(time);
+            final Long before = this.records.get(key);
+            if (before == null || before < when) {
+                this.records.put(key, when);
+            }
+        } catch (final NumberFormatException ex) {
+            Logger.warn(this, "broken record in %s: %s", this.file, key);
+        }
+    }
+}
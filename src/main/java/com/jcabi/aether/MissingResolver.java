@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.internal.impl.DefaultArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+
+/**
+ * Resolver of artifacts, which doesn't ask remote repositories for
+ * artifacts they are known not to have, or are not routed to.
+ *
+ * <p>Resolution itself is done by {@link DefaultArtifactResolver}. Before
+ * it, repositories not allowed for the artifact by the {@link Routes} of
+ * the session, or by its {@link Breakers}, are removed from the request.
+ * When the session has {@link #TTL} config property set, repositories
+ * recorded in the {@link MissingIndex} of the local repository as not
+ * having the artifact (less than TTL ago) are removed too, and after
+ * resolution every "not found" answer of a repository is recorded there;
+ * the index is compacted with this TTL, once per JVM.
+ * Repositories left are ordered by the {@link Ranking} of the session,
+ * among repositories equivalent by its {@link Hedging} only.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class MissingResolver implements ArtifactResolver, Service {
+
+    /**
+     * Session config property with time to live of "not found" records,
+     * in milliseconds.
+     */
+    public static final String TTL = "jcabi.aether.missing.ttl";
+
+    /**
+     * Original resolver.
+     */
+    private final transient DefaultArtifactResolver origin =
+        new DefaultArtifactResolver();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtifactResult resolveArtifact(
+        final RepositorySystemSession session, final ArtifactRequest request)
+        throws ArtifactResolutionException {
+        return this.resolveArtifacts(
+            session, Collections.singleton(request)
+        ).get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ArtifactResult> resolveArtifacts(
+        final RepositorySystemSession session,
+        final Collection< ? extends ArtifactRequest> requests)
+        throws ArtifactResolutionException {
+        final Object ttl =
+            session.getConfigProperties().get(MissingResolver.TTL);
+        final Routes routes = Routes.of(session);
+        final Ranking ranking = RankingListener.of(session);
+        final Breakers breakers = BreakerListener.of(session);
+        final List<ArtifactResult> results;
+        if (ttl == null && routes.empty()
+            && ranking instanceof Ranking.Declared
+            && breakers instanceof Breakers.None) {
+            results = this.origin.resolveArtifacts(session, requests);
+        } else {
+            MissingIndex index = null;
+            long age = 0L;
+            if (ttl != null) {
+                index = MissingIndex.of(
+                    session.getLocalRepository().getBasedir()
+                );
+                age = Long.parseLong(ttl.toString());
+                index.compact(age);
+            }
+            final Collection<ArtifactRequest> trimmed =
+                new ArrayList<ArtifactRequest>(requests.size());
+            for (final ArtifactRequest request : requests) {
+                trimmed.add(
+                    MissingResolver.trim(
+                        session,
+                        MissingResolver.ordered(
+                            session, ranking, request.getArtifact(),
+                            MissingResolver.healthy(
+                                breakers,
+                                routes.filter(
+                                    request.getArtifact(),
+                                    request.getRepositories()
+                                )
+                            )
+                        ),
+                        request, index, age
+                    )
+                );
+            }
+            try {
+                results = this.origin.resolveArtifacts(session, trimmed);
+            } catch (final ArtifactResolutionException ex) {
+                MissingResolver.record(index, ex.getResults());
+                throw ex;
+            }
+            MissingResolver.record(index, results);
+        }
+        return results;
+    }
+
+    /**
+     * Repositories allowed by their circuit breakers.
+     * @param breakers Circuit breakers
+     * @param repos Repositories
+     * @return Repositories allowed, in the same order
+     */
+    static List<RemoteRepository> healthy(final Breakers breakers,
+        final List<RemoteRepository> repos) {
+        final List<RemoteRepository> healthy =
+            new ArrayList<RemoteRepository>(repos.size());
+        for (final RemoteRepository repo : repos) {
+            if (breakers.allows(repo.getUrl())) {
+                healthy.add(repo);
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Order equivalent repositories for a release artifact; snapshots keep
+     * the declared order, since repositories may have different snapshots.
+     * @param session The session
+     * @param ranking Ranking of repositories
+     * @param artifact The artifact
+     * @param repos Repositories
+     * @return Ordered repositories
+     */
+    private static List<RemoteRepository> ordered(
+        final RepositorySystemSession session, final Ranking ranking,
+        final Artifact artifact, final List<RemoteRepository> repos) {
+        List<RemoteRepository> ordered = repos;
+        final Hedging hedging = Hedging.of(session);
+        if (!artifact.isSnapshot() && hedging != null) {
+            ordered = hedging.order(ranking, repos);
+        }
+        return ordered;
+    }
+
+    /**
+     * Make a request to repositories routed for the artifact, which are
+     * not known to miss it.
+     * @param session The session
+     * @param routed Repositories routed for the artifact, in order
+     * @param request The request
+     * @param index Index of missing artifacts, NULL if not used
+     * @param ttl Time to live of records, in milliseconds
+     * @return New request
+     */
+    private static ArtifactRequest trim(final RepositorySystemSession session,
+        final List<RemoteRepository> routed, final ArtifactRequest request,
+        final MissingIndex index, final long ttl) {
+        final List<RemoteRepository> repos;
+        if (index == null) {
+            repos = routed;
+        } else {
+            final String path = Layout.path(request.getArtifact());
+            repos = new ArrayList<RemoteRepository>(routed.size());
+            for (final RemoteRepository repo : routed) {
+                final boolean missing =
+                    index.missing(path, repo.getId(), ttl);
+                Meter.of(session).cached("missing", missing);
+                if (!missing) {
+                    repos.add(repo);
+                }
+            }
+        }
+        return new ArtifactRequest(
+            request.getArtifact(), repos, request.getRequestContext()
+        ).setDependencyNode(request.getDependencyNode())
+            .setTrace(request.getTrace());
+    }
+
+    /**
+     * Record all "not found" answers of remote repositories.
+     * @param index Index of missing artifacts, NULL if not used
+     * @param results Results of resolution
+     */
+    private static void record(final MissingIndex index,
+        final Collection<ArtifactResult> results) {
+        if (index != null) {
+            for (final ArtifactResult result : results) {
+                for (final Exception error : result.getExceptions()) {
+                    if (error instanceof ArtifactNotFoundException) {
+                        MissingResolver.record(
+                            index, (ArtifactNotFoundException) error
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Record one "not found" answer of a remote repository.
+     * @param index Index of missing artifacts
+     * @param absent The answer
+     */
+    private static void record(final MissingIndex index,
+        final ArtifactNotFoundException absent) {
+        if (absent.getRepository() != null) {
+            index.add(
+                Layout.path(absent.getArtifact()),
+                absent.getRepository().getId()
+            );
+        }
+    }
+}
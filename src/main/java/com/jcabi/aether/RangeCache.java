@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+/**
+ * Cache of version range resolutions, shared by many {@link Aether}
+ * calls.
+ *
+ * <p>Keys are made of group ID, artifact ID, the range and the set of
+ * repositories the range was resolved against. Only successful
+ * resolutions are put here. Implementations must be thread-safe. They are
+ * not required to be immutable, since they keep resolutions, like
+ * {@link TimedRangeCache} does.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#ranges(RangeCache)
+ * @see TimedRangeCache
+ */
+public interface RangeCache {
+
+    /**
+     * Get a resolution.
+     * @param key The key
+     * @return The resolution or NULL if it's absent or expired
+     */
+    VersionRangeResult get(String key);
+
+    /**
+     * Put a resolution.
+     * @param key The key
+     * @param result The resolution
+     */
+    void put(String key, VersionRangeResult result);
+
+    /**
+     * Cache that keeps nothing.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class None implements RangeCache {
+        @Override
+        public VersionRangeResult get(final String key) {
+            return null;
+        }
+        @Override
+        public void put(final String key, final VersionRangeResult result) {
+            // nothing to do
+        }
+    }
+
+}
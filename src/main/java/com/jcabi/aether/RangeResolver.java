@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.maven.repository.internal.DefaultVersionRangeResolver;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.version.Version;
+
+/**
+ * Resolver of version ranges, which records every resolution in the
+ * {@link Trace} of the session, reads metadata only from repositories
+ * allowed by its {@link Routes} and {@link Breakers} and keeps
+ * resolutions of real ranges in the {@link RangeCache} of the session,
+ * if any.
+ *
+ * <p>Resolution itself is done by {@link DefaultVersionRangeResolver}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class RangeResolver implements VersionRangeResolver, Service {
+
+    /**
+     * Key of the cache in session data.
+     */
+    private static final String KEY = RangeCache.class.getName();
+
+    /**
+     * Original resolver.
+     */
+    private final transient DefaultVersionRangeResolver origin =
+        new DefaultVersionRangeResolver();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VersionRangeResult resolveVersionRange(
+        final RepositorySystemSession session,
+        final VersionRangeRequest request)
+        throws VersionRangeResolutionException {
+        final Object key = new Object();
+        Trace.start(
+            session, key, String.format("range %s", request.getArtifact())
+        );
+        try {
+            return this.resolve(
+                session, RangeResolver.routed(session, request)
+            );
+        } finally {
+            Trace.stop(session, key);
+        }
+    }
+
+    /**
+     * Attach a cache to the session.
+     * @param session The session
+     * @param cache The cache
+     */
+    public static void attach(final DefaultRepositorySystemSession session,
+        final RangeCache cache) {
+        session.getData().set(RangeResolver.KEY, cache);
+    }
+
+    /**
+     * Resolve, through the cache.
+     * @param session The session
+     * @param request The request
+     * @return The result
+     * @throws VersionRangeResolutionException If fails
+     */
+    private VersionRangeResult resolve(final RepositorySystemSession session,
+        final VersionRangeRequest request)
+        throws VersionRangeResolutionException {
+        final RangeCache cache =
+            (RangeCache) session.getData().get(RangeResolver.KEY);
+        final String version = request.getArtifact().getVersion();
+        VersionRangeResult result;
+        if (cache == null || !version.matches("[\\[(].*")) {
+            result = this.origin.resolveVersionRange(session, request);
+        } else {
+            final String key = RangeResolver.key(request);
+            final VersionRangeResult cached = cache.get(key);
+            Meter.of(session).cached("range", cached != null);
+            if (cached == null) {
+                result = this.origin.resolveVersionRange(session, request);
+                if (result.getExceptions().isEmpty()) {
+                    cache.put(key, result);
+                }
+            } else {
+                result = RangeResolver.copy(cached, request);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Request to healthy repositories routed for the artifact only.
+     * @param session The session
+     * @param request The request
+     * @return The same or a new request
+     */
+    private static VersionRangeRequest routed(
+        final RepositorySystemSession session,
+        final VersionRangeRequest request) {
+        final Routes routes = Routes.of(session);
+        final Breakers breakers = BreakerListener.of(session);
+        VersionRangeRequest routed = request;
+        if (!routes.empty() || !(breakers instanceof Breakers.None)) {
+            routed = new VersionRangeRequest(
+                request.getArtifact(),
+                MissingResolver.healthy(
+                    breakers,
+                    routes.filter(
+                        request.getArtifact(), request.getRepositories()
+                    )
+                ),
+                request.getRequestContext()
+            ).setTrace(request.getTrace());
+        }
+        return routed;
+    }
+
+    /**
+     * Make a key of the request.
+     * @param request The request
+     * @return The key
+     */
+    private static String key(final VersionRangeRequest request) {
+        final Artifact artifact = request.getArtifact();
+        final Set<String> repos = new TreeSet<String>();
+        for (final RemoteRepository repo : request.getRepositories()) {
+            repos.add(String.format("%s=%s", repo.getId(), repo.getUrl()));
+        }
+        return String.format(
+            "%s:%s:%s %s", artifact.getGroupId(), artifact.getArtifactId(),
+            artifact.getVersion(), repos
+        );
+    }
+
+    /**
+     * Copy cached result for a new request.
+     * @param cached Cached result
+     * @param request The request
+     * @return New result
+     */
+    private static VersionRangeResult copy(final VersionRangeResult cached,
+        final VersionRangeRequest request) {
+        final VersionRangeResult result = new VersionRangeResult(request);
+        result.setVersionConstraint(cached.getVersionConstraint());
+        for (final Version ver : cached.getVersions()) {
+            result.addVersion(ver);
+            result.setRepository(ver, cached.getRepository(ver));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Order in which remote repositories are asked for an artifact.
+ *
+ * <p>Transfers from repositories are reported here, by their URLs, when
+ * they are over, and every artifact request is ordered here before
+ * repositories are asked. Only equivalent repositories, with the same
+ * content, are ordered together, since the first declared repository
+ * that has an artifact must provide it; see {@link Hedging} for
+ * equivalence. Implementations must be thread-safe. They are not
+ * required to be immutable: {@link AdaptiveRanking} learns from
+ * transfers.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#ranked(Ranking)
+ * @see AdaptiveRanking
+ */
+public interface Ranking {
+
+    /**
+     * Order equivalent repositories.
+     * @param repos Equivalent repositories, in the declared order
+     * @return The same repositories, in the order to ask them
+     */
+    List<RemoteRepository> order(List<RemoteRepository> repos);
+
+    /**
+     * Record a transfer.
+     * @param url URL of the repository
+     * @param nanos How long it took
+     * @param found TRUE if the repository had the resource
+     */
+    void record(String url, long nanos, boolean found);
+
+    /**
+     * Ranking that keeps the declared order, which is deterministic.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class Declared implements Ranking {
+        @Override
+        public List<RemoteRepository> order(
+            final List<RemoteRepository> repos) {
+            return repos;
+        }
+        @Override
+        public void record(final String url, final long nanos,
+            final boolean found) {
+            // nothing to do
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Listener of transfer events, which reports latencies and hits of
+ * repositories to the {@link Ranking} of their session.
+ *
+ * <p>Latency of a successful transfer is the time from its initiation to
+ * its start, which connectors of this package report at the first byte
+ * (or to its end, if it never started), and latency of a failed one is
+ * the time to its failure. Events are passed to the
+ * original listener afterwards.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = "origin")
+@EqualsAndHashCode(of = "origin")
+final class RankingListener implements TransferListener {
+
+    /**
+     * Key of the ranking in session data.
+     */
+    private static final String KEY = Ranking.class.getName();
+
+    /**
+     * Ranking of sessions without it.
+     */
+    private static final Ranking DECLARED = new Ranking.Declared();
+
+    /**
+     * Original transfer listener.
+     */
+    private final transient TransferListener origin;
+
+    /**
+     * When transfers were initiated, in nanoseconds.
+     */
+    private final transient ConcurrentMap<TransferResource, Long> initiated =
+        new ConcurrentHashMap<TransferResource, Long>(0);
+
+    /**
+     * Latencies of transfers already started, in nanoseconds.
+     */
+    private final transient ConcurrentMap<TransferResource, Long> started =
+        new ConcurrentHashMap<TransferResource, Long>(0);
+
+    /**
+     * Ctor.
+     * @param listener Original transfer listener
+     */
+    RankingListener(final TransferListener listener) {
+        this.origin = listener;
+    }
+
+    /**
+     * Attach a ranking to the session.
+     * @param session The session
+     * @param ranking The ranking
+     */
+    public static void attach(final DefaultRepositorySystemSession session,
+        final Ranking ranking) {
+        session.getData().set(RankingListener.KEY, ranking);
+    }
+
+    /**
+     * Ranking of the session.
+     * @param session The session
+     * @return Ranking, declared order if the session has none
+     */
+    public static Ranking of(final RepositorySystemSession session) {
+        Ranking ranking = (Ranking) session.getData().get(RankingListener.KEY);
+        if (ranking == null) {
+            ranking = RankingListener.DECLARED;
+        }
+        return ranking;
+    }
+
+    @Override
+    public void transferInitiated(final TransferEvent event)
+        throws TransferCancelledException {
+        this.initiated.put(event.getResource(), System.nanoTime());
+        this.origin.transferInitiated(event);
+    }
+
+    @Override
+    public void transferStarted(final TransferEvent event)
+        throws TransferCancelledException {
+        final Long start = this.initiated.get(event.getResource());
+        if (start != null) {
+            this.started.put(event.getResource(), System.nanoTime() - start);
+        }
+        this.origin.transferStarted(event);
+    }
+
+    @Override
+    public void transferProgressed(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferProgressed(event);
+    }
+
+    @Override
+    public void transferCorrupted(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferCorrupted(event);
+    }
+
+    @Override
+    public void transferSucceeded(final TransferEvent event) {
+        this.record(event, true);
+        this.origin.transferSucceeded(event);
+    }
+
+    @Override
+    public void transferFailed(final TransferEvent event) {
+        this.record(event, false);
+        this.origin.transferFailed(event);
+    }
+
+    /**
+     * Report the end of a transfer to the ranking.
+     * @param event The event
+     * @param found TRUE if the resource was found
+     */
+    private void record(final TransferEvent event, final boolean found) {
+        final TransferResource res = event.getResource();
+        final Long start = this.initiated.remove(res);
+        Long latency = this.started.remove(res);
+        if (start != null
+            && event.getRequestType() == TransferEvent.RequestType.GET) {
+            if (latency == null || !found) {
+                latency = System.nanoTime() - start;
+            }
+            RankingListener.of(event.getSession()).record(
+                res.getRepositoryUrl(), latency, found
+            );
+        }
+    }
+}
@@ -29,8 +29,6 @@
  */
 package com.jcabi.aether;
 
-import org.apache.maven.repository.internal.DefaultArtifactDescriptorReader;
-import org.apache.maven.repository.internal.DefaultVersionRangeResolver;
 import org.apache.maven.repository.internal.DefaultVersionResolver;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.connector.async.AsyncRepositoryConnectorFactory;
@@ -39,7 +37,9 @@ import org.eclipse.aether.connector.wagon.WagonConfigurator;
 import org.eclipse.aether.connector.wagon.WagonProvider;
 import org.eclipse.aether.connector.wagon.WagonRepositoryConnectorFactory;
 import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.impl.ArtifactResolver;
 import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.impl.SyncContextFactory;
 import org.eclipse.aether.impl.VersionRangeResolver;
 import org.eclipse.aether.impl.VersionResolver;
 import org.eclipse.aether.internal.connector.wagon.PlexusWagonConfigurator;
@@ -68,6 +68,7 @@ final class RepositorySystemBuilder implements RepositorySystemFactory {
      * Build it.
      * @return The repo system.
      */
+    @Override
     @Loggable(Loggable.DEBUG)
     public RepositorySystem build() {
         final DefaultServiceLocator locator = new DefaultServiceLocator();
@@ -75,10 +76,22 @@ final class RepositorySystemBuilder implements RepositorySystemFactory {
             RepositoryConnectorFactory.class,
             FileRepositoryConnectorFactory.class
         );
+        locator.addService(
+            RepositoryConnectorFactory.class,
+            LinkedConnectorFactory.class
+        );
         locator.addService(
             RepositoryConnectorFactory.class,
             AsyncRepositoryConnectorFactory.class
         );
+        locator.addService(
+            RepositoryConnectorFactory.class,
+            ResumableConnectorFactory.class
+        );
+        locator.addService(
+            RepositoryConnectorFactory.class,
+            HedgedConnectorFactory.class
+        );
         locator.addService(
             WagonProvider.class,
             AmazonWagonProvider.class
@@ -101,11 +114,19 @@ final class RepositorySystemBuilder implements RepositorySystemFactory {
         );
         locator.addService(
             VersionRangeResolver.class,
-            DefaultVersionRangeResolver.class
+            RangeResolver.class
         );
         locator.addService(
             ArtifactDescriptorReader.class,
-            DefaultArtifactDescriptorReader.class
+            DescriptorReader.class
+        );
+        locator.setService(
+            ArtifactResolver.class,
+            MissingResolver.class
+        );
+        locator.setService(
+            SyncContextFactory.class,
+            FileSyncContextFactory.class
         );
         final RepositorySystem system =
             locator.getService(RepositorySystem.class);
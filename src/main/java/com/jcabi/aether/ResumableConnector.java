@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.util.ConfigUtils;
+
+/**
+ * Connector to an HTTP repository, which downloads artifacts with
+ * {@link ResumableDownload}.
+ *
+ * <p>Downloaded artifacts are checked against their SHA-1 checksums,
+ * according to the checksum policy of the download, before they are moved
+ * from {@code .part} files to their places. While a {@code .part} file
+ * is written, it is locked with {@link FileLocks}, for other threads and
+ * processes that download the same artifact into the same local
+ * repository. Timeouts of connections are taken from the session, see
+ * {@link Timeouts}. Everything else is done by {@link HttpDownloads}:
+ * a few artifacts are downloaded at the same time, while metadata,
+ * existence checks and uploads are done by the original connector.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "downloads", "attempts" })
+@EqualsAndHashCode(of = { "downloads", "attempts" })
+final class ResumableConnector
+    implements RepositoryConnector, HttpDownloads.Fetch {
+
+    /**
+     * The session.
+     */
+    private final transient RepositorySystemSession session;
+
+    /**
+     * Downloads from the repository.
+     */
+    private final transient HttpDownloads downloads;
+
+    /**
+     * Maximum amount of attempts per artifact.
+     */
+    private final transient int attempts;
+
+    /**
+     * Timeouts of connections to the repository.
+     */
+    private final transient Timeouts timeouts;
+
+    /**
+     * Ctor.
+     * @param sess The session
+     * @param remote The repository
+     * @param connector Original connector
+     * @param max Maximum amount of attempts per artifact
+     */
+    ResumableConnector(final RepositorySystemSession sess,
+        final RemoteRepository remote, final RepositoryConnector connector,
+        final int max) {
+        this.session = sess;
+        this.downloads = new HttpDownloads(sess, remote, connector);
+        this.attempts = max;
+        this.timeouts = Timeouts.of(sess, remote);
+    }
+
+    @Override
+    public void get(final Collection< ? extends ArtifactDownload> artifacts,
+        final Collection< ? extends MetadataDownload> metadatas) {
+        this.downloads.get(artifacts, metadatas, this);
+    }
+
+    @Override
+    public void put(final Collection< ? extends ArtifactUpload> artifacts,
+        final Collection< ? extends MetadataUpload> metadatas) {
+        this.downloads.origin().put(artifacts, metadatas);
+    }
+
+    @Override
+    public void close() {
+        this.downloads.origin().close();
+    }
+
+    @Override
+    public long fetch(final ArtifactDownload download, final URL url,
+        final Runnable first) throws IOException, ChecksumFailureException {
+        final String key = String.format(
+            "%s.part", Layout.path(download.getArtifact())
+        );
+        final FileLocks locks = FileLocks.of(
+            this.session.getLocalRepository().getBasedir()
+        );
+        final ResumableDownload dld = new ResumableDownload(
+            url, download.getFile(), this.attempts, this.timeouts
+        );
+        this.lock(locks, key);
+        try {
+            final long bytes = dld.fetch(first);
+            if (dld.resumed() > 0L) {
+                Logger.info(
+                    this, "#fetch(): %s resumed from %d bytes",
+                    url, dld.resumed()
+                );
+            }
+            HttpDownloads.verify(
+                url, dld.part(), download.getChecksumPolicy(), this.timeouts
+            );
+            HttpDownloads.move(dld.part(), download.getFile());
+            return bytes;
+        } finally {
+            locks.release(key);
+        }
+    }
+
+    /**
+     * Lock the partial file of a download for other threads and processes.
+     *
+     * <p>The lock is waited for no longer than the lock timeout of the
+     * session, if it is set, or its request timeout.
+     *
+     * @param locks Locks of the local repository
+     * @param key Key of the partial file
+     * @throws IOException If fails to lock in time
+     */
+    private void lock(final FileLocks locks, final String key)
+        throws IOException {
+        try {
+            locks.acquire(
+                key, false,
+                ConfigUtils.getLong(
+                    this.session, this.timeouts.request(),
+                    FileSyncContextFactory.TIMEOUT
+                )
+            );
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(ex.getMessage());
+        } catch (final IllegalStateException ex) {
+            throw new IOException(ex);
+        }
+    }
+}
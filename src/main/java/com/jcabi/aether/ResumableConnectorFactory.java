@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.connector.async.AsyncRepositoryConnectorFactory;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.locator.Service;
+import org.eclipse.aether.spi.locator.ServiceLocator;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+
+/**
+ * Factory of {@link ResumableConnector}s.
+ *
+ * <p>Resumable downloads are enabled only when the session has a number
+ * of attempts in {@link #ATTEMPTS} config property, and only for HTTP
+ * repositories without authentication and proxies. Otherwise, the
+ * factory refuses to connect and other factories are used, as before.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class ResumableConnectorFactory
+    implements RepositoryConnectorFactory, Service {
+
+    /**
+     * Session config property with maximum amount of attempts per
+     * artifact.
+     */
+    public static final String ATTEMPTS = "jcabi.aether.resume.attempts";
+
+    /**
+     * Factory of connectors for everything but artifact downloads.
+     */
+    private final transient AsyncRepositoryConnectorFactory origin =
+        new AsyncRepositoryConnectorFactory();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initService(final ServiceLocator locator) {
+        this.origin.initService(locator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RepositoryConnector newInstance(
+        final RepositorySystemSession session, final RemoteRepository repo)
+        throws NoRepositoryConnectorException {
+        final Object attempts = session.getConfigProperties()
+            .get(ResumableConnectorFactory.ATTEMPTS);
+        if (attempts == null
+            || !repo.getProtocol().matches("https?")
+            || repo.getProxy() != null
+            || repo.getAuthentication() != null) {
+            throw new NoRepositoryConnectorException(repo);
+        }
+        return new ResumableConnector(
+            session, repo, this.origin.newInstance(session, repo),
+            Integer.parseInt(attempts.toString())
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getPriority() {
+        return this.origin.getPriority() + 1.0f;
+    }
+}
@@ -0,0 +1,427 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Download of one file over HTTP, which survives broken connections.
+ *
+ * <p>Bytes are written into a {@code .part} file next to the target.
+ * When the connection breaks, the download is started again with an HTTP
+ * {@code Range} request from the end of the {@code .part} file, which is
+ * kept between attempts and even between processes. The {@code ETag} of
+ * the file, or its {@code Last-Modified} date if there is no strong
+ * {@code ETag}, is kept in a {@code .part.tag} file and sent back in an
+ * {@code If-Range} header, so that a server replies with the entire file
+ * when it changed since the {@code .part} file was started. When the server
+ * replies with the entire file, because it changed or because ranges are
+ * not supported, the download starts from zero.
+ *
+ * <p>The class doesn't lock the {@code .part} file, which is shared
+ * between processes; {@link ResumableConnector} does.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "url", "file" })
+final class ResumableDownload {
+
+    /**
+     * Format of {@code Content-Range} header.
+     */
+    private static final Pattern RANGE =
+        Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /**
+     * Source URL.
+     */
+    private final transient URL url;
+
+    /**
+     * Target file.
+     */
+    private final transient File file;
+
+    /**
+     * Maximum amount of attempts.
+     */
+    private final transient int attempts;
+
+    /**
+     * Timeouts of connections.
+     */
+    private final transient Timeouts timeouts;
+
+    /**
+     * Offset, which the last attempt started from.
+     */
+    private final transient AtomicLong offset;
+
+    /**
+     * Ctor.
+     * @param src Where to download from
+     * @param dest Where to save
+     * @param max Maximum amount of attempts
+     */
+    ResumableDownload(final URL src, final File dest, final int max) {
+        this(src, dest, max, Timeouts.DEFAULT);
+    }
+
+    /**
+     * Ctor.
+     * @param src Where to download from
+     * @param dest Where to save
+     * @param max Maximum amount of attempts
+     * @param tmts Timeouts of connections
+     */
+    ResumableDownload(final URL src, final File dest, final int max,
+        final Timeouts tmts) {
+        this.url = src;
+        this.file = dest;
+        this.attempts = max;
+        this.timeouts = tmts;
+        this.offset = new AtomicLong();
+    }
+
+    /**
+     * Partial file of the download.
+     * @return File
+     */
+    public File part() {
+        return new File(String.format("%s.part", this.file.getPath()));
+    }
+
+    /**
+     * File with {@code ETag} or {@code Last-Modified} of the download.
+     * @return File
+     */
+    public File tag() {
+        return new File(String.format("%s.part.tag", this.file.getPath()));
+    }
+
+    /**
+     * Offset, which the download was resumed from by the last attempt.
+     * @return Bytes of the {@code .part} file, which were not downloaded
+     */
+    public long resumed() {
+        return this.offset.get();
+    }
+
+    /**
+     * Download it completely into the {@code .part} file.
+     * @return Bytes transferred over the network
+     * @throws IOException If fails in all attempts
+     * @throws FileNotFoundException If there is no such file
+     */
+    public long fetch() throws IOException {
+        return this.fetch(
+            new Runnable() {
+                @Override
+                public void run() {
+                    // nothing to do
+                }
+            }
+        );
+    }
+
+    /**
+     * Download it completely into the {@code .part} file.
+     * @param first What to run when the first byte arrives
+     * @return Bytes transferred over the network
+     * @throws IOException If fails in all attempts
+     * @throws FileNotFoundException If there is no such file
+     */
+    public long fetch(final Runnable first) throws IOException {
+        final File part = this.part();
+        if (!part.getParentFile().exists() && !part.getParentFile().mkdirs()) {
+            throw new IOException(
+                String.format("failed to create %s", part.getParent())
+            );
+        }
+        final long[] transferred = new long[1];
+        IOException error = null;
+        for (int attempt = 1; attempt <= this.attempts; ++attempt) {
+            try {
+                if (this.attempt(part, transferred, first)) {
+                    ResumableDownload.delete(this.tag());
+                    return transferred[0];
+                }
+            } catch (final FileNotFoundException ex) {
+                throw ex;
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "#fetch(): attempt %d of %d for %s failed at %d: %s",
+                    attempt, this.attempts, this.url, part.length(),
+                    ex.getMessage()
+                );
+                error = ex;
+            }
+        }
+        throw new IOException(
+            String.format(
+                "failed to download %s in %d attempts", this.url, this.attempts
+            ),
+            error
+        );
+    }
+
+    /**
+     * Read a small text resource, like a checksum.
+     * @param src Its URL
+     * @param timeouts Timeouts of the connection
+     * @return Text or NULL if it's absent
+     * @throws IOException If fails
+     */
+    public static String text(final URL src, final Timeouts timeouts)
+        throws IOException {
+        final HttpURLConnection conn = ResumableDownload.open(src, timeouts);
+        try {
+            final String text;
+            if (conn.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                text = null;
+            } else {
+                ResumableDownload.check(conn);
+                final InputStream input = conn.getInputStream();
+                try {
+                    final StringBuilder out = new StringBuilder(0);
+                    // @checkstyle MagicNumber (1 line)
+                    final byte[] buffer = new byte[1 << 10];
+                    while (true) {
+                        final int len = input.read(buffer);
+                        if (len < 0) {
+                            break;
+                        }
+                        out.append(
+                            new String(buffer, 0, len, "UTF-8")
+                        );
+                    }
+                    text = out.toString();
+                } finally {
+                    input.close();
+                }
+            }
+            return text;
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Make one attempt.
+     * @param part Partial file
+     * @param transferred Counter of bytes transferred
+     * @param first What to run when the first byte arrives
+     * @return TRUE if the file is complete
+     * @throws IOException If fails
+     * @checkstyle ExecutableStatementCount (100 lines)
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private boolean attempt(final File part, final long[] transferred,
+        final Runnable first) throws IOException {
+        final long offset = part.length();
+        final File tag = this.tag();
+        final HttpURLConnection conn =
+            ResumableDownload.open(this.url, this.timeouts);
+        try {
+            if (offset > 0L) {
+                conn.setRequestProperty(
+                    "Range", String.format("bytes=%d-", offset)
+                );
+                if (tag.exists()) {
+                    conn.setRequestProperty(
+                        "If-Range",
+                        new String(Files.readAllBytes(tag.toPath()), "UTF-8")
+                    );
+                }
+            }
+            final int code = conn.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+                throw new FileNotFoundException(this.url.toString());
+            }
+            // @checkstyle MagicNumber (1 line)
+            if (code == 416) {
+                ResumableDownload.delete(part);
+                ResumableDownload.delete(tag);
+                return false;
+            }
+            ResumableDownload.check(conn);
+            final long start;
+            final long total;
+            if (code == HttpURLConnection.HTTP_PARTIAL) {
+                final Matcher range = ResumableDownload.RANGE.matcher(
+                    String.valueOf(conn.getHeaderField("Content-Range"))
+                );
+                if (!range.matches()
+                    || Long.parseLong(range.group(1)) != offset) {
+                    ResumableDownload.delete(part);
+                    ResumableDownload.delete(tag);
+                    return false;
+                }
+                start = offset;
+                if ("*".equals(range.group(3))) {
+                    total = -1L;
+                } else {
+                    total = Long.parseLong(range.group(3));
+                }
+            } else {
+                if (offset > 0L) {
+                    Logger.info(
+                        this, "#attempt(): entire %s sent, starting from zero",
+                        this.url
+                    );
+                }
+                start = 0L;
+                total = conn.getContentLengthLong();
+                ResumableDownload.remember(conn, tag);
+            }
+            this.offset.set(start);
+            final InputStream input = conn.getInputStream();
+            final OutputStream output = new FileOutputStream(part, start > 0L);
+            try {
+                // @checkstyle MagicNumber (1 line)
+                final byte[] buffer = new byte[1 << 16];
+                while (true) {
+                    final int len = input.read(buffer);
+                    if (len < 0) {
+                        break;
+                    }
+                    if (transferred[0] == 0L) {
+                        first.run();
+                    }
+                    output.write(buffer, 0, len);
+                    transferred[0] += len;
+                }
+            } finally {
+                output.close();
+                input.close();
+            }
+            if (total >= 0L && part.length() > total) {
+                ResumableDownload.delete(part);
+                throw new IOException(
+                    String.format(
+                        "%s is longer than %d bytes", this.url, total
+                    )
+                );
+            }
+            if (total >= 0L && part.length() < total) {
+                throw new IOException(
+                    String.format(
+                        "connection closed at %d of %d bytes",
+                        part.length(), total
+                    )
+                );
+            }
+            return true;
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Remember {@code ETag} or {@code Last-Modified} of the response.
+     * @param conn Connection
+     * @param tag File to remember them in
+     * @throws IOException If fails
+     */
+    private static void remember(final HttpURLConnection conn,
+        final File tag) throws IOException {
+        String value = conn.getHeaderField("ETag");
+        if (value == null || value.startsWith("W/")) {
+            value = conn.getHeaderField("Last-Modified");
+        }
+        if (value == null) {
+            ResumableDownload.delete(tag);
+        } else {
+            Files.write(tag.toPath(), value.getBytes("UTF-8"));
+        }
+    }
+
+    /**
+     * Open connection.
+     * @param src URL
+     * @param timeouts Timeouts of the connection
+     * @return Connection
+     * @throws IOException If fails
+     */
+    static HttpURLConnection open(final URL src, final Timeouts timeouts)
+        throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection) src.openConnection();
+        timeouts.apply(conn);
+        conn.setInstanceFollowRedirects(true);
+        return conn;
+    }
+
+    /**
+     * Check response code.
+     * @param conn Connection
+     * @throws IOException If the code is not a success
+     */
+    static void check(final HttpURLConnection conn)
+        throws IOException {
+        final int code = conn.getResponseCode();
+        if (code != HttpURLConnection.HTTP_OK
+            && code != HttpURLConnection.HTTP_PARTIAL) {
+            throw new IOException(
+                String.format(
+                    "HTTP %d %s at %s", code, conn.getResponseMessage(),
+                    conn.getURL()
+                )
+            );
+        }
+    }
+
+    /**
+     * Delete a file.
+     * @param path The file
+     * @throws IOException If fails
+     */
+    private static void delete(final File path) throws IOException {
+        if (path.exists() && !path.delete()) {
+            throw new IOException(String.format("failed to delete %s", path));
+        }
+    }
+}
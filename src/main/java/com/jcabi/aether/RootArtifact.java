@@ -30,7 +30,10 @@
 package com.jcabi.aether;
 
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import javax.validation.constraints.NotNull;
 
@@ -41,7 +44,6 @@ import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.eclipse.aether.util.artifact.JavaScopes;
 
-import com.jcabi.aspects.Cacheable;
 import com.jcabi.log.Logger;
 
 import lombok.EqualsAndHashCode;
@@ -56,6 +58,17 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(of = { "aether", "art", "exclusions" })
 final class RootArtifact {
 
+    /**
+     * Scope the children are resolved in.
+     */
+    private static final String SCOPE = JavaScopes.COMPILE;
+
+    /**
+     * Filter of children, the same for all roots.
+     */
+    private static final DependencyFilter FILTER =
+        new RootArtifact.NonOptionalFilter();
+
     /**
      * The aether for finding children.
      */
@@ -74,6 +87,16 @@ final class RootArtifact {
     @NotNull
     private final transient Collection<Exclusion> exclusions;
 
+    /**
+     * Exclusions, compiled for matching.
+     */
+    private final transient Exclusions matcher;
+
+    /**
+     * Scope it is declared in.
+     */
+    private final transient String declared;
+
     /**
      * Ctor.
      * @param aeth Aether for finding children
@@ -83,9 +106,25 @@ final class RootArtifact {
     protected RootArtifact(@NotNull final Aether aeth,
         @NotNull final Artifact artifact,
         @NotNull final Collection<Exclusion> excl) {
+        this(aeth, artifact, excl, JavaScopes.COMPILE);
+    }
+
+    /**
+     * Ctor.
+     * @param aeth Aether for finding children
+     * @param artifact The artifact
+     * @param excl Exclusions
+     * @param scope Scope it is declared in
+     */
+    protected RootArtifact(@NotNull final Aether aeth,
+        @NotNull final Artifact artifact,
+        @NotNull final Collection<Exclusion> excl,
+        @NotNull final String scope) {
         this.aether = aeth;
         this.art = artifact;
         this.exclusions = excl;
+        this.matcher = new Exclusions(excl);
+        this.declared = scope;
     }
 
     /**
@@ -126,32 +165,167 @@ final class RootArtifact {
 
     /**
      * Get all dependencies of this root artifact.
+     *
+     * <p>They are resolved on every call, results are kept between calls
+     * only by {@link RootCache}, with its limit and time to live.
+     *
      * @return The list of artifacts
      * @throws DependencyResolutionException If fails to resolve
      */
-    @Cacheable(forever = true)
     public Collection<Artifact> children()
         throws DependencyResolutionException {
-        return this.aether.resolve(
-            this.art, JavaScopes.COMPILE, new NonOptionalFilter()
+        return this.aether.compact(
+            this.art, RootArtifact.SCOPE, RootArtifact.FILTER
+        );
+    }
+
+    /**
+     * Get all dependencies of this root artifact, without their files.
+     *
+     * <p>They are collected on every call, results are kept between calls
+     * only by {@link RootCache}, with its limit and time to live.
+     *
+     * @return The list of artifacts, with no files
+     * @throws DependencyResolutionException If fails to collect
+     */
+    public Collection<Artifact> coordinates()
+        throws DependencyResolutionException {
+        return this.collected().classpath();
+    }
+
+    /**
+     * Graph of all dependencies of this root artifact, with their scopes,
+     * but without their files.
+     * @return The graph, with no files
+     * @throws DependencyResolutionException If fails to collect
+     */
+    public Graph collected() throws DependencyResolutionException {
+        return this.aether.collect(
+            this.art, RootArtifact.SCOPE, RootArtifact.FILTER
+        );
+    }
+
+    /**
+     * Its dependencies may be different when resolved again?
+     *
+     * <p>Dependencies are collected from their POMs, without JARs, to find
+     * version ranges and snapshots anywhere in the graph, not only in the
+     * root.
+     *
+     * @return TRUE if it or any of its dependencies has a version range
+     *  or a snapshot version
+     * @throws DependencyResolutionException If fails to collect
+     */
+    public boolean floating() throws DependencyResolutionException {
+        return Fingerprint.floating(this.art.getVersion())
+            || this.collected().floating();
+    }
+
+    /**
+     * Graph of all dependencies of this root artifact, with their scopes.
+     *
+     * <p>It is resolved on every call, graphs are kept between calls only
+     * by {@link RootCache}, with its limit and time to live.
+     *
+     * @return The graph
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    public Graph graph() throws DependencyResolutionException {
+        return this.aether.graph(
+            this.art, RootArtifact.SCOPE, RootArtifact.FILTER
         );
     }
 
+    /**
+     * Get dependencies of this root artifact, which belong to the
+     * classpath of the scope.
+     *
+     * <p>Scopes of dependencies are derived from the scope this root is
+     * declared in, as Maven does: everything under a runtime root is in
+     * runtime scope, everything under a test root is in test scope, and so
+     * on. All classpaths are derived from the same {@link #graph()}.
+     *
+     * @param classpath Scope of the classpath ("compile", "runtime", etc.)
+     * @return The list of artifacts
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    public Collection<Artifact> children(final String classpath)
+        throws DependencyResolutionException {
+        return this.children(this.graph(), classpath);
+    }
+
+    /**
+     * Get dependencies of this root artifact from its graph, which belong
+     * to the classpath of the scope.
+     *
+     * <p>The graph is either {@link #graph()}, with files, or
+     * {@link #collected()}, without them.
+     *
+     * @param graph Graph of this root artifact
+     * @param classpath Scope of the classpath ("compile", "runtime", etc.)
+     * @return The list of artifacts
+     */
+    public Collection<Artifact> children(final Graph graph,
+        final String classpath) {
+        final Set<String> scopes = Classpaths.scopes(classpath);
+        final Collection<Artifact> children = new LinkedList<Artifact>();
+        for (int node = Graph.ROOT + 1; node < graph.size(); ++node) {
+            if (graph.winner(node) == node && scopes.contains(
+                RootArtifact.derived(this.declared, graph.scope(node))
+            )) {
+                children.add(graph.artifact(node));
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Key of its resolution.
+     *
+     * <p>Two roots with the same key have the same children, when resolved
+     * by the same {@link Aether}.
+     *
+     * @return Text with coordinates, scope and exclusions
+     */
+    public String key() {
+        final Set<String> excl = new TreeSet<String>();
+        for (final Exclusion exclusion : this.exclusions) {
+            excl.add(
+                String.format(
+                    "%s:%s", exclusion.getGroupId(), exclusion.getArtifactId()
+                )
+            );
+        }
+        return String.format("%s %s %s", this.art, RootArtifact.SCOPE, excl);
+    }
+
     /**
      * Is this one should be excluded?
+     *
+     * <p>Exclusions may have Maven 3 style wildcards in group and
+     * artifact IDs, like {@code *:*} or {@code org.apache.*:*}.
+     *
      * @param artifact The artifact to check
      * @return TRUE if it should be excluded
      */
     public boolean excluded(@NotNull final Artifact artifact) {
-        boolean excluded = false;
-        for (final Exclusion exclusion : this.exclusions) {
-            if (exclusion.getArtifactId().equals(artifact.getArtifactId())
-                && exclusion.getGroupId().equals(artifact.getGroupId())) {
-                excluded = true;
-                break;
-            }
+        return this.matcher.matches(artifact);
+    }
+
+    /**
+     * Scope of a transitive dependency, derived from the scope of the root.
+     * @param root Scope the root is declared in
+     * @param child Scope of the dependency, under a compile root
+     * @return Scope of the dependency, under this root
+     */
+    private static String derived(final String root, final String child) {
+        final String scope;
+        if (JavaScopes.COMPILE.equals(root)) {
+            scope = child;
+        } else {
+            scope = root;
         }
-        return excluded;
+        return scope;
     }
 
     /**
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+
+/**
+ * Resolution results of root artifacts, kept between classpath calculations.
+ *
+ * <p>Children with files, as {@link RootArtifact#children()} gives them,
+ * and without them, as {@link RootArtifact#coordinates()} gives them, are
+ * kept apart. So are graphs, as {@link RootArtifact#graph()} and
+ * {@link RootArtifact#collected()} give them, which are kept only when no
+ * version in them is a range or a snapshot.
+ *
+ * <p>Results are keyed by the {@link Aether} they were resolved with (the
+ * same instance, as given by {@link Aethers}) and by
+ * {@link RootArtifact#key()}, which covers coordinates, exclusions and
+ * scope of the root. When a project changes only some of its dependencies,
+ * only the changed ones are resolved again, all others are taken from
+ * here. Results are kept in a {@link BoundedCache}. Failures are never
+ * kept.
+ *
+ * <p>Results may become stale, when new versions are published. That's
+ * why roots with version ranges or snapshots, and roots with snapshots
+ * among their children, are always resolved again, while all other
+ * results are kept no longer than their time to live.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class RootCache {
+
+    /**
+     * Results.
+     */
+    private final transient BoundedCache<List<Object>, Collection<Artifact>>
+        cache;
+
+    /**
+     * Graphs.
+     */
+    private final transient BoundedCache<List<Object>, Graph> graphs;
+
+    /**
+     * Ctor.
+     * @param size Maximum amount of results to keep
+     * @param time Time to live of every result
+     * @param unit Unit of time
+     */
+    RootCache(final int size, final long time, final TimeUnit unit) {
+        this.cache = new BoundedCache<List<Object>, Collection<Artifact>>(
+            size, time, unit
+        );
+        this.graphs = new BoundedCache<List<Object>, Graph>(size, time, unit);
+    }
+
+    /**
+     * Get children of the root, resolving them only if they are not known.
+     * @param aether Aether the root is resolved with
+     * @param root The root
+     * @return Its children
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    public Collection<Artifact> children(final Aether aether,
+        final RootArtifact root) throws DependencyResolutionException {
+        return this.artifacts(aether, root, true);
+    }
+
+    /**
+     * Get children of the root without their files, collecting them only
+     * if they are not known.
+     * @param aether Aether the root is collected with
+     * @param root The root
+     * @return Its children, with no files
+     * @throws DependencyResolutionException If fails to collect
+     */
+    public Collection<Artifact> coordinates(final Aether aether,
+        final RootArtifact root) throws DependencyResolutionException {
+        return this.artifacts(aether, root, false);
+    }
+
+    /**
+     * Get graph of the root, resolving it only if it's not known.
+     * @param aether Aether the root is resolved with
+     * @param root The root
+     * @param files Download artifacts, or only collect their coordinates
+     * @return Its graph
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    public Graph graph(final Aether aether, final RootArtifact root,
+        final boolean files) throws DependencyResolutionException {
+        if (Fingerprint.floating(root.artifact().getVersion())) {
+            return RootCache.graph(root, files);
+        }
+        final List<Object> key = Arrays.<Object>asList(
+            new Identity(aether), root.key(), files
+        );
+        Graph graph = this.graphs.get(key);
+        if (graph == null) {
+            graph = RootCache.graph(root, files);
+            if (!graph.floating()) {
+                this.graphs.put(key, graph);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Get children of the root, with or without their files.
+     * @param aether Aether the root is resolved with
+     * @param root The root
+     * @param files Download artifacts, or only collect their coordinates
+     * @return Its children
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    private Collection<Artifact> artifacts(final Aether aether,
+        final RootArtifact root, final boolean files)
+        throws DependencyResolutionException {
+        if (Fingerprint.floating(root.artifact().getVersion())) {
+            return RootCache.resolve(root, files);
+        }
+        final List<Object> key = Arrays.<Object>asList(
+            new Identity(aether), root.key(), files
+        );
+        Collection<Artifact> children = this.cache.get(key);
+        if (children == null) {
+            children = RootCache.resolve(root, files);
+            if (!RootCache.snapshots(children)) {
+                this.cache.put(key, children);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Resolve or collect children of the root.
+     * @param root The root
+     * @param files Download artifacts, or only collect their coordinates
+     * @return Its children
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    private static Collection<Artifact> resolve(final RootArtifact root,
+        final boolean files) throws DependencyResolutionException {
+        final Collection<Artifact> children;
+        if (files) {
+            children = root.children();
+        } else {
+            children = root.coordinates();
+        }
+        return children;
+    }
+
+    /**
+     * Resolve or collect graph of the root.
+     * @param root The root
+     * @param files Download artifacts, or only collect their coordinates
+     * @return Its graph
+     * @throws DependencyResolutionException If fails to resolve
+     */
+    private static Graph graph(final RootArtifact root, final boolean files)
+        throws DependencyResolutionException {
+        final Graph graph;
+        if (files) {
+            graph = root.graph();
+        } else {
+            graph = root.collected();
+        }
+        return graph;
+    }
+
+    /**
+     * Are there snapshots among the artifacts?
+     * @param artifacts The artifacts
+     * @return TRUE if at least one of them is a snapshot
+     */
+    private static boolean snapshots(final Collection<Artifact> artifacts) {
+        boolean found = false;
+        for (final Artifact artifact : artifacts) {
+            if (artifact.isSnapshot()) {
+                found = true;
+                break;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Routing table, which tells which remote repositories may have
+ * artifacts of which groups.
+ *
+ * <pre> Aether aether = new Aether(repos, lrepo).routed(
+ *   new Routes()
+ *     .with("com.acme", "acme-s3")
+ *     .with("com.acme.oss", "acme-s3", "central")
+ * );</pre>
+ *
+ * <p>An artifact is looked up only in repositories routed from the
+ * longest group ID prefix it matches (a prefix matches the group with
+ * the same name and all groups inside it, like {@code com.acme} matches
+ * {@code com.acme.tools}). Artifacts of groups without routes are looked
+ * up in all repositories, as usual. Repository IDs are the ones left
+ * after mirror selection.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "prefixes", "repos" })
+public final class Routes {
+
+    /**
+     * Key of the table in session data.
+     */
+    private static final String KEY = Routes.class.getName();
+
+    /**
+     * Group ID prefixes, one per route.
+     */
+    @Immutable.Array
+    private final transient String[] prefixes;
+
+    /**
+     * Repository IDs, one per route.
+     */
+    @Immutable.Array
+    private final transient String[] repos;
+
+    /**
+     * Public ctor, of an empty table.
+     */
+    public Routes() {
+        this(new String[0], new String[0]);
+    }
+
+    /**
+     * Private ctor.
+     * @param prfxs Group ID prefixes
+     * @param rps Repository IDs
+     */
+    private Routes(final String[] prfxs, final String[] rps) {
+        this.prefixes = prfxs;
+        this.repos = rps;
+    }
+
+    /**
+     * Table with one more route.
+     * @param prefix Group ID prefix, like "com.acme"
+     * @param ids IDs of repositories allowed for it
+     * @return New table
+     */
+    public Routes with(@NotNull final String prefix,
+        @NotNull final String... ids) {
+        final int size = this.prefixes.length;
+        final String[] prfxs = Arrays.copyOf(this.prefixes, size + ids.length);
+        final String[] rps = Arrays.copyOf(this.repos, size + ids.length);
+        for (int idx = 0; idx < ids.length; ++idx) {
+            prfxs[size + idx] = prefix;
+            rps[size + idx] = ids[idx];
+        }
+        return new Routes(prfxs, rps);
+    }
+
+    /**
+     * Is the repository allowed for the group?
+     * @param group Group ID
+     * @param repo Repository ID
+     * @return TRUE if the artifacts of the group may be looked up there
+     */
+    public boolean allows(@NotNull final String group,
+        @NotNull final String repo) {
+        int best = -1;
+        boolean allowed = true;
+        for (int idx = 0; idx < this.prefixes.length; ++idx) {
+            final String prefix = this.prefixes[idx];
+            if (prefix.length() < best || !Routes.inside(group, prefix)) {
+                continue;
+            }
+            if (prefix.length() > best) {
+                best = prefix.length();
+                allowed = false;
+            }
+            if (this.repos[idx].equals(repo)) {
+                allowed = true;
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Repositories allowed for the artifact.
+     * @param artifact The artifact
+     * @param all All repositories
+     * @return Repositories, in the same order
+     */
+    public List<RemoteRepository> filter(@NotNull final Artifact artifact,
+        @NotNull final List<RemoteRepository> all) {
+        final List<RemoteRepository> allowed =
+            new ArrayList<RemoteRepository>(all.size());
+        for (final RemoteRepository repo : all) {
+            if (this.allows(artifact.getGroupId(), repo.getId())) {
+                allowed.add(repo);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Get the table of the session.
+     * @param session The session
+     * @return The table, empty if the session doesn't have any
+     */
+    static Routes of(final RepositorySystemSession session) {
+        Routes routes = (Routes) session.getData().get(Routes.KEY);
+        if (routes == null) {
+            routes = new Routes();
+        }
+        return routes;
+    }
+
+    /**
+     * Is it empty?
+     * @return TRUE if there are no routes
+     */
+    boolean empty() {
+        return this.prefixes.length == 0;
+    }
+
+    /**
+     * Attach it to the session.
+     * @param session The session
+     */
+    void attach(final DefaultRepositorySystemSession session) {
+        session.getData().set(Routes.KEY, this);
+    }
+
+    /**
+     * Is the group inside the prefix?
+     * @param group Group ID
+     * @param prefix Prefix
+     * @return TRUE if the group is the prefix or inside it
+     */
+    private static boolean inside(final String group, final String prefix) {
+        return group.startsWith(prefix)
+            && (group.length() == prefix.length()
+            || group.charAt(prefix.length()) == '.');
+    }
+}
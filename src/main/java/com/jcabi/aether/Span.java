@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One timed step of a {@link Trace}, with its sub-steps.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@EqualsAndHashCode(of = { "label", "begin" })
+public final class Span {
+
+    /**
+     * Name of the step.
+     */
+    private final transient String label;
+
+    /**
+     * Name of the thread it started in.
+     */
+    private final transient String thrd;
+
+    /**
+     * Start time, in {@link System#nanoTime()} terms.
+     */
+    private final transient long begin;
+
+    /**
+     * End time, or zero if it is still running.
+     */
+    private transient volatile long end;
+
+    /**
+     * Sub-steps.
+     */
+    private final transient Collection<Span> kids;
+
+    /**
+     * Ctor.
+     * @param name Name of the step
+     * @param start Start time, in {@link System#nanoTime()} terms
+     */
+    Span(final String name, final long start) {
+        this.label = name;
+        this.begin = start;
+        this.thrd = Thread.currentThread().getName();
+        this.kids = new ConcurrentLinkedQueue<Span>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %dms", this.label, this.duration(TimeUnit.MILLISECONDS)
+        );
+    }
+
+    /**
+     * Name of the step.
+     * @return Name
+     */
+    public String name() {
+        return this.label;
+    }
+
+    /**
+     * Name of the thread the step started in.
+     * @return Thread name
+     */
+    public String thread() {
+        return this.thrd;
+    }
+
+    /**
+     * Duration of the step, so far if it is still running.
+     * @param unit Time unit
+     * @return Duration
+     */
+    public long duration(final TimeUnit unit) {
+        long finish = this.end;
+        if (finish == 0L) {
+            finish = System.nanoTime();
+        }
+        return unit.convert(finish - this.begin, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time passed since the start of another step till the start of this
+     * one.
+     * @param other The other step
+     * @param unit Time unit
+     * @return Offset
+     */
+    public long offset(final Span other, final TimeUnit unit) {
+        return unit.convert(this.begin - other.begin, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sub-steps, in order of their start.
+     * @return Steps
+     */
+    public Collection<Span> children() {
+        return Collections.unmodifiableCollection(this.kids);
+    }
+
+    /**
+     * Start a sub-step now.
+     * @param name Its name
+     * @return The sub-step
+     */
+    Span child(final String name) {
+        final Span span = new Span(name, System.nanoTime());
+        this.kids.add(span);
+        return span;
+    }
+
+    /**
+     * Finish the step at a given time, unless it is finished already.
+     * @param time End time, in {@link System#nanoTime()} terms
+     */
+    void close(final long time) {
+        if (this.end == 0L) {
+            this.end = time;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import lombok.ToString;
+
+/**
+ * Metrics, which aggregate events in memory and may be published
+ * through JMX.
+ *
+ * <pre> Statistics stats = new Statistics();
+ * stats.register("builds");
+ * Aether aether = new Aether(repos, lrepo).measured(stats);</pre>
+ *
+ * <p>The class is thread-safe. It is mutable, its instances are equal
+ * only to themselves.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "running", "finished", "failures" })
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Statistics implements Metrics, StatisticsMXBean {
+
+    /**
+     * Resolutions running.
+     */
+    private final transient AtomicLong running = new AtomicLong();
+
+    /**
+     * Resolutions finished.
+     */
+    private final transient AtomicLong finished = new AtomicLong();
+
+    /**
+     * Resolutions failed.
+     */
+    private final transient AtomicLong broken = new AtomicLong();
+
+    /**
+     * Total time of finished resolutions, in nanoseconds.
+     */
+    private final transient AtomicLong spent = new AtomicLong();
+
+    /**
+     * Lock acquisitions.
+     */
+    private final transient AtomicLong waits = new AtomicLong();
+
+    /**
+     * Total wait for locks, in nanoseconds.
+     */
+    private final transient AtomicLong waited = new AtomicLong();
+
+    /**
+     * Longest wait for a lock, in nanoseconds.
+     */
+    private final transient AtomicLong longest = new AtomicLong();
+
+    /**
+     * Cache hits, by cache names.
+     */
+    private final transient ConcurrentMap<String, AtomicLong> hits =
+        new ConcurrentHashMap<String, AtomicLong>(0);
+
+    /**
+     * Cache requests, by cache names.
+     */
+    private final transient ConcurrentMap<String, AtomicLong> asked =
+        new ConcurrentHashMap<String, AtomicLong>(0);
+
+    /**
+     * Bytes downloaded, by repositories.
+     */
+    private final transient ConcurrentMap<String, AtomicLong> bytes =
+        new ConcurrentHashMap<String, AtomicLong>(0);
+
+    /**
+     * Failed transfers, by repositories.
+     */
+    private final transient ConcurrentMap<String, AtomicLong> failures =
+        new ConcurrentHashMap<String, AtomicLong>(0);
+
+    /**
+     * Publish it in the platform MBean server.
+     * @param name Unique name of this instance
+     * @return Name of the MBean
+     */
+    public ObjectName register(final String name) {
+        try {
+            final ObjectName oname = new ObjectName(
+                String.format(
+                    "com.jcabi.aether:type=Statistics,name=%s",
+                    ObjectName.quote(name)
+                )
+            );
+            ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, oname);
+            return oname;
+        } catch (final JMException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void resolving() {
+        this.running.incrementAndGet();
+    }
+
+    @Override
+    public void resolved(final long nanos, final boolean success) {
+        this.running.decrementAndGet();
+        this.finished.incrementAndGet();
+        this.spent.addAndGet(nanos);
+        if (!success) {
+            this.broken.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void waited(final long nanos) {
+        this.waits.incrementAndGet();
+        this.waited.addAndGet(nanos);
+        long max = this.longest.get();
+        while (nanos > max && !this.longest.compareAndSet(max, nanos)) {
+            max = this.longest.get();
+        }
+    }
+
+    @Override
+    public void cached(final String cache, final boolean hit) {
+        final AtomicLong counter = Statistics.counter(this.hits, cache);
+        if (hit) {
+            counter.incrementAndGet();
+        }
+        Statistics.counter(this.asked, cache).incrementAndGet();
+    }
+
+    @Override
+    public void downloaded(final String repo, final long size) {
+        Statistics.counter(this.bytes, repo).addAndGet(size);
+    }
+
+    @Override
+    public void failed(final String repo) {
+        Statistics.counter(this.failures, repo).incrementAndGet();
+    }
+
+    @Override
+    public long getResolvesInFlight() {
+        return this.running.get();
+    }
+
+    @Override
+    public long getResolves() {
+        return this.finished.get();
+    }
+
+    @Override
+    public long getFailedResolves() {
+        return this.broken.get();
+    }
+
+    @Override
+    public double getAverageResolveMillis() {
+        return Statistics.average(this.spent.get(), this.finished.get());
+    }
+
+    @Override
+    public long getLockWaits() {
+        return this.waits.get();
+    }
+
+    @Override
+    public double getAverageLockWaitMillis() {
+        return Statistics.average(this.waited.get(), this.waits.get());
+    }
+
+    @Override
+    public long getMaxLockWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.longest.get());
+    }
+
+    @Override
+    public Map<String, Double> getCacheHitRatios() {
+        final Map<String, Double> ratios = new TreeMap<String, Double>();
+        for (final Map.Entry<String, AtomicLong> ent : this.asked.entrySet()) {
+            final double total = ent.getValue().get();
+            double ratio = 0.0d;
+            if (total > 0.0d) {
+                ratio = this.hits.get(ent.getKey()).get() / total;
+            }
+            ratios.put(ent.getKey(), ratio);
+        }
+        return ratios;
+    }
+
+    @Override
+    public Map<String, Long> getDownloadedBytes() {
+        return Statistics.snapshot(this.bytes);
+    }
+
+    @Override
+    public Map<String, Long> getFailures() {
+        return Statistics.snapshot(this.failures);
+    }
+
+    /**
+     * Get or create a counter.
+     * @param counters All counters
+     * @param name Name of the one we need
+     * @return The counter
+     */
+    private static AtomicLong counter(
+        final ConcurrentMap<String, AtomicLong> counters, final String name) {
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            counters.putIfAbsent(name, new AtomicLong());
+            counter = counters.get(name);
+        }
+        return counter;
+    }
+
+    /**
+     * Copy of counters.
+     * @param counters The counters
+     * @return Their values, sorted by names
+     */
+    private static Map<String, Long> snapshot(
+        final ConcurrentMap<String, AtomicLong> counters) {
+        final Map<String, Long> values = new TreeMap<String, Long>();
+        for (final Map.Entry<String, AtomicLong> ent : counters.entrySet()) {
+            values.put(ent.getKey(), ent.getValue().get());
+        }
+        return values;
+    }
+
+    /**
+     * Average in milliseconds.
+     * @param nanos Total nanoseconds
+     * @param count How many
+     * @return Average milliseconds
+     */
+    private static double average(final long nanos, final long count) {
+        double avg = 0.0d;
+        if (count > 0L) {
+            // @checkstyle MagicNumber (1 line)
+            avg = (double) nanos / count / 1.0e6d;
+        }
+        return avg;
+    }
+
+}
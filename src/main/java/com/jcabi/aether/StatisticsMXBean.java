@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link Statistics}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+public interface StatisticsMXBean {
+
+    /**
+     * Resolutions running now.
+     * @return Amount of them
+     */
+    long getResolvesInFlight();
+
+    /**
+     * Resolutions finished so far.
+     * @return Amount of them
+     */
+    long getResolves();
+
+    /**
+     * Resolutions failed so far.
+     * @return Amount of them
+     */
+    long getFailedResolves();
+
+    /**
+     * Average duration of finished resolutions.
+     * @return Milliseconds
+     */
+    double getAverageResolveMillis();
+
+    /**
+     * Acquisitions of the local repository lock so far.
+     * @return Amount of them
+     */
+    long getLockWaits();
+
+    /**
+     * Average wait for the local repository lock.
+     * @return Milliseconds
+     */
+    double getAverageLockWaitMillis();
+
+    /**
+     * Longest wait for the local repository lock.
+     * @return Milliseconds
+     */
+    long getMaxLockWaitMillis();
+
+    /**
+     * Hit ratios of caches, by their names.
+     * @return Ratios, from zero to one
+     */
+    Map<String, Double> getCacheHitRatios();
+
+    /**
+     * Bytes downloaded, by repository URLs.
+     * @return Bytes
+     */
+    Map<String, Long> getDownloadedBytes();
+
+    /**
+     * Failed transfers, by repository URLs.
+     * @return Amount of them
+     */
+    Map<String, Long> getFailures();
+
+}
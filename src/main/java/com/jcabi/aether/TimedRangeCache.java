@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.TimeUnit;
+import lombok.ToString;
+import org.eclipse.aether.resolution.VersionRangeResult;
+
+/**
+ * Cache of version range resolutions, which keeps them for a limited time.
+ *
+ * <pre> RangeCache ranges = new TimedRangeCache(10L, TimeUnit.MINUTES);
+ * Aether aether = new Aether(repos, lrepo).ranges(ranges);</pre>
+ *
+ * <p>New versions published inside a range become visible after the
+ * time to live of the cached resolution is over. The least recently used
+ * resolutions are dropped when there are too many of them, and any of
+ * them may be dropped when memory is short.
+ *
+ * <p>The class is thread-safe. It is mutable, its instances are equal
+ * only to themselves.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString(of = { "ttl", "max" })
+public final class TimedRangeCache implements RangeCache {
+
+    /**
+     * Default maximum amount of resolutions to keep.
+     */
+    private static final int MAX = 4096;
+
+    /**
+     * Time to live, in nanoseconds.
+     */
+    private final transient long ttl;
+
+    /**
+     * Maximum amount of resolutions to keep.
+     */
+    private final transient int max;
+
+    /**
+     * Resolutions.
+     */
+    private final transient BoundedCache<String, VersionRangeResult> cache;
+
+    /**
+     * Public ctor.
+     * @param time Time to live of every resolution
+     * @param unit Unit of time
+     */
+    public TimedRangeCache(final long time, final TimeUnit unit) {
+        this(time, unit, TimedRangeCache.MAX);
+    }
+
+    /**
+     * Public ctor.
+     * @param time Time to live of every resolution
+     * @param unit Unit of time
+     * @param size Maximum amount of resolutions to keep
+     */
+    public TimedRangeCache(final long time, final TimeUnit unit,
+        final int size) {
+        if (time <= 0L || size <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "TTL and size must be positive: %d, %d", time, size
+                )
+            );
+        }
+        this.ttl = unit.toNanos(time);
+        this.max = size;
+        this.cache = new BoundedCache<String, VersionRangeResult>(
+            size, time, unit
+        );
+    }
+
+    @Override
+    public VersionRangeResult get(final String key) {
+        return this.cache.get(key);
+    }
+
+    @Override
+    public void put(final String key, final VersionRangeResult result) {
+        this.cache.put(key, result);
+    }
+
+    /**
+     * Forget all resolutions, for example after a deployment.
+     */
+    public void clear() {
+        this.cache.clear();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.net.HttpURLConnection;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.ConfigUtils;
+
+/**
+ * Timeouts of HTTP connections to a repository.
+ *
+ * <p>They are taken from the session, as all Aether connectors take them:
+ * {@link ConfigurationProperties#CONNECT_TIMEOUT} and
+ * {@link ConfigurationProperties#REQUEST_TIMEOUT}, optionally suffixed
+ * with an ID of the repository. The request timeout limits the time of
+ * waiting for a response and for every chunk of its body.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode
+final class Timeouts {
+
+    /**
+     * Default timeouts of Aether.
+     */
+    public static final Timeouts DEFAULT = new Timeouts(
+        ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT,
+        ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT
+    );
+
+    /**
+     * Connect timeout, in milliseconds.
+     */
+    private final transient int connect;
+
+    /**
+     * Request timeout, in milliseconds.
+     */
+    private final transient int request;
+
+    /**
+     * Ctor.
+     * @param cnct Connect timeout, in milliseconds
+     * @param rqst Request timeout, in milliseconds
+     */
+    Timeouts(final int cnct, final int rqst) {
+        this.connect = cnct;
+        this.request = rqst;
+    }
+
+    /**
+     * Timeouts of the repository in the session.
+     * @param session The session
+     * @param repo The repository
+     * @return Timeouts
+     */
+    public static Timeouts of(final RepositorySystemSession session,
+        final RemoteRepository repo) {
+        return new Timeouts(
+            ConfigUtils.getInteger(
+                session, ConfigurationProperties.DEFAULT_CONNECT_TIMEOUT,
+                String.format(
+                    "%s.%s", ConfigurationProperties.CONNECT_TIMEOUT,
+                    repo.getId()
+                ),
+                ConfigurationProperties.CONNECT_TIMEOUT
+            ),
+            ConfigUtils.getInteger(
+                session, ConfigurationProperties.DEFAULT_REQUEST_TIMEOUT,
+                String.format(
+                    "%s.%s", ConfigurationProperties.REQUEST_TIMEOUT,
+                    repo.getId()
+                ),
+                ConfigurationProperties.REQUEST_TIMEOUT
+            )
+        );
+    }
+
+    /**
+     * Request timeout.
+     * @return Milliseconds
+     */
+    public int request() {
+        return this.request;
+    }
+
+    /**
+     * Apply them to a connection.
+     * @param conn The connection
+     */
+    public void apply(final HttpURLConnection conn) {
+        conn.setConnectTimeout(this.connect);
+        conn.setReadTimeout(this.request);
+    }
+}
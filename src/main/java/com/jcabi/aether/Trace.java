@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.EqualsAndHashCode;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Tree of timed steps of one resolution.
+ *
+ * <p>The root of the tree is the resolution itself. Its direct children
+ * are phases: building of the repository system and session, collection
+ * of the dependency graph and resolution of artifacts. Inside phases
+ * there are steps made by Aether components: reading of artifact
+ * descriptors (POMs), resolution of version ranges, resolution of
+ * artifacts and transfers. The trace is attached to
+ * the session, where components find it by {@link #start} and
+ * {@link #stop}.
+ *
+ * <p>A trace can be exported as JSON or in Chrome trace event format,
+ * which can be opened in {@code chrome://tracing} or
+ * <a href="https://ui.perfetto.dev">Perfetto</a> as a flame chart.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#traced(Tracer)
+ */
+@EqualsAndHashCode(of = "top")
+public final class Trace {
+
+    /**
+     * Key of the trace in session data.
+     */
+    private static final String KEY = Trace.class.getName();
+
+    /**
+     * Trace that records nothing, for resolutions nobody traces.
+     */
+    static final Trace SILENT = new Trace("silent", 0L, false);
+
+    /**
+     * The root step.
+     */
+    private final transient Span top;
+
+    /**
+     * Current phase, NULL before the first one.
+     */
+    private final transient AtomicReference<Span> phase;
+
+    /**
+     * Steps started but not yet stopped, by their keys.
+     */
+    private final transient ConcurrentMap<Object, Span> open;
+
+    /**
+     * Steps are recorded.
+     */
+    private final transient boolean live;
+
+    /**
+     * Ctor.
+     * @param name Name of the resolution
+     */
+    Trace(final String name) {
+        this(name, 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param name Name of the resolution
+     * @param before Nanoseconds spent before the trace was made
+     */
+    Trace(final String name, final long before) {
+        this(name, before, true);
+    }
+
+    /**
+     * Ctor.
+     * @param name Name of the resolution
+     * @param before Nanoseconds spent before the trace was made
+     * @param record Record steps
+     */
+    private Trace(final String name, final long before,
+        final boolean record) {
+        this.top = new Span(name, System.nanoTime() - before);
+        this.phase = new AtomicReference<Span>();
+        this.open = new ConcurrentHashMap<Object, Span>(0);
+        this.live = record;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return this.top.toString();
+    }
+
+    /**
+     * The root step.
+     * @return Step
+     */
+    public Span root() {
+        return this.top;
+    }
+
+    /**
+     * Export as JSON tree.
+     * @return JSON, with times in microseconds from the start
+     */
+    public String json() {
+        final StringBuilder json = new StringBuilder(0);
+        this.json(json, this.top);
+        return json.toString();
+    }
+
+    /**
+     * Export in Chrome trace event format.
+     * @return JSON with trace events
+     */
+    public String chrome() {
+        final StringBuilder json = new StringBuilder(0)
+            .append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        final Map<String, Integer> threads =
+            new ConcurrentHashMap<String, Integer>(0);
+        this.chrome(json, this.top, threads);
+        for (final Map.Entry<String, Integer> thread : threads.entrySet()) {
+            json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,")
+                .append("\"tid\":").append(thread.getValue())
+                .append(",\"args\":{\"name\":")
+                .append(Trace.quote(thread.getKey())).append("}},");
+        }
+        json.setLength(json.length() - 1);
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Start a new phase, finishing the current one.
+     * @param name Name of the phase
+     */
+    void enter(final String name) {
+        if (this.live) {
+            final long now = System.nanoTime();
+            final Span previous = this.phase.getAndSet(this.top.child(name));
+            if (previous != null) {
+                previous.close(now);
+            }
+        }
+    }
+
+    /**
+     * Finish the trace.
+     * @return This trace
+     */
+    Trace finish() {
+        if (this.live) {
+            final long now = System.nanoTime();
+            for (final Span span : this.open.values()) {
+                span.close(now);
+            }
+            this.open.clear();
+            final Span current = this.phase.get();
+            if (current != null) {
+                current.close(now);
+            }
+            this.top.close(now);
+        }
+        return this;
+    }
+
+    /**
+     * Attach the trace to the session.
+     * @param session The session
+     */
+    void attach(final DefaultRepositorySystemSession session) {
+        if (this.live) {
+            session.getData().set(Trace.KEY, this);
+        }
+    }
+
+    /**
+     * Start a step in the current phase of the session's trace, if any.
+     * @param session The session
+     * @param key Key of the step, to stop it later
+     * @param name Name of the step
+     */
+    static void start(final RepositorySystemSession session,
+        final Object key, final String name) {
+        final Trace trace = Trace.of(session);
+        if (trace != null) {
+            Span parent = trace.phase.get();
+            if (parent == null) {
+                parent = trace.top;
+            }
+            trace.open.put(key, parent.child(name));
+        }
+    }
+
+    /**
+     * Stop a step of the session's trace, if any.
+     * @param session The session
+     * @param key Key of the step
+     */
+    static void stop(final RepositorySystemSession session,
+        final Object key) {
+        final Trace trace = Trace.of(session);
+        if (trace != null) {
+            final Span span = trace.open.remove(key);
+            if (span != null) {
+                span.close(System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Trace of the session.
+     * @param session The session
+     * @return Trace or NULL if the session is not traced
+     */
+    private static Trace of(final RepositorySystemSession session) {
+        return (Trace) session.getData().get(Trace.KEY);
+    }
+
+    /**
+     * Print a step as JSON.
+     * @param json Where to print
+     * @param span The step
+     */
+    private void json(final StringBuilder json, final Span span) {
+        json.append("{\"name\":").append(Trace.quote(span.name()))
+            .append(",\"thread\":").append(Trace.quote(span.thread()))
+            .append(",\"start\":")
+            .append(span.offset(this.top, TimeUnit.MICROSECONDS))
+            .append(",\"duration\":")
+            .append(span.duration(TimeUnit.MICROSECONDS))
+            .append(",\"children\":[");
+        for (final Span child : span.children()) {
+            this.json(json, child);
+            json.append(',');
+        }
+        if (!span.children().isEmpty()) {
+            json.setLength(json.length() - 1);
+        }
+        json.append("]}");
+    }
+
+    /**
+     * Print a step and all its sub-steps as Chrome trace events.
+     * @param json Where to print
+     * @param span The step
+     * @param threads IDs of threads met so far
+     */
+    private void chrome(final StringBuilder json, final Span span,
+        final Map<String, Integer> threads) {
+        if (!threads.containsKey(span.thread())) {
+            threads.put(span.thread(), threads.size() + 1);
+        }
+        json.append("{\"name\":").append(Trace.quote(span.name()))
+            .append(",\"cat\":\"aether\",\"ph\":\"X\",\"pid\":1,\"tid\":")
+            .append(threads.get(span.thread()))
+            .append(",\"ts\":")
+            .append(span.offset(this.top, TimeUnit.MICROSECONDS))
+            .append(",\"dur\":")
+            .append(span.duration(TimeUnit.MICROSECONDS))
+            .append("},");
+        for (final Span child : span.children()) {
+            this.chrome(json, child, threads);
+        }
+    }
+
+    /**
+     * Make a JSON string.
+     * @param text The text
+     * @return Quoted and escaped text
+     */
+    private static String quote(final String text) {
+        final StringBuilder json = new StringBuilder(text.length() + 2)
+            .append('"');
+        for (final char chr : text.toCharArray()) {
+            if (chr == '"' || chr == '\\') {
+                json.append('\\').append(chr);
+            } else if (chr < ' ') {
+                json.append(String.format("\\u%04x", (int) chr));
+            } else {
+                json.append(chr);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * Listener of repository and transfer events, which records them in the
+ * {@link Trace} of their session.
+ *
+ * <p>Transfer events are passed to the original listener afterwards.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode(callSuper = false, of = "origin")
+final class TraceListener extends AbstractRepositoryListener
+    implements TransferListener {
+
+    /**
+     * Original transfer listener.
+     */
+    private final transient TransferListener origin;
+
+    /**
+     * Ctor.
+     * @param listener Original transfer listener
+     */
+    TraceListener(final TransferListener listener) {
+        super();
+        this.origin = listener;
+    }
+
+    @Override
+    public void artifactResolving(final RepositoryEvent event) {
+        Trace.start(
+            event.getSession(), TraceListener.key("resolve", event),
+            String.format("artifact %s", event.getArtifact())
+        );
+    }
+
+    @Override
+    public void artifactResolved(final RepositoryEvent event) {
+        Trace.stop(event.getSession(), TraceListener.key("resolve", event));
+    }
+
+    @Override
+    public void artifactDownloading(final RepositoryEvent event) {
+        Trace.start(
+            event.getSession(), TraceListener.key("download", event),
+            String.format(
+                "download %s from %s",
+                event.getArtifact(), event.getRepository()
+            )
+        );
+    }
+
+    @Override
+    public void artifactDownloaded(final RepositoryEvent event) {
+        Trace.stop(event.getSession(), TraceListener.key("download", event));
+    }
+
+    @Override
+    public void transferInitiated(final TransferEvent event)
+        throws TransferCancelledException {
+        final TransferResource res = event.getResource();
+        Trace.start(
+            event.getSession(), res,
+            String.format(
+                "transfer %s%s", res.getRepositoryUrl(), res.getResourceName()
+            )
+        );
+        this.origin.transferInitiated(event);
+    }
+
+    @Override
+    public void transferStarted(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferStarted(event);
+    }
+
+    @Override
+    public void transferProgressed(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferProgressed(event);
+    }
+
+    @Override
+    public void transferCorrupted(final TransferEvent event)
+        throws TransferCancelledException {
+        this.origin.transferCorrupted(event);
+    }
+
+    @Override
+    public void transferSucceeded(final TransferEvent event) {
+        Trace.stop(event.getSession(), event.getResource());
+        this.origin.transferSucceeded(event);
+    }
+
+    @Override
+    public void transferFailed(final TransferEvent event) {
+        Trace.stop(event.getSession(), event.getResource());
+        this.origin.transferFailed(event);
+    }
+
+    /**
+     * Key of a step.
+     * @param kind Kind of the step
+     * @param event Event
+     * @return Key
+     */
+    private static Object key(final String kind, final RepositoryEvent event) {
+        return Arrays.asList(kind, event.getArtifact(), event.getRepository());
+    }
+}
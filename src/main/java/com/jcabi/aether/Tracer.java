@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.aspects.Immutable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Receiver of traces of all resolutions made by {@link Aether}.
+ *
+ * <p>Implementations must be thread-safe. They are not required to be
+ * immutable, since they may keep traces, like {@link Tracer.Recent} does.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ * @see Aether#traced(Tracer)
+ */
+public interface Tracer {
+
+    /**
+     * Record a trace of a finished resolution.
+     * @param trace The trace
+     */
+    void record(Trace trace);
+
+    /**
+     * Tracer that ignores all traces.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class Silent implements Tracer {
+        @Override
+        public void record(final Trace trace) {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Tracer that keeps a few most recent traces in memory.
+     */
+    @ToString(of = "max")
+    @EqualsAndHashCode(of = "max")
+    final class Recent implements Tracer {
+        /**
+         * Maximum amount of traces to keep.
+         */
+        private final transient int max;
+        /**
+         * Traces, the most recent last.
+         */
+        private final transient LinkedList<Trace> all;
+        /**
+         * Ctor.
+         * @param size Maximum amount of traces to keep
+         */
+        public Recent(final int size) {
+            this.max = size;
+            this.all = new LinkedList<Trace>();
+        }
+        @Override
+        public void record(final Trace trace) {
+            synchronized (this.all) {
+                this.all.addLast(trace);
+                while (this.all.size() > this.max) {
+                    this.all.removeFirst();
+                }
+            }
+        }
+        /**
+         * Recent traces, the most recent last.
+         * @return Traces
+         */
+        public Collection<Trace> traces() {
+            synchronized (this.all) {
+                return Collections.unmodifiableCollection(
+                    new ArrayList<Trace>(this.all)
+                );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * Notifications of the transfer listener of a session, for connectors.
+ *
+ * <p>A transfer is {@link #initiated(RepositorySystemSession,
+ * TransferEvent.Builder)} when it is requested, and
+ * {@link #started(RepositorySystemSession, TransferEvent.Builder)} when its
+ * first byte arrives, which {@link RankingListener} takes as the latency
+ * of the repository.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 1.0
+ */
+final class Transfers {
+
+    /**
+     * Utility class.
+     */
+    private Transfers() {
+        // intentionally empty
+    }
+
+    /**
+     * Notify the listener about a requested transfer.
+     * @param session The session
+     * @param event The event
+     * @throws TransferCancelledException If cancelled
+     */
+    public static void initiated(final RepositorySystemSession session,
+        final TransferEvent.Builder event) throws TransferCancelledException {
+        final TransferListener listener = session.getTransferListener();
+        if (listener != null) {
+            listener.transferInitiated(
+                event.copy().setType(TransferEvent.EventType.INITIATED).build()
+            );
+        }
+    }
+
+    /**
+     * Notify the listener about the first byte of a transfer.
+     * @param session The session
+     * @param event The event
+     * @throws TransferCancelledException If cancelled
+     */
+    public static void started(final RepositorySystemSession session,
+        final TransferEvent.Builder event) throws TransferCancelledException {
+        final TransferListener listener = session.getTransferListener();
+        if (listener != null) {
+            listener.transferStarted(
+                event.copy().setType(TransferEvent.EventType.STARTED).build()
+            );
+        }
+    }
+
+    /**
+     * Notify the listener about a successful transfer.
+     * @param session The session
+     * @param event The event
+     */
+    public static void succeeded(final RepositorySystemSession session,
+        final TransferEvent.Builder event) {
+        final TransferListener listener = session.getTransferListener();
+        if (listener != null) {
+            listener.transferSucceeded(
+                event.copy().setType(TransferEvent.EventType.SUCCEEDED).build()
+            );
+        }
+    }
+
+    /**
+     * Notify the listener about a failed transfer.
+     * @param session The session
+     * @param event The event
+     * @param error The error
+     */
+    public static void failed(final RepositorySystemSession session,
+        final TransferEvent.Builder event, final Exception error) {
+        final TransferListener listener = session.getTransferListener();
+        if (listener != null) {
+            listener.transferFailed(
+                event.copy().setType(TransferEvent.EventType.FAILED)
+                    .setException(error).build()
+            );
+        }
+    }
+
+    /**
+     * Notification about the first byte of a transfer, for downloads that
+     * receive bytes in their own threads.
+     *
+     * <p>It is {@link #run()} by the download at every first byte, and
+     * notifies the listener only once. When the listener cancels the
+     * transfer, the cancellation is thrown by {@link #verify()}, after
+     * the download.
+     */
+    static final class FirstByte implements Runnable {
+        /**
+         * The session.
+         */
+        private final transient RepositorySystemSession session;
+        /**
+         * The event.
+         */
+        private final transient TransferEvent.Builder event;
+        /**
+         * Was the listener notified?
+         */
+        private final transient AtomicBoolean done = new AtomicBoolean();
+        /**
+         * Cancellation, if any.
+         */
+        private volatile transient TransferCancelledException cancel;
+        /**
+         * Ctor.
+         * @param sess The session
+         * @param evt The event
+         */
+        FirstByte(final RepositorySystemSession sess,
+            final TransferEvent.Builder evt) {
+            this.session = sess;
+            this.event = evt;
+        }
+        @Override
+        public void run() {
+            if (this.done.compareAndSet(false, true)) {
+                try {
+                    Transfers.started(this.session, this.event);
+                } catch (final TransferCancelledException ex) {
+                    this.cancel = ex;
+                }
+            }
+        }
+        /**
+         * Throw the cancellation of the listener, if any.
+         * @throws TransferCancelledException If cancelled
+         */
+        public void verify() throws TransferCancelledException {
+            if (this.cancel != null) {
+                throw this.cancel;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link AdaptiveRanking}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class AdaptiveRankingTest {
+
+    /**
+     * AdaptiveRanking can put fast repositories with hits first.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void putsFastRepositoriesWithHitsFirst() throws Exception {
+        final RemoteRepository slow = AdaptiveRankingTest.repo("slow");
+        final RemoteRepository fast = AdaptiveRankingTest.repo("fast");
+        final RemoteRepository empty = AdaptiveRankingTest.repo("empty");
+        final Ranking ranking = new AdaptiveRanking();
+        for (int idx = 0; idx < 10; ++idx) {
+            ranking.record(slow.getUrl(), 900L, true);
+            ranking.record(String.format("%s/", fast.getUrl()), 100L, true);
+            ranking.record(empty.getUrl(), 50L, false);
+        }
+        MatcherAssert.assertThat(
+            ranking.order(Arrays.asList(slow, empty, fast)),
+            Matchers.contains(fast, slow, empty)
+        );
+    }
+
+    /**
+     * AdaptiveRanking can keep the declared order of unknown repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsDeclaredOrderOfUnknownRepositories() throws Exception {
+        final List<RemoteRepository> repos = Arrays.asList(
+            AdaptiveRankingTest.repo("a"), AdaptiveRankingTest.repo("b"),
+            AdaptiveRankingTest.repo("c")
+        );
+        MatcherAssert.assertThat(
+            new AdaptiveRanking().order(repos),
+            Matchers.equalTo(repos)
+        );
+    }
+
+    /**
+     * AdaptiveRanking can reorder only equivalent repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void reordersOnlyEquivalentRepositories() throws Exception {
+        final RemoteRepository slow = AdaptiveRankingTest.repo("slow");
+        final RemoteRepository other = AdaptiveRankingTest.repo("other");
+        final RemoteRepository fast = AdaptiveRankingTest.repo("fast");
+        final Ranking ranking = new AdaptiveRanking();
+        for (int idx = 0; idx < 10; ++idx) {
+            ranking.record(slow.getUrl(), 900L, true);
+            ranking.record(other.getUrl(), 10L, true);
+            ranking.record(fast.getUrl(), 100L, true);
+        }
+        MatcherAssert.assertThat(
+            new Hedging(95.0d).with(fast.getUrl(), slow.getUrl()).order(
+                ranking, Arrays.asList(slow, other, fast)
+            ),
+            Matchers.contains(fast, other, slow)
+        );
+    }
+
+    /**
+     * Create a repository.
+     * @param name Its name
+     * @return The repository
+     */
+    private static RemoteRepository repo(final String name) {
+        return new RemoteRepository.Builder(
+            name, "default", String.format("http://localhost/%s", name)
+        ).build();
+    }
+}
@@ -30,17 +30,24 @@
 package com.jcabi.aether;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Mirror;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -217,6 +224,58 @@ public final class AetherTest {
         );
     }
 
+    /**
+     * Aether can lock the local repository with files, when resolving.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void locksLocalRepositoryWithFiles() throws Exception {
+        final File local = this.temp.newFolder();
+        MatcherAssert.assertThat(
+            new Aether(this.files(), local).locked(1L, TimeUnit.MINUTES)
+                .resolve(
+                    new DefaultArtifact("com.jcabi.test:locked:jar:1.0"),
+                    JavaScopes.RUNTIME
+                ),
+            Matchers.<Artifact>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            new File(local, ".locks").list(),
+            Matchers.hasItemInArray("com.jcabi.test_locked_1.0.lock")
+        );
+    }
+
+    /**
+     * Aether can trace its construction only once.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void tracesConstructionOnce() throws Exception {
+        final Tracer.Recent tracer = new Tracer.Recent(3);
+        final Aether aether = new Aether(this.files(), this.temp.newFolder())
+            .traced(tracer);
+        for (int idx = 0; idx < 2; ++idx) {
+            aether.resolve(
+                new DefaultArtifact("com.jcabi.test:locked:jar:1.0"),
+                JavaScopes.RUNTIME
+            );
+        }
+        final List<String> names = new LinkedList<String>();
+        for (final Trace trace : tracer.traces()) {
+            names.add(trace.root().name());
+            for (final Span phase : trace.root().children()) {
+                names.add(phase.name());
+            }
+        }
+        MatcherAssert.assertThat(
+            Collections.frequency(names, "construction"),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            names.get(0), Matchers.equalTo("construction")
+        );
+    }
+
     /**
      * Aether can recover after failure.
      * @throws Exception If there is some problem inside
@@ -264,6 +323,214 @@ public final class AetherTest {
         );
     }
 
+    /**
+     * Aether can resolve artifacts in background.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void prefetchesArtifactsInBackground() throws Exception {
+        final File local = this.temp.newFolder();
+        final Aether aether = new Aether(this.project(), local);
+        final Collection<Future<List<Artifact>>> futures = aether.prefetch(
+            Arrays.asList(new DefaultArtifact("log4j:log4j:jar:1.2.16")),
+            Arrays.asList(JavaScopes.COMPILE, JavaScopes.RUNTIME)
+        );
+        MatcherAssert.assertThat(futures, Matchers.hasSize(2));
+        for (final Future<List<Artifact>> future : futures) {
+            MatcherAssert.assertThat(
+                future.get(1L, TimeUnit.MINUTES),
+                Matchers.not(Matchers.<Artifact>empty())
+            );
+        }
+        MatcherAssert.assertThat(
+            new File(local, "log4j/log4j/1.2.16/log4j-1.2.16.jar").exists(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Aether can collect a graph of dependencies without their JARs.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void collectsGraphWithoutJars() throws Exception {
+        final File local = this.temp.newFolder();
+        final Graph graph = new Aether(this.project(), local).collect(
+            new DefaultArtifact("commons-validator:commons-validator:1.4.0"),
+            JavaScopes.RUNTIME
+        );
+        MatcherAssert.assertThat(
+            graph.classpath(),
+            Matchers.<Artifact>hasItem(
+                Matchers.<Artifact>hasProperty(
+                    "artifactId", Matchers.equalTo("commons-beanutils")
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            graph.artifact(Graph.ROOT).getFile(),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            new File(
+                local,
+                // @checkstyle LineLength (1 line)
+                "commons-validator/commons-validator/1.4.0/commons-validator-1.4.0.pom"
+            ).exists(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            new File(
+                local,
+                // @checkstyle LineLength (1 line)
+                "commons-beanutils/commons-beanutils/1.8.3/commons-beanutils-1.8.3.jar"
+            ).exists(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Aether can share one resolution between concurrent identical calls.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void coalescesConcurrentIdenticalResolutions() throws Exception {
+        final int threads = 10;
+        final AetherTest.BlockingMetrics metrics =
+            new AetherTest.BlockingMetrics(threads - 1);
+        final Aether aether = new Aether(
+            Arrays.asList(
+                new RemoteRepository.Builder(
+                    "local-files", "default",
+                    this.temp.newFolder().toURI().toString()
+                ).build()
+            ),
+            this.temp.newFolder()
+        ).measured(metrics);
+        final Artifact artifact = new DefaultArtifact(
+            "com.jcabi:jcabi-absent:jar:0.1"
+        );
+        final CountDownLatch start = new CountDownLatch(1);
+        final Callable<Exception> task = new Callable<Exception>() {
+            @Override
+            public Exception call() throws Exception {
+                start.await();
+                Exception error = null;
+                try {
+                    aether.resolve(artifact, JavaScopes.COMPILE);
+                } catch (final DependencyResolutionException ex) {
+                    error = ex;
+                }
+                return error;
+            }
+        };
+        final ExecutorService svc =
+            Executors.newFixedThreadPool(threads, new VerboseThreads());
+        final Collection<Future<Exception>> futures =
+            new LinkedList<Future<Exception>>();
+        for (int thread = 0; thread < threads; ++thread) {
+            futures.add(svc.submit(task));
+        }
+        start.countDown();
+        final Collection<Exception> errors = new LinkedList<Exception>();
+        for (final Future<Exception> future : futures) {
+            errors.add(future.get(1L, TimeUnit.MINUTES));
+        }
+        svc.shutdown();
+        MatcherAssert.assertThat(metrics.resolutions(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            errors,
+            Matchers.everyItem(
+                Matchers.<Exception>sameInstance(errors.iterator().next())
+            )
+        );
+        MatcherAssert.assertThat(
+            errors.iterator().next(), Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * Aether can find equivalents of selected mirrors among mirrors of
+     * Maven settings, for hedging.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void findsEquivalentMirrors() throws Exception {
+        final Settings settings = new Settings();
+        settings.addMirror(
+            AetherTest.mirror("selected", "http://a.example.com/m", "central")
+        );
+        settings.addMirror(
+            AetherTest.mirror("all", "http://b.example.com/m/", "*")
+        );
+        settings.addMirror(
+            AetherTest.mirror("secret", "http://c.example.com/m", "central")
+        );
+        settings.addMirror(
+            AetherTest.mirror("other", "http://d.example.com/m", "other")
+        );
+        final Server server = new Server();
+        server.setId("secret");
+        settings.addServer(server);
+        final RemoteRepository selected = new RemoteRepository.Builder(
+            "selected", "default", "http://a.example.com/m"
+        ).setMirroredRepositories(
+            Arrays.asList(
+                new RemoteRepository.Builder(
+                    "central", "default", "http://repo1.maven.org/maven2/"
+                ).build()
+            )
+        ).build();
+        MatcherAssert.assertThat(
+            Aether.equivalents(
+                new Repository[] {new Repository(selected)}, settings,
+                new Hedging(95.0d)
+            ).alternatives(selected.getUrl()),
+            Matchers.contains("http://b.example.com/m")
+        );
+    }
+
+    /**
+     * Make a mirror.
+     * @param name ID of it
+     * @param url URL of it
+     * @param of Repositories it mirrors
+     * @return Mirror
+     */
+    private static Mirror mirror(final String name, final String url,
+        final String of) {
+        final Mirror mirror = new Mirror();
+        mirror.setId(name);
+        mirror.setUrl(url);
+        mirror.setMirrorOf(of);
+        return mirror;
+    }
+
+    /**
+     * Make a file repository with one artifact, without dependencies.
+     * @return Remote repositories
+     * @throws Exception If there is some problem inside
+     */
+    private Collection<RemoteRepository> files() throws Exception {
+        final File remote = this.temp.newFolder();
+        final File dir = new File(remote, "com/jcabi/test/locked/1.0");
+        dir.mkdirs();
+        Files.write(
+            new File(dir, "locked-1.0.pom").toPath(),
+            new StringBuilder("<project><modelVersion>4.0.0</modelVersion>")
+                .append("<groupId>com.jcabi.test</groupId>")
+                .append("<artifactId>locked</artifactId>")
+                .append("<version>1.0</version></project>")
+                .toString().getBytes("UTF-8")
+        );
+        Files.write(new File(dir, "locked-1.0.jar").toPath(), new byte[0]);
+        return Arrays.asList(
+            new RemoteRepository.Builder(
+                "local-files", "default", remote.toURI().toString()
+            ).build()
+        );
+    }
+
     /**
      * Make mock maven project.
      * @return The project
@@ -313,4 +580,63 @@ public final class AetherTest {
         return project;
     }
 
+    /**
+     * Metrics that hold every resolution until enough callers join it.
+     */
+    private static final class BlockingMetrics implements Metrics {
+        /**
+         * Resolutions started.
+         */
+        private final transient AtomicInteger started = new AtomicInteger();
+        /**
+         * Callers yet to join a resolution in progress.
+         */
+        private final transient CountDownLatch joined;
+        /**
+         * Ctor.
+         * @param callers How many callers have to join
+         */
+        BlockingMetrics(final int callers) {
+            this.joined = new CountDownLatch(callers);
+        }
+        /**
+         * How many resolutions were started.
+         * @return Amount
+         */
+        public int resolutions() {
+            return this.started.get();
+        }
+        @Override
+        public void resolving() {
+            this.started.incrementAndGet();
+            try {
+                this.joined.await(1L, TimeUnit.MINUTES);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+        @Override
+        public void resolved(final long nanos, final boolean success) {
+            // nothing to count
+        }
+        @Override
+        public void waited(final long nanos) {
+            // nothing to count
+        }
+        @Override
+        public void cached(final String cache, final boolean hit) {
+            if (hit && "in-flight".equals(cache)) {
+                this.joined.countDown();
+            }
+        }
+        @Override
+        public void downloaded(final String repo, final long bytes) {
+            // nothing to count
+        }
+        @Override
+        public void failed(final String repo) {
+            // nothing to count
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link Aethers}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class AethersTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * Aethers can return one instance per repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void returnsOneInstancePerRepositories() throws Exception {
+        final File local = this.temp.newFolder();
+        final Aether aether = Aethers.get(AethersTest.repos("central"), local);
+        MatcherAssert.assertThat(
+            Aethers.get(AethersTest.repos("central"), local),
+            Matchers.sameInstance(aether)
+        );
+        MatcherAssert.assertThat(
+            Aethers.get(AethersTest.repos("central"), this.temp.newFolder()),
+            Matchers.not(Matchers.sameInstance(aether))
+        );
+        MatcherAssert.assertThat(
+            Aethers.get(AethersTest.repos("other"), local),
+            Matchers.not(Matchers.sameInstance(aether))
+        );
+    }
+
+    /**
+     * Make a list of repositories.
+     * @param name Name of the only repository
+     * @return Repositories
+     */
+    private static Collection<RemoteRepository> repos(final String name) {
+        return Arrays.asList(
+            new RemoteRepository.Builder(
+                name, "default", "http://repo1.maven.org/maven2/"
+            ).build()
+        );
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Artifacts}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class ArtifactsTest {
+
+    /**
+     * Artifacts can keep artifacts exactly as they were.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsArtifactsUnchanged() throws Exception {
+        final List<Artifact> origin = Arrays.<Artifact>asList(
+            new DefaultArtifact("junit:junit:jar:4.10").setFile(
+                new File("junit-4.10.jar").getAbsoluteFile()
+            ),
+            new DefaultArtifact("org.hamcrest:hamcrest-core:jar:tests:1.1")
+        );
+        final Artifacts artifacts = new Artifacts(origin);
+        MatcherAssert.assertThat(artifacts, Matchers.equalTo(origin));
+        MatcherAssert.assertThat(
+            artifacts.get(0).getFile(),
+            Matchers.equalTo(origin.get(0).getFile())
+        );
+        MatcherAssert.assertThat(
+            artifacts.get(1),
+            Matchers.hasToString("org.hamcrest:hamcrest-core:jar:tests:1.1")
+        );
+    }
+
+    /**
+     * Artifacts can share strings and properties between lists.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void sharesStringsBetweenLists() throws Exception {
+        final String coords = "com.jcabi:jcabi-log:jar:0.1.8";
+        final Artifact first = new Artifacts(
+            Arrays.<Artifact>asList(new DefaultArtifact(coords))
+        ).get(0);
+        final Artifact second = new Artifacts(
+            Arrays.<Artifact>asList(new DefaultArtifact(coords))
+        ).get(0);
+        MatcherAssert.assertThat(
+            first.getGroupId(), Matchers.sameInstance(second.getGroupId())
+        );
+        MatcherAssert.assertThat(
+            first.getProperties(),
+            Matchers.sameInstance(second.getProperties())
+        );
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link BoundedCache}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class BoundedCacheTest {
+
+    /**
+     * BoundedCache can keep values and drop least recently used.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsRecentlyUsedValues() throws Exception {
+        final BoundedCache<String, ArtifactDescriptorResult> cache =
+            new BoundedCache<String, ArtifactDescriptorResult>(2);
+        final ArtifactDescriptorResult result =
+            new ArtifactDescriptorResult(new ArtifactDescriptorRequest());
+        cache.put("junit:junit:pom::4.10", result);
+        cache.put("junit:junit:pom::4.11", result);
+        MatcherAssert.assertThat(
+            cache.get("junit:junit:pom::4.10"),
+            Matchers.sameInstance(result)
+        );
+        cache.put("junit:junit:pom::4.12", result);
+        MatcherAssert.assertThat(
+            cache.get("junit:junit:pom::4.11"),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            cache.get("junit:junit:pom::4.12"),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * BoundedCache can drop values when their time is over.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void dropsExpiredValues() throws Exception {
+        final BoundedCache<String, String> cache =
+            new BoundedCache<String, String>(2, 1L, TimeUnit.MILLISECONDS);
+        cache.put("a", "first");
+        TimeUnit.MILLISECONDS.sleep(10L);
+        MatcherAssert.assertThat(cache.get("a"), Matchers.nullValue());
+        cache.clear();
+        final BoundedCache<String, String> forever =
+            new BoundedCache<String, String>(2);
+        forever.put("b", "second");
+        MatcherAssert.assertThat(forever.get("b"), Matchers.equalTo("second"));
+    }
+
+    /**
+     * BoundedCache can put a value only if it is absent.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void putsAbsentValues() throws Exception {
+        final BoundedCache<String, String> cache =
+            new BoundedCache<String, String>(2);
+        MatcherAssert.assertThat(
+            cache.putIfAbsent("c", "first"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            cache.putIfAbsent("c", "second"), Matchers.equalTo("first")
+        );
+        MatcherAssert.assertThat(cache.get("c"), Matchers.equalTo("first"));
+    }
+
+}
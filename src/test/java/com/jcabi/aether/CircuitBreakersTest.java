@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link CircuitBreakers}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class CircuitBreakersTest {
+
+    /**
+     * URL of a test repository.
+     */
+    private static final String URL = "http://localhost/repo";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * CircuitBreakers can open, half-open and close a breaker.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void opensAndClosesBreaker() throws Exception {
+        final CircuitBreakers breakers =
+            new CircuitBreakers(2, 100L, TimeUnit.MILLISECONDS);
+        breakers.failed(CircuitBreakersTest.URL);
+        MatcherAssert.assertThat(
+            breakers.allows(CircuitBreakersTest.URL), Matchers.is(true)
+        );
+        breakers.failed(String.format("%s/", CircuitBreakersTest.URL));
+        MatcherAssert.assertThat(
+            breakers.state(CircuitBreakersTest.URL),
+            Matchers.equalTo(Breakers.State.OPEN)
+        );
+        MatcherAssert.assertThat(
+            breakers.allows(CircuitBreakersTest.URL), Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            breakers.starts(CircuitBreakersTest.URL), Matchers.is(false)
+        );
+        TimeUnit.MILLISECONDS.sleep(150L);
+        MatcherAssert.assertThat(
+            breakers.allows(CircuitBreakersTest.URL), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            breakers.allows(CircuitBreakersTest.URL), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            breakers.starts(CircuitBreakersTest.URL), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            breakers.starts(CircuitBreakersTest.URL), Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            breakers.allows(CircuitBreakersTest.URL), Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            breakers.states(),
+            Matchers.hasEntry(
+                CircuitBreakersTest.URL, Breakers.State.HALF_OPEN
+            )
+        );
+        breakers.succeeded(CircuitBreakersTest.URL);
+        MatcherAssert.assertThat(
+            breakers.state(CircuitBreakersTest.URL),
+            Matchers.equalTo(Breakers.State.CLOSED)
+        );
+    }
+
+    /**
+     * CircuitBreakers can make Aether skip a repository which fails.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void skipsFailingRepository() throws Exception {
+        final CircuitBreakersTest.Repo repo = new CircuitBreakersTest.Repo();
+        final HttpServer server =
+            HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", repo);
+        server.start();
+        try {
+            final String url = String.format(
+                "http://localhost:%d/", server.getAddress().getPort()
+            );
+            final CircuitBreakers breakers =
+                new CircuitBreakers(2, 1L, TimeUnit.SECONDS);
+            final Aether aether = new Aether(
+                Arrays.asList(
+                    new RemoteRepository.Builder("stand-in", "default", url)
+                        .build()
+                ),
+                this.temp.newFolder()
+            ).guarded(breakers);
+            MatcherAssert.assertThat(
+                aether.resolve(
+                    CircuitBreakersTest.art("first"), JavaScopes.COMPILE
+                ),
+                Matchers.not(Matchers.<Artifact>empty())
+            );
+            repo.failing.set(true);
+            for (int attempt = 0; attempt < 5
+                && breakers.state(url) != Breakers.State.OPEN; ++attempt) {
+                CircuitBreakersTest.fails(aether, "second");
+            }
+            MatcherAssert.assertThat(
+                breakers.state(url), Matchers.equalTo(Breakers.State.OPEN)
+            );
+            final int before = repo.requests.get();
+            CircuitBreakersTest.fails(aether, "third");
+            MatcherAssert.assertThat(
+                repo.requests.get(), Matchers.equalTo(before)
+            );
+            TimeUnit.MILLISECONDS.sleep(1100L);
+            repo.failing.set(false);
+            MatcherAssert.assertThat(
+                aether.resolve(
+                    CircuitBreakersTest.art("third"), JavaScopes.COMPILE
+                ),
+                Matchers.not(Matchers.<Artifact>empty())
+            );
+            MatcherAssert.assertThat(
+                breakers.state(url), Matchers.equalTo(Breakers.State.CLOSED)
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Make an artifact of the stand-in repository.
+     * @param name Artifact ID
+     * @return The artifact
+     */
+    private static Artifact art(final String name) {
+        return new DefaultArtifact(
+            String.format("com.jcabi.test:%s:jar:1.0", name)
+        );
+    }
+
+    /**
+     * Resolve and expect a failure.
+     * @param aether Aether
+     * @param name Artifact ID
+     */
+    private static void fails(final Aether aether, final String name) {
+        try {
+            aether.resolve(CircuitBreakersTest.art(name), JavaScopes.COMPILE);
+            throw new AssertionError("resolution should fail");
+        } catch (final DependencyResolutionException ex) {
+            MatcherAssert.assertThat(ex, Matchers.notNullValue());
+        }
+    }
+
+    /**
+     * Stand-in repository, with artifacts of any name.
+     */
+    private static final class Repo implements HttpHandler {
+        /**
+         * Answer with errors.
+         */
+        private final transient AtomicBoolean failing = new AtomicBoolean();
+        /**
+         * Requests received.
+         */
+        private final transient AtomicInteger requests = new AtomicInteger();
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            this.requests.incrementAndGet();
+            final String path = exchange.getRequestURI().getPath();
+            final String[] parts = path.split("/");
+            byte[] body = new byte[0];
+            int code = HttpURLConnection.HTTP_NOT_FOUND;
+            if (this.failing.get()) {
+                code = HttpURLConnection.HTTP_UNAVAILABLE;
+            } else if (path.endsWith(".pom")) {
+                body = String.format(
+                    // @checkstyle LineLength (1 line)
+                    "<project><modelVersion>4.0.0</modelVersion><groupId>com.jcabi.test</groupId><artifactId>%s</artifactId><version>1.0</version></project>",
+                    parts[parts.length - 3]
+                ).getBytes("UTF-8");
+                code = HttpURLConnection.HTTP_OK;
+            } else if (path.endsWith(".jar")) {
+                body = "jar".getBytes("UTF-8");
+                code = HttpURLConnection.HTTP_OK;
+            }
+            if (body.length == 0) {
+                exchange.sendResponseHeaders(code, -1L);
+            } else {
+                exchange.sendResponseHeaders(code, body.length);
+                final OutputStream out = exchange.getResponseBody();
+                try {
+                    out.write(body);
+                } finally {
+                    out.close();
+                }
+            }
+            exchange.close();
+        }
+    }
+}
@@ -31,6 +31,7 @@ package com.jcabi.aether;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.maven.model.Dependency;
@@ -145,6 +146,40 @@ public final class ClasspathTest {
         );
     }
 
+    /**
+     * Classpath can download artifacts only when its iterator needs them.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void downloadsArtifactsLazily() throws Exception {
+        final File local = this.temp.newFolder();
+        final Iterator<File> files = new Classpath(
+            this.project(
+                this.dependency(
+                    ClasspathTest.GROUP, ClasspathTest.GROUP, "4.10"
+                )
+            ), local, JavaScopes.TEST
+        ).lazy(0).iterator();
+        MatcherAssert.assertThat(
+            files.next(),
+            Matchers.hasToString(Matchers.endsWith("directory"))
+        );
+        MatcherAssert.assertThat(
+            files.next(),
+            Matchers.hasToString(Matchers.endsWith("junit-4.10.jar"))
+        );
+        final File hamcrest = new File(
+            local, "org/hamcrest/hamcrest-core/1.1/hamcrest-core-1.1.jar"
+        );
+        MatcherAssert.assertThat(hamcrest.exists(), Matchers.is(false));
+        MatcherAssert.assertThat(
+            files.next(),
+            Matchers.hasToString(Matchers.endsWith("hamcrest-core-1.1.jar"))
+        );
+        MatcherAssert.assertThat(hamcrest.exists(), Matchers.is(true));
+        MatcherAssert.assertThat(files.hasNext(), Matchers.is(false));
+    }
+
     /**
      * Classpath can build a classpath without optional dependencies.
      * @throws Exception If there is some problem inside
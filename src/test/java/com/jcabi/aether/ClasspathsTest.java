@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.artifact.JavaScopes;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Classpaths}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+@SuppressWarnings("unchecked")
+public final class ClasspathsTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * Classpaths can derive classpaths of all scopes.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void derivesClasspathsOfScopes() throws Exception {
+        final Classpaths classpaths = new Classpaths(
+            this.project(
+                ClasspathsTest.dependency(
+                    "commons-validator:commons-validator:1.4.0",
+                    JavaScopes.COMPILE
+                ),
+                ClasspathsTest.dependency("junit:junit:4.10", JavaScopes.TEST)
+            ),
+            this.temp.newFolder()
+        );
+        MatcherAssert.assertThat(
+            classpaths.get(JavaScopes.COMPILE),
+            Matchers.allOf(
+                Matchers.<File>hasItems(
+                    Matchers.hasToString(
+                        Matchers.endsWith("commons-validator-1.4.0.jar")
+                    ),
+                    Matchers.hasToString(
+                        Matchers.endsWith("commons-beanutils-1.8.3.jar")
+                    )
+                ),
+                Matchers.not(
+                    Matchers.<File>hasItem(
+                        Matchers.hasToString(
+                            Matchers.endsWith("junit-4.10.jar")
+                        )
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            classpaths.get(JavaScopes.TEST),
+            Matchers.<File>hasItems(
+                Matchers.hasToString(
+                    Matchers.endsWith("commons-beanutils-1.8.3.jar")
+                ),
+                Matchers.hasToString(Matchers.endsWith("junit-4.10.jar")),
+                Matchers.hasToString(
+                    Matchers.endsWith("hamcrest-core-1.1.jar")
+                )
+            )
+        );
+    }
+
+    /**
+     * Classpaths can reject unknown scopes.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownScope() throws Exception {
+        new Classpaths(this.project(), this.temp.newFolder()).get("import");
+    }
+
+    /**
+     * Create test dependency.
+     * @param coords Coordinates, like "junit:junit:4.10"
+     * @param scope Scope of it
+     * @return Created dependency.
+     */
+    private static Dependency dependency(final String coords,
+        final String scope) {
+        final String[] parts = coords.split(":");
+        final Dependency dep = new Dependency();
+        dep.setGroupId(parts[0]);
+        dep.setArtifactId(parts[1]);
+        dep.setVersion(parts[2]);
+        dep.setScope(scope);
+        return dep;
+    }
+
+    /**
+     * Creates project with these dependencies.
+     * @param deps Dependencies to add to the project
+     * @return Maven project mocked
+     * @throws Exception If there is some problem inside
+     */
+    private MavenProject project(final Dependency... deps) throws Exception {
+        final MavenProject project = Mockito.mock(MavenProject.class);
+        Mockito.doReturn(Arrays.asList(deps)).when(project).getDependencies();
+        final List<RemoteRepository> repos = Arrays.asList(
+            new RemoteRepository.Builder(
+                "maven-central",
+                "default",
+                "http://repo1.maven.org/maven2/"
+            ).build()
+        );
+        Mockito.doReturn(repos).when(project).getRemoteProjectRepositories();
+        return project;
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Collections;
+import org.apache.maven.repository.internal.DefaultArtifactDescriptorReader;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Test case for {@link DescriptorReader}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class DescriptorReaderTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * DescriptorReader can take descriptors from the cache in another
+     * session.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void readsDescriptorOnceForAllSessions() throws Exception {
+        final File repo = this.temp.newFolder();
+        final DefaultArtifactDescriptorReader origin =
+            DescriptorReaderTest.origin(false);
+        final DescriptorReader reader = new DescriptorReader(origin);
+        reader.readArtifactDescriptor(
+            DescriptorReaderTest.session(repo, new Statistics()),
+            DescriptorReaderTest.request("1.0")
+        );
+        final Statistics stats = new Statistics();
+        final ArtifactDescriptorResult result = reader.readArtifactDescriptor(
+            DescriptorReaderTest.session(repo, stats),
+            DescriptorReaderTest.request("1.0")
+        );
+        MatcherAssert.assertThat(
+            result.getDependencies(), Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            stats.getCacheHitRatios().get("descriptor"), Matchers.is(1.0d)
+        );
+        Mockito.verify(origin, Mockito.times(1)).readArtifactDescriptor(
+            Mockito.any(RepositorySystemSession.class),
+            Mockito.any(ArtifactDescriptorRequest.class)
+        );
+    }
+
+    /**
+     * DescriptorReader can read descriptors of snapshots every time.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void readsSnapshotsEveryTime() throws Exception {
+        final File repo = this.temp.newFolder();
+        final DefaultArtifactDescriptorReader origin =
+            DescriptorReaderTest.origin(false);
+        final DescriptorReader reader = new DescriptorReader(origin);
+        for (int idx = 0; idx < 2; ++idx) {
+            reader.readArtifactDescriptor(
+                DescriptorReaderTest.session(repo, new Statistics()),
+                DescriptorReaderTest.request("1.0-SNAPSHOT")
+            );
+        }
+        Mockito.verify(origin, Mockito.times(2)).readArtifactDescriptor(
+            Mockito.any(RepositorySystemSession.class),
+            Mockito.any(ArtifactDescriptorRequest.class)
+        );
+    }
+
+    /**
+     * DescriptorReader can read descriptors with errors every time.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void readsBrokenDescriptorsEveryTime() throws Exception {
+        final File repo = this.temp.newFolder();
+        final DefaultArtifactDescriptorReader origin =
+            DescriptorReaderTest.origin(true);
+        final DescriptorReader reader = new DescriptorReader(origin);
+        for (int idx = 0; idx < 2; ++idx) {
+            reader.readArtifactDescriptor(
+                DescriptorReaderTest.session(repo, new Statistics()),
+                DescriptorReaderTest.request("1.0")
+            );
+        }
+        Mockito.verify(origin, Mockito.times(2)).readArtifactDescriptor(
+            Mockito.any(RepositorySystemSession.class),
+            Mockito.any(ArtifactDescriptorRequest.class)
+        );
+    }
+
+    /**
+     * DescriptorReader can give every caller its own copy of a descriptor.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void givesCopiesToCallers() throws Exception {
+        final File repo = this.temp.newFolder();
+        final DescriptorReader reader = new DescriptorReader(
+            DescriptorReaderTest.origin(false)
+        );
+        final ArtifactDescriptorResult first = reader.readArtifactDescriptor(
+            DescriptorReaderTest.session(repo, new Statistics()),
+            DescriptorReaderTest.request("1.0")
+        );
+        first.getDependencies().clear();
+        final ArtifactDescriptorResult second = reader.readArtifactDescriptor(
+            DescriptorReaderTest.session(repo, new Statistics()),
+            DescriptorReaderTest.request("1.0")
+        );
+        second.getDependencies().clear();
+        MatcherAssert.assertThat(
+            reader.readArtifactDescriptor(
+                DescriptorReaderTest.session(repo, new Statistics()),
+                DescriptorReaderTest.request("1.0")
+            ).getDependencies(),
+            Matchers.hasSize(1)
+        );
+    }
+
+    /**
+     * Mock of the original reader, which gives one dependency.
+     * @param broken Add an error to every result
+     * @return The reader
+     * @throws Exception If there is some problem inside
+     */
+    private static DefaultArtifactDescriptorReader origin(
+        final boolean broken) throws Exception {
+        final DefaultArtifactDescriptorReader origin =
+            Mockito.mock(DefaultArtifactDescriptorReader.class);
+        Mockito.doAnswer(
+            new Answer<ArtifactDescriptorResult>() {
+                @Override
+                public ArtifactDescriptorResult answer(
+                    final InvocationOnMock invocation) {
+                    final ArtifactDescriptorRequest request =
+                        ArtifactDescriptorRequest.class.cast(
+                            invocation.getArguments()[1]
+                        );
+                    final ArtifactDescriptorResult result =
+                        new ArtifactDescriptorResult(request);
+                    result.setArtifact(request.getArtifact());
+                    result.addDependency(
+                        new Dependency(
+                            new DefaultArtifact("junit:junit:4.10"), "test"
+                        )
+                    );
+                    if (broken) {
+                        result.addException(
+                            new IllegalStateException("broken POM")
+                        );
+                    }
+                    return result;
+                }
+            }
+        ).when(origin).readArtifactDescriptor(
+            Mockito.any(RepositorySystemSession.class),
+            Mockito.any(ArtifactDescriptorRequest.class)
+        );
+        return origin;
+    }
+
+    /**
+     * Make a session.
+     * @param repo Directory of the local repository
+     * @param stats Statistics of the session
+     * @return The session
+     */
+    private static RepositorySystemSession session(final File repo,
+        final Statistics stats) {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        final LocalRepositoryManager manager =
+            Mockito.mock(LocalRepositoryManager.class);
+        Mockito.doReturn(new LocalRepository(repo))
+            .when(manager).getRepository();
+        session.setLocalRepositoryManager(manager);
+        Meter.attach(session, stats);
+        return session;
+    }
+
+    /**
+     * Make a request.
+     * @param version Version of the artifact
+     * @return The request
+     */
+    private static ArtifactDescriptorRequest request(final String version) {
+        return new ArtifactDescriptorRequest(
+            new DefaultArtifact("com.jcabi", "jcabi-test", "pom", version),
+            Collections.singletonList(
+                new RemoteRepository.Builder(
+                    "central", "default", "http://repo1.maven.org/maven2/"
+                ).build()
+            ),
+            ""
+        );
+    }
+
+}
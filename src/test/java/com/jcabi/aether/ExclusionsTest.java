@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import org.apache.maven.model.Exclusion;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Exclusions}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class ExclusionsTest {
+
+    /**
+     * Exclusions can match exact group and artifact IDs.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void matchesExactExclusions() throws Exception {
+        final Exclusions excl = new Exclusions(
+            Arrays.asList(ExclusionsTest.exclusion("junit", "junit"))
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("junit:junit:4.10")),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("junit:junit-dep:4.10")),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Exclusions can match Maven 3 style wildcards.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void matchesWildcards() throws Exception {
+        final Exclusions excl = new Exclusions(
+            Arrays.asList(
+                ExclusionsTest.exclusion("org.apache.*", "*"),
+                ExclusionsTest.exclusion("*", "hamcrest-core"),
+                ExclusionsTest.exclusion("com.jcabi", "jcabi-*-api")
+            )
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("org.apache.maven:maven-core:3")),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("org.apache:apache:13")),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("org.hamcrest:hamcrest-core:1")),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("com.jcabi:jcabi-log-api:1")),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            excl.matches(new DefaultArtifact("com.jcabi:jcabi-log:1")),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Exclusions can exclude everything with a double wildcard.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void excludesEverythingWithDoubleWildcard() throws Exception {
+        MatcherAssert.assertThat(
+            new Exclusions(
+                Arrays.asList(ExclusionsTest.exclusion("*", "*"))
+            ).matches(new DefaultArtifact("junit:junit:4.10")),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Create exclusion.
+     * @param group Group ID
+     * @param name Artifact ID
+     * @return The exclusion
+     */
+    private static Exclusion exclusion(final String group,
+        final String name) {
+        final Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId(group);
+        exclusion.setArtifactId(name);
+        return exclusion;
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link FileLocks}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class FileLocksTest {
+
+    /**
+     * Lock key used by workers.
+     */
+    private static final String KEY = "com.jcabi:counter:1.0";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * FileLocks can serialize writers running in many processes.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void serializesWritersOfManyProcesses() throws Exception {
+        final File repo = this.temp.newFolder();
+        final File counter = new File(repo, "counter.txt");
+        Files.write(counter.toPath(), "0".getBytes("UTF-8"));
+        final int procs = 4;
+        final int loops = 50;
+        final Collection<Process> all = new ArrayList<Process>(procs);
+        for (int idx = 0; idx < procs; ++idx) {
+            all.add(
+                new ProcessBuilder(
+                    new File(
+                        System.getProperty("java.home"), "bin/java"
+                    ).getAbsolutePath(),
+                    "-cp", System.getProperty("java.class.path"),
+                    FileLocksTest.Worker.class.getName(),
+                    repo.getAbsolutePath(), Integer.toString(loops)
+                ).inheritIO().start()
+            );
+        }
+        for (final Process proc : all) {
+            MatcherAssert.assertThat(proc.waitFor(), Matchers.equalTo(0));
+        }
+        MatcherAssert.assertThat(
+            FileLocksTest.read(counter), Matchers.equalTo(procs * loops)
+        );
+    }
+
+    /**
+     * FileLocks can let many readers in, and keep writers out meanwhile.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void sharesLockBetweenReaders() throws Exception {
+        final FileLocks locks = FileLocks.of(this.temp.newFolder());
+        final long timeout = TimeUnit.SECONDS.toMillis(1L);
+        final AtomicBoolean read = new AtomicBoolean();
+        final AtomicBoolean written = new AtomicBoolean();
+        locks.acquire(FileLocksTest.KEY, true, timeout);
+        try {
+            FileLocksTest.run(
+                new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        locks.acquire(FileLocksTest.KEY, true, timeout);
+                        locks.release(FileLocksTest.KEY);
+                        read.set(true);
+                        return null;
+                    }
+                }
+            );
+            FileLocksTest.run(
+                new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        try {
+                            locks.acquire(FileLocksTest.KEY, false, timeout);
+                            locks.release(FileLocksTest.KEY);
+                            written.set(true);
+                        } catch (final IllegalStateException ex) {
+                            written.set(false);
+                        }
+                        return null;
+                    }
+                }
+            );
+        } finally {
+            locks.release(FileLocksTest.KEY);
+        }
+        MatcherAssert.assertThat(read.get(), Matchers.is(true));
+        MatcherAssert.assertThat(written.get(), Matchers.is(false));
+    }
+
+    /**
+     * Run a task in a separate thread and wait for it.
+     * @param task The task
+     * @throws Exception If fails
+     */
+    private static void run(final Callable<Void> task) throws Exception {
+        final ExecutorService svc = Executors.newSingleThreadExecutor();
+        try {
+            svc.submit(task).get();
+        } finally {
+            svc.shutdown();
+        }
+    }
+
+    /**
+     * Read number from the file.
+     * @param file The file
+     * @return The number
+     * @throws Exception If fails
+     */
+    private static int read(final File file) throws Exception {
+        return Integer.parseInt(
+            new String(Files.readAllBytes(file.toPath()), "UTF-8").trim()
+        );
+    }
+
+    /**
+     * Worker process, which increments a counter under a write lock.
+     */
+    public static final class Worker {
+        /**
+         * Utility class.
+         */
+        private Worker() {
+            // intentionally empty
+        }
+        /**
+         * Entry point.
+         * @param args Local repository and amount of increments
+         * @throws Exception If fails
+         */
+        public static void main(final String... args) throws Exception {
+            final File repo = new File(args[0]);
+            final File counter = new File(repo, "counter.txt");
+            final FileLocks locks = FileLocks.of(repo);
+            final int loops = Integer.parseInt(args[1]);
+            for (int idx = 0; idx < loops; ++idx) {
+                locks.acquire(
+                    FileLocksTest.KEY, false, TimeUnit.MINUTES.toMillis(1L)
+                );
+                try {
+                    Files.write(
+                        counter.toPath(),
+                        Integer.toString(FileLocksTest.read(counter) + 1)
+                            .getBytes("UTF-8")
+                    );
+                } finally {
+                    locks.release(FileLocksTest.KEY);
+                }
+            }
+        }
+    }
+
+}
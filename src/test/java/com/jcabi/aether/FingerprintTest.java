@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link Fingerprint}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class FingerprintTest {
+
+    /**
+     * Key of the classpath declaration.
+     */
+    private static final String KEY = "junit:junit:jar:4.10:test";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * Fingerprint can return a recorded digest without calling the source.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void skipsSourceWhenNothingChanged() throws Exception {
+        final File repo = this.temp.newFolder();
+        final AtomicInteger calls = new AtomicInteger();
+        final Callable<Map<String, File>> source =
+            this.source(this.jar("a"), calls);
+        final String first = new Fingerprint(repo).digest(
+            FingerprintTest.KEY, source
+        );
+        MatcherAssert.assertThat(
+            new Fingerprint(repo).digest(FingerprintTest.KEY, source),
+            Matchers.equalTo(first)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * Fingerprint can notice that a file was changed.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void changesWhenFileChanges() throws Exception {
+        final File repo = this.temp.newFolder();
+        final File jar = this.jar("b");
+        final AtomicInteger calls = new AtomicInteger();
+        final Callable<Map<String, File>> source = this.source(jar, calls);
+        final String first = new Fingerprint(repo).digest(
+            FingerprintTest.KEY, source
+        );
+        Files.write(jar.toPath(), "longer content".getBytes("UTF-8"));
+        MatcherAssert.assertThat(
+            new Fingerprint(repo).digest(FingerprintTest.KEY, source),
+            Matchers.not(Matchers.equalTo(first))
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Fingerprint can skip recording of entries that are not steady.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void calculatesUnsteadyEntriesAgain() throws Exception {
+        final File repo = this.temp.newFolder();
+        final AtomicInteger calls = new AtomicInteger();
+        final Callable<Map<String, File>> source =
+            this.source(this.jar("c"), calls);
+        final Callable<Boolean> unsteady = new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return false;
+            }
+        };
+        new Fingerprint(repo).digest(FingerprintTest.KEY, source, unsteady);
+        new Fingerprint(repo).digest(FingerprintTest.KEY, source, unsteady);
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Create a jar file.
+     * @param name Its name
+     * @return The file
+     * @throws Exception If fails
+     */
+    private File jar(final String name) throws Exception {
+        final File jar = this.temp.newFile(String.format("%s.jar", name));
+        Files.write(jar.toPath(), name.getBytes("UTF-8"));
+        return jar;
+    }
+
+    /**
+     * Source of classpath entries, counting its calls.
+     * @param jar The only file in classpath
+     * @param calls Counter of calls
+     * @return Source
+     */
+    private Callable<Map<String, File>> source(final File jar,
+        final AtomicInteger calls) {
+        return new Callable<Map<String, File>>() {
+            @Override
+            public Map<String, File> call() {
+                calls.incrementAndGet();
+                return Collections.singletonMap("junit:junit:jar:4.10", jar);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.filter.DependencyFilterUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Graph}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class GraphTest {
+
+    /**
+     * Graph can keep structure and conflict winners of dependencies.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsStructureAndWinners() throws Exception {
+        final DefaultDependencyNode root = GraphTest.node("root:1.0", "");
+        final DefaultDependencyNode first = GraphTest.node("a:1.0", "compile");
+        final DefaultDependencyNode second = GraphTest.node("b:1.0", "test");
+        final DefaultDependencyNode loser = GraphTest.node("c:1.0", "compile");
+        final DefaultDependencyNode winner = GraphTest.node("c:2.0", "test");
+        loser.setData(ConflictResolver.NODE_DATA_WINNER, winner);
+        first.setChildren(Arrays.<DependencyNode>asList(loser));
+        second.setChildren(Arrays.<DependencyNode>asList(winner));
+        root.setChildren(Arrays.<DependencyNode>asList(first, second));
+        final Graph graph = new Graph(
+            root, DependencyFilterUtils.classpathFilter("test")
+        );
+        MatcherAssert.assertThat(graph.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(
+            graph.children(Graph.ROOT), Matchers.equalTo(new int[] {1, 3})
+        );
+        MatcherAssert.assertThat(
+            graph.parents(2), Matchers.equalTo(new int[] {1})
+        );
+        MatcherAssert.assertThat(graph.scope(3), Matchers.equalTo("test"));
+        MatcherAssert.assertThat(graph.winner(2), Matchers.equalTo(4));
+        MatcherAssert.assertThat(graph.winner(4), Matchers.equalTo(4));
+        MatcherAssert.assertThat(
+            graph.path(4), Matchers.equalTo(new int[] {0, 3, 4})
+        );
+        MatcherAssert.assertThat(
+            graph.classpath().toString(),
+            Matchers.equalTo("[g:a:jar:1.0, g:b:jar:1.0, g:c:jar:2.0]")
+        );
+    }
+
+    /**
+     * Graph can skip dependencies rejected by the filter.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void skipsRejectedDependencies() throws Exception {
+        final DefaultDependencyNode root = GraphTest.node("root:1.0", "");
+        final DefaultDependencyNode kid = GraphTest.node("t:1.0", "test");
+        kid.setChildren(
+            Arrays.<DependencyNode>asList(GraphTest.node("x:1.0", "compile"))
+        );
+        root.setChildren(Arrays.<DependencyNode>asList(kid));
+        final Graph graph = new Graph(
+            root, DependencyFilterUtils.classpathFilter("runtime")
+        );
+        MatcherAssert.assertThat(graph.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            graph.classpath(), Matchers.<Object>empty()
+        );
+    }
+
+    /**
+     * Graph can find versions selected from ranges and snapshots.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void findsFloatingVersions() throws Exception {
+        final DefaultDependencyNode root = GraphTest.node("root:1.0", "");
+        root.setChildren(
+            Arrays.<DependencyNode>asList(GraphTest.node("s:1.0", "compile"))
+        );
+        MatcherAssert.assertThat(
+            new Graph(root, DependencyFilterUtils.classpathFilter("test"))
+                .floating(),
+            Matchers.is(false)
+        );
+        final DefaultDependencyNode ranged = GraphTest.node("r:1.5", "compile");
+        ranged.setVersionConstraint(
+            new GenericVersionScheme().parseVersionConstraint("[1.0,2.0)")
+        );
+        root.setChildren(Arrays.<DependencyNode>asList(ranged));
+        MatcherAssert.assertThat(
+            new Graph(root, DependencyFilterUtils.classpathFilter("test"))
+                .floating(),
+            Matchers.is(true)
+        );
+        root.setChildren(
+            Arrays.<DependencyNode>asList(
+                GraphTest.node("s:1.0-SNAPSHOT", "compile")
+            )
+        );
+        MatcherAssert.assertThat(
+            new Graph(root, DependencyFilterUtils.classpathFilter("test"))
+                .floating(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Create a node.
+     * @param coords Artifact ID and version
+     * @param scope Scope of the dependency
+     * @return The node
+     */
+    private static DefaultDependencyNode node(final String coords,
+        final String scope) {
+        return new DefaultDependencyNode(
+            new Dependency(
+                new DefaultArtifact(String.format("g:%s", coords)), scope
+            )
+        );
+    }
+}
@@ -0,0 +1,358 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link HedgedConnector}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class HedgedConnectorTest {
+
+    /**
+     * Path of the artifact in the repository.
+     */
+    private static final String PATH = "com/jcabi/test/h/1.0/h-1.0.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * HedgedConnector can download an artifact from an equivalent
+     * repository, when the repository fails, and verify its checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void downloadsFromEquivalentRepository() throws Exception {
+        final HedgedConnectorTest.Repo primary =
+            new HedgedConnectorTest.Repo(true);
+        final HedgedConnectorTest.Repo mirror =
+            new HedgedConnectorTest.Repo(false);
+        final byte[] content = "hedged content".getBytes("UTF-8");
+        mirror.put(HedgedConnectorTest.PATH, content);
+        mirror.put(
+            String.format("%s.sha1", HedgedConnectorTest.PATH),
+            HedgedConnectorTest.sha1(this.temp.newFile(), content)
+        );
+        final HttpServer first = HedgedConnectorTest.serve(primary);
+        final HttpServer second = HedgedConnectorTest.serve(mirror);
+        try {
+            final TransferListener listener =
+                Mockito.mock(TransferListener.class);
+            final RepositoryConnector origin =
+                Mockito.mock(RepositoryConnector.class);
+            final ArtifactDownload download = this.download();
+            HedgedConnectorTest.connector(first, second, origin, listener)
+                .get(
+                    Collections.singleton(download),
+                    Collections.<MetadataDownload>emptyList()
+                );
+            MatcherAssert.assertThat(
+                download.getException(), Matchers.nullValue()
+            );
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.getFile().toPath()),
+                Matchers.equalTo(content)
+            );
+            MatcherAssert.assertThat(primary.requests(), Matchers.is(1));
+            Mockito.verify(listener).transferStarted(
+                Mockito.any(TransferEvent.class)
+            );
+            Mockito.verify(listener).transferSucceeded(
+                Mockito.any(TransferEvent.class)
+            );
+            Mockito.verify(origin).get(
+                Collections.<ArtifactDownload>emptyList(),
+                Collections.<MetadataDownload>emptyList()
+            );
+        } finally {
+            first.stop(0);
+            second.stop(0);
+        }
+    }
+
+    /**
+     * HedgedConnector can report an absent artifact, without asking
+     * equivalent repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void reportsAbsentArtifact() throws Exception {
+        final HedgedConnectorTest.Repo mirror =
+            new HedgedConnectorTest.Repo(false);
+        mirror.put(HedgedConnectorTest.PATH, new byte[] {1});
+        final HttpServer first =
+            HedgedConnectorTest.serve(new HedgedConnectorTest.Repo(false));
+        final HttpServer second = HedgedConnectorTest.serve(mirror);
+        try {
+            final TransferListener listener =
+                Mockito.mock(TransferListener.class);
+            final ArtifactDownload download = this.download();
+            HedgedConnectorTest.connector(
+                first, second, Mockito.mock(RepositoryConnector.class),
+                listener
+            ).get(
+                Collections.singleton(download),
+                Collections.<MetadataDownload>emptyList()
+            );
+            MatcherAssert.assertThat(
+                download.getException(),
+                Matchers.instanceOf(ArtifactNotFoundException.class)
+            );
+            MatcherAssert.assertThat(mirror.requests(), Matchers.is(0));
+            Mockito.verify(listener).transferFailed(
+                Mockito.any(TransferEvent.class)
+            );
+        } finally {
+            first.stop(0);
+            second.stop(0);
+        }
+    }
+
+    /**
+     * HedgedConnector can reject an artifact with a wrong checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void rejectsWrongChecksum() throws Exception {
+        final HedgedConnectorTest.Repo primary =
+            new HedgedConnectorTest.Repo(false);
+        primary.put(HedgedConnectorTest.PATH, "broken".getBytes("UTF-8"));
+        primary.put(
+            String.format("%s.sha1", HedgedConnectorTest.PATH),
+            "0123456789012345678901234567890123456789".getBytes("UTF-8")
+        );
+        final HttpServer first = HedgedConnectorTest.serve(primary);
+        final HttpServer second =
+            HedgedConnectorTest.serve(new HedgedConnectorTest.Repo(false));
+        try {
+            final ArtifactDownload download = this.download();
+            HedgedConnectorTest.connector(
+                first, second, Mockito.mock(RepositoryConnector.class),
+                Mockito.mock(TransferListener.class)
+            ).get(
+                Collections.singleton(download),
+                Collections.<MetadataDownload>emptyList()
+            );
+            MatcherAssert.assertThat(
+                download.getException().getCause(),
+                Matchers.instanceOf(ChecksumFailureException.class)
+            );
+            MatcherAssert.assertThat(
+                download.getFile().exists(), Matchers.is(false)
+            );
+        } finally {
+            first.stop(0);
+            second.stop(0);
+        }
+    }
+
+    /**
+     * Make a download of the artifact.
+     * @return Download
+     * @throws IOException If fails
+     */
+    private ArtifactDownload download() throws IOException {
+        return new ArtifactDownload(
+            new DefaultArtifact("com.jcabi.test:h:jar:1.0"), "",
+            new File(this.temp.newFolder(), "h-1.0.jar"),
+            RepositoryPolicy.CHECKSUM_POLICY_FAIL
+        );
+    }
+
+    /**
+     * SHA-1 checksum of content.
+     * @param file Temporary file to calculate it with
+     * @param content The content
+     * @return Checksum, as bytes of its text
+     * @throws Exception If fails
+     */
+    private static byte[] sha1(final File file, final byte[] content)
+        throws Exception {
+        Files.write(file.toPath(), content);
+        return Checksums.sha1(file).getBytes("UTF-8");
+    }
+
+    /**
+     * Make a connector to the first server, with the second one as its
+     * equivalent.
+     * @param first The server
+     * @param second Its equivalent
+     * @param origin Original connector
+     * @param listener Transfer listener
+     * @return Connector
+     */
+    private static RepositoryConnector connector(final HttpServer first,
+        final HttpServer second, final RepositoryConnector origin,
+        final TransferListener listener) {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setTransferListener(listener);
+        final String url = HedgedConnectorTest.url(first);
+        return new HedgedConnector(
+            session,
+            new RemoteRepository.Builder("primary", "default", url).build(),
+            origin,
+            new Hedging(95.0d).with(url, HedgedConnectorTest.url(second))
+        );
+    }
+
+    /**
+     * URL of a server.
+     * @param server The server
+     * @return URL
+     */
+    private static String url(final HttpServer server) {
+        return String.format(
+            "http://localhost:%d/", server.getAddress().getPort()
+        );
+    }
+
+    /**
+     * Start a server with files.
+     * @param repo The files
+     * @return Server
+     * @throws IOException If fails
+     */
+    private static HttpServer serve(final HedgedConnectorTest.Repo repo)
+        throws IOException {
+        final HttpServer server =
+            HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", repo);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Files of a repository, by their paths, or failures only.
+     */
+    private static final class Repo implements HttpHandler {
+        /**
+         * Content of files.
+         */
+        private final transient Map<String, byte[]> content =
+            new ConcurrentHashMap<String, byte[]>(0);
+        /**
+         * Requests received.
+         */
+        private final transient AtomicInteger received = new AtomicInteger();
+        /**
+         * Does it fail every request?
+         */
+        private final transient boolean broken;
+        /**
+         * Ctor.
+         * @param failing Whether it fails every request
+         */
+        Repo(final boolean failing) {
+            this.broken = failing;
+        }
+        /**
+         * Add a file.
+         * @param path Its path
+         * @param bytes Its content
+         */
+        public void put(final String path, final byte[] bytes) {
+            this.content.put(path, bytes);
+        }
+        /**
+         * Requests received.
+         * @return How many
+         */
+        public int requests() {
+            return this.received.get();
+        }
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            this.received.incrementAndGet();
+            final byte[] body = this.content.get(
+                exchange.getRequestURI().getPath().substring(1)
+            );
+            try {
+                if (this.broken) {
+                    exchange.sendResponseHeaders(
+                        HttpURLConnection.HTTP_INTERNAL_ERROR, -1L
+                    );
+                } else if (body == null) {
+                    exchange.sendResponseHeaders(
+                        HttpURLConnection.HTTP_NOT_FOUND, -1L
+                    );
+                } else {
+                    exchange.sendResponseHeaders(
+                        HttpURLConnection.HTTP_OK, body.length
+                    );
+                    final OutputStream out = exchange.getResponseBody();
+                    try {
+                        out.write(body);
+                    } finally {
+                        out.close();
+                    }
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
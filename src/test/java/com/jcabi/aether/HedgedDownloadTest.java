@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link HedgedDownload}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class HedgedDownloadTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * HedgedDownload can take the file from another source, when the first
+     * one stalls, and clean up after the loser.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void hedgesStalledSource() throws Exception {
+        // @checkstyle MagicNumber (1 line)
+        final byte[] content = new byte[64 * 1024];
+        new Random(0L).nextBytes(content);
+        final CountDownLatch gate = new CountDownLatch(1);
+        final HedgedDownloadTest.Source slow =
+            new HedgedDownloadTest.Source(content, gate);
+        final HedgedDownloadTest.Source fast =
+            new HedgedDownloadTest.Source(content, new CountDownLatch(0));
+        final ExecutorService threads = Executors.newCachedThreadPool();
+        final HttpServer server =
+            HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/slow", slow);
+        server.createContext("/fast", fast);
+        server.setExecutor(threads);
+        server.start();
+        try {
+            final File dir = this.temp.newFolder();
+            final HedgedDownload download = new HedgedDownload(
+                Arrays.asList(
+                    HedgedDownloadTest.url(server, "slow"),
+                    HedgedDownloadTest.url(server, "fast")
+                ),
+                new File(dir, "a.jar"),
+                TimeUnit.MILLISECONDS.toNanos(100L)
+            );
+            MatcherAssert.assertThat(
+                download.fetch(),
+                Matchers.equalTo(HedgedDownloadTest.url(server, "fast"))
+            );
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.part().toPath()),
+                Matchers.equalTo(content)
+            );
+            MatcherAssert.assertThat(
+                dir.list(), Matchers.arrayContaining("a.jar.hedge")
+            );
+            MatcherAssert.assertThat(slow.requests(), Matchers.is(1));
+        } finally {
+            gate.countDown();
+            server.stop(0);
+            threads.shutdown();
+        }
+    }
+
+    /**
+     * HedgedDownload can leave other sources alone, when the first one
+     * answers in time.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void doesNotHedgeFastSource() throws Exception {
+        final byte[] content = new byte[] {1, 2, 3};
+        final HedgedDownloadTest.Source first =
+            new HedgedDownloadTest.Source(content, new CountDownLatch(0));
+        final HedgedDownloadTest.Source second =
+            new HedgedDownloadTest.Source(content, new CountDownLatch(0));
+        final HttpServer server =
+            HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/first", first);
+        server.createContext("/second", second);
+        server.start();
+        try {
+            final HedgedDownload download = new HedgedDownload(
+                Arrays.asList(
+                    HedgedDownloadTest.url(server, "first"),
+                    HedgedDownloadTest.url(server, "second")
+                ),
+                new File(this.temp.newFolder(), "b.pom"),
+                TimeUnit.SECONDS.toNanos(10L)
+            );
+            download.fetch();
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.part().toPath()),
+                Matchers.equalTo(content)
+            );
+            MatcherAssert.assertThat(
+                download.latency(), Matchers.greaterThanOrEqualTo(0L)
+            );
+            MatcherAssert.assertThat(second.requests(), Matchers.is(0));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * HedgedDownload can reject a response shorter than its
+     * {@code Content-Length}.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedResponse() throws Exception {
+        final ServerSocket socket = new ServerSocket(0);
+        final Thread thread = new Thread(
+            new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        final Socket conn = socket.accept();
+                        try {
+                            final BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(
+                                    conn.getInputStream(), "US-ASCII"
+                                )
+                            );
+                            String line = reader.readLine();
+                            while (line != null && !line.isEmpty()) {
+                                line = reader.readLine();
+                            }
+                            final OutputStream out = conn.getOutputStream();
+                            out.write(
+                                new StringBuilder("HTTP/1.1 200 OK\r\n")
+                                    .append("Content-Length: 100\r\n")
+                                    .append("Connection: close\r\n\r\n")
+                                    .append("truncated")
+                                    .toString().getBytes("US-ASCII")
+                            );
+                            out.flush();
+                        } finally {
+                            conn.close();
+                        }
+                    } catch (final IOException ex) {
+                        assert ex != null;
+                    }
+                }
+            }
+        );
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            new HedgedDownload(
+                Arrays.asList(
+                    new URL(
+                        String.format(
+                            "http://localhost:%d/c.jar", socket.getLocalPort()
+                        )
+                    )
+                ),
+                new File(this.temp.newFolder(), "c.jar"),
+                TimeUnit.SECONDS.toNanos(10L)
+            ).fetch();
+        } finally {
+            socket.close();
+        }
+    }
+
+    /**
+     * URL of a file in the server.
+     * @param server The server
+     * @param source Name of the source
+     * @return URL
+     * @throws IOException If fails
+     */
+    private static URL url(final HttpServer server, final String source)
+        throws IOException {
+        return new URL(
+            String.format(
+                "http://localhost:%d/%s/a.jar",
+                server.getAddress().getPort(), source
+            )
+        );
+    }
+
+    /**
+     * Source of a file, which answers when its gate is open.
+     */
+    private static final class Source implements HttpHandler {
+        /**
+         * Content to serve.
+         */
+        private final transient byte[] content;
+        /**
+         * Gate to wait for before answering.
+         */
+        private final transient CountDownLatch gate;
+        /**
+         * Requests received.
+         */
+        private final transient AtomicInteger received = new AtomicInteger();
+        /**
+         * Ctor.
+         * @param bytes Content to serve
+         * @param latch Gate to wait for
+         */
+        Source(final byte[] bytes, final CountDownLatch latch) {
+            this.content = Arrays.copyOf(bytes, bytes.length);
+            this.gate = latch;
+        }
+        /**
+         * Requests received.
+         * @return How many
+         */
+        public int requests() {
+            return this.received.get();
+        }
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            this.received.incrementAndGet();
+            try {
+                this.gate.await();
+                exchange.sendResponseHeaders(
+                    HttpURLConnection.HTTP_OK, this.content.length
+                );
+                final OutputStream body = exchange.getResponseBody();
+                body.write(this.content);
+                body.close();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
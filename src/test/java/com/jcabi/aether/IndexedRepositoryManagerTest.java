@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.util.Collections;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link IndexedRepositoryManager}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class IndexedRepositoryManagerTest {
+
+    /**
+     * Path of test artifact.
+     */
+    private static final String PATH = "junit/junit/4.10/junit-4.10.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * IndexedRepositoryManager can answer from the index.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void findsArtifactsInIndex() throws Exception {
+        final File repo = this.temp.newFolder();
+        final LocalRepositoryManager origin =
+            IndexedRepositoryManagerTest.origin(repo);
+        final LocalIndex index = new LocalIndex(
+            new File(this.temp.newFolder(), "local.idx")
+        );
+        index.add(IndexedRepositoryManagerTest.PATH, "central");
+        final LocalArtifactResult result = new IndexedRepositoryManager(
+            origin, index
+        ).find(
+            new DefaultRepositorySystemSession(),
+            IndexedRepositoryManagerTest.request()
+        );
+        MatcherAssert.assertThat(result.isAvailable(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            result.getFile(),
+            Matchers.equalTo(new File(repo, IndexedRepositoryManagerTest.PATH))
+        );
+        MatcherAssert.assertThat(
+            result.getRepository().getId(), Matchers.equalTo("central")
+        );
+        Mockito.verify(origin, Mockito.never()).find(
+            Mockito.any(DefaultRepositorySystemSession.class),
+            Mockito.any(LocalArtifactRequest.class)
+        );
+    }
+
+    /**
+     * IndexedRepositoryManager can ask the original manager and record its
+     * positive answers.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void recordsAnswersOfOrigin() throws Exception {
+        final File repo = this.temp.newFolder();
+        final LocalRepositoryManager origin =
+            IndexedRepositoryManagerTest.origin(repo);
+        final LocalArtifactRequest request =
+            IndexedRepositoryManagerTest.request();
+        final LocalArtifactResult found = new LocalArtifactResult(request);
+        found.setAvailable(true);
+        found.setRepository(request.getRepositories().get(0));
+        Mockito.doReturn(found).when(origin).find(
+            Mockito.any(DefaultRepositorySystemSession.class),
+            Mockito.any(LocalArtifactRequest.class)
+        );
+        final LocalIndex index = new LocalIndex(
+            new File(this.temp.newFolder(), "local.idx")
+        );
+        final IndexedRepositoryManager manager =
+            new IndexedRepositoryManager(origin, index);
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        manager.find(session, request);
+        manager.find(session, request);
+        MatcherAssert.assertThat(
+            index.repositories(IndexedRepositoryManagerTest.PATH),
+            Matchers.contains("central")
+        );
+        Mockito.verify(origin, Mockito.times(1)).find(
+            Mockito.any(DefaultRepositorySystemSession.class),
+            Mockito.any(LocalArtifactRequest.class)
+        );
+    }
+
+    /**
+     * Mock of the original manager.
+     * @param repo Directory of the local repository
+     * @return The manager
+     */
+    private static LocalRepositoryManager origin(final File repo) {
+        final LocalRepositoryManager origin =
+            Mockito.mock(LocalRepositoryManager.class);
+        Mockito.doReturn(new LocalRepository(repo))
+            .when(origin).getRepository();
+        Mockito.doReturn(IndexedRepositoryManagerTest.PATH)
+            .when(origin).getPathForLocalArtifact(Mockito.any(Artifact.class));
+        return origin;
+    }
+
+    /**
+     * Request of the test artifact.
+     * @return The request
+     */
+    private static LocalArtifactRequest request() {
+        return new LocalArtifactRequest(
+            new DefaultArtifact("junit:junit:4.10"),
+            Collections.singletonList(
+                new RemoteRepository.Builder(
+                    "central", "default", "http://repo1.maven.org/maven2/"
+                ).build()
+            ),
+            ""
+        );
+    }
+
+}
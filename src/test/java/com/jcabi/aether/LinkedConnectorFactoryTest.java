@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link LinkedConnectorFactory}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class LinkedConnectorFactoryTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * LinkedConnectorFactory can connect to file repositories, with copies.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void connectsToFileRepository() throws Exception {
+        final File dir = this.temp.newFolder();
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setConfigProperty(LinkedConnectorFactory.ENABLED, true);
+        final RemoteRepository repo = LinkedConnectorFactoryTest.repo(dir);
+        MatcherAssert.assertThat(
+            LinkedConnectorFactoryTest.factory().newInstance(session, repo),
+            Matchers.<Object>equalTo(
+                new LinkedConnector(session, repo, dir, null, false)
+            )
+        );
+    }
+
+    /**
+     * LinkedConnectorFactory can make hard links, only if asked.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void makesHardLinksWhenAsked() throws Exception {
+        final File dir = this.temp.newFolder();
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setConfigProperty(LinkedConnectorFactory.ENABLED, true);
+        session.setConfigProperty(LinkedConnectorFactory.HARD, true);
+        final RemoteRepository repo = LinkedConnectorFactoryTest.repo(dir);
+        MatcherAssert.assertThat(
+            LinkedConnectorFactoryTest.factory().newInstance(session, repo),
+            Matchers.<Object>equalTo(
+                new LinkedConnector(session, repo, dir, null, true)
+            )
+        );
+    }
+
+    /**
+     * LinkedConnectorFactory can refuse when linking is not enabled.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = NoRepositoryConnectorException.class)
+    public void refusesWhenDisabled() throws Exception {
+        LinkedConnectorFactoryTest.factory().newInstance(
+            new DefaultRepositorySystemSession(),
+            LinkedConnectorFactoryTest.repo(this.temp.newFolder())
+        );
+    }
+
+    /**
+     * LinkedConnectorFactory can refuse to connect to HTTP repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = NoRepositoryConnectorException.class)
+    public void refusesHttpRepository() throws Exception {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setConfigProperty(LinkedConnectorFactory.ENABLED, true);
+        LinkedConnectorFactoryTest.factory().newInstance(
+            session,
+            new RemoteRepository.Builder(
+                "remote", "default", "http://localhost/repo"
+            ).build()
+        );
+    }
+
+    /**
+     * Make a factory.
+     * @return Factory
+     */
+    private static LinkedConnectorFactory factory() {
+        final LinkedConnectorFactory factory = new LinkedConnectorFactory();
+        factory.initService(new DefaultServiceLocator());
+        return factory;
+    }
+
+    /**
+     * Make a file repository.
+     * @param dir Its directory
+     * @return Repository
+     */
+    private static RemoteRepository repo(final File dir) {
+        return new RemoteRepository.Builder(
+            "local", "default", dir.toURI().toString()
+        ).build();
+    }
+
+}
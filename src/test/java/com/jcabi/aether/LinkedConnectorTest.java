@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link LinkedConnector}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class LinkedConnectorTest {
+
+    /**
+     * Path of the artifact in the repository.
+     */
+    private static final String PATH = "com/jcabi/test/a/1.0/a-1.0.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * LinkedConnector can copy an artifact and verify its checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void copiesArtifactWithChecksum() throws Exception {
+        final File dir = this.temp.newFolder();
+        final File src = this.artifact(dir, "jar content");
+        final TransferListener listener = Mockito.mock(TransferListener.class);
+        final ArtifactDownload download = this.download();
+        this.connector(dir, listener, false).get(
+            Collections.singleton(download),
+            Collections.<MetadataDownload>emptyList()
+        );
+        MatcherAssert.assertThat(download.getException(), Matchers.nullValue());
+        MatcherAssert.assertThat(
+            Files.readAllBytes(download.getFile().toPath()),
+            Matchers.equalTo(Files.readAllBytes(src.toPath()))
+        );
+        MatcherAssert.assertThat(
+            Files.isSameFile(src.toPath(), download.getFile().toPath()),
+            Matchers.is(false)
+        );
+        Mockito.verify(listener).transferSucceeded(
+            Mockito.any(TransferEvent.class)
+        );
+    }
+
+    /**
+     * LinkedConnector can link an artifact, when asked.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void linksArtifactWhenAsked() throws Exception {
+        final File dir = this.temp.newFolder();
+        final File src = this.artifact(dir, "linked content");
+        final ArtifactDownload download = this.download();
+        this.connector(dir, Mockito.mock(TransferListener.class), true).get(
+            Collections.singleton(download),
+            Collections.<MetadataDownload>emptyList()
+        );
+        MatcherAssert.assertThat(download.getException(), Matchers.nullValue());
+        MatcherAssert.assertThat(
+            Files.readAllBytes(download.getFile().toPath()),
+            Matchers.equalTo(Files.readAllBytes(src.toPath()))
+        );
+    }
+
+    /**
+     * LinkedConnector can reject an artifact with a wrong checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void rejectsWrongChecksum() throws Exception {
+        final File dir = this.temp.newFolder();
+        final File src = this.artifact(dir, "broken");
+        Files.write(
+            new File(String.format("%s.sha1", src.getPath())).toPath(),
+            "0123456789012345678901234567890123456789".getBytes("UTF-8")
+        );
+        final TransferListener listener = Mockito.mock(TransferListener.class);
+        final ArtifactDownload download = this.download();
+        this.connector(dir, listener, false).get(
+            Collections.singleton(download),
+            Collections.<MetadataDownload>emptyList()
+        );
+        MatcherAssert.assertThat(
+            download.getException().getCause(),
+            Matchers.instanceOf(ChecksumFailureException.class)
+        );
+        MatcherAssert.assertThat(
+            download.getFile().exists(), Matchers.is(false)
+        );
+        Mockito.verify(listener).transferFailed(
+            Mockito.any(TransferEvent.class)
+        );
+    }
+
+    /**
+     * LinkedConnector can report an absent artifact.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void reportsAbsentArtifact() throws Exception {
+        final ArtifactDownload download = this.download();
+        this.connector(
+            this.temp.newFolder(), Mockito.mock(TransferListener.class), false
+        ).get(
+            Collections.singleton(download),
+            Collections.<MetadataDownload>emptyList()
+        );
+        MatcherAssert.assertThat(
+            download.getException(),
+            Matchers.instanceOf(ArtifactNotFoundException.class)
+        );
+    }
+
+    /**
+     * Put the artifact, with its checksum, into a file repository.
+     * @param dir Directory of the repository
+     * @param content Content of the artifact
+     * @return The artifact file
+     * @throws Exception If fails
+     */
+    private File artifact(final File dir, final String content)
+        throws Exception {
+        final File src = new File(dir, LinkedConnectorTest.PATH);
+        Files.createDirectories(src.getParentFile().toPath());
+        Files.write(src.toPath(), content.getBytes("UTF-8"));
+        Files.write(
+            new File(String.format("%s.sha1", src.getPath())).toPath(),
+            Checksums.sha1(src).getBytes("UTF-8")
+        );
+        return src;
+    }
+
+    /**
+     * Make a download of the artifact.
+     * @return Download
+     * @throws Exception If fails
+     */
+    private ArtifactDownload download() throws Exception {
+        return new ArtifactDownload(
+            new DefaultArtifact("com.jcabi.test:a:jar:1.0"), "",
+            new File(this.temp.newFolder(), "a-1.0.jar"),
+            RepositoryPolicy.CHECKSUM_POLICY_FAIL
+        );
+    }
+
+    /**
+     * Make a connector to a file repository.
+     * @param dir Directory of the repository
+     * @param listener Transfer listener
+     * @param hard Make hard links
+     * @return Connector
+     */
+    private RepositoryConnector connector(final File dir,
+        final TransferListener listener, final boolean hard) {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setTransferListener(listener);
+        return new LinkedConnector(
+            session,
+            new RemoteRepository.Builder(
+                "local", "default", dir.toURI().toString()
+            ).build(),
+            dir, Mockito.mock(RepositoryConnector.class), hard
+        );
+    }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link LinkedCopy}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class LinkedCopyTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * LinkedCopy can copy a file, without a link.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void copiesFile() throws Exception {
+        final File src = this.temp.newFile();
+        Files.write(src.toPath(), "hi".getBytes());
+        final File target = new File(this.temp.newFolder(), "x/y.jar");
+        MatcherAssert.assertThat(
+            LinkedCopy.copy(src, target, false), Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            Files.isSameFile(src.toPath(), target.toPath()),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            Files.readAllBytes(target.toPath()),
+            Matchers.equalTo(Files.readAllBytes(src.toPath()))
+        );
+    }
+
+    /**
+     * LinkedCopy can copy or link a file.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void copiesOrLinksFile() throws Exception {
+        final File src = this.temp.newFile();
+        Files.write(src.toPath(), "hello".getBytes());
+        final File target = new File(this.temp.newFolder(), "a/b/c.jar");
+        final boolean linked = LinkedCopy.copy(src, target, true);
+        MatcherAssert.assertThat(
+            Files.readAllBytes(target.toPath()),
+            Matchers.equalTo(Files.readAllBytes(src.toPath()))
+        );
+        MatcherAssert.assertThat(
+            Files.isSameFile(src.toPath(), target.toPath()),
+            Matchers.is(linked)
+        );
+        MatcherAssert.assertThat(
+            target.getParentFile().list(), Matchers.arrayWithSize(1)
+        );
+    }
+
+    /**
+     * LinkedCopy can be faster and smaller than a copy of streams.
+     *
+     * <p>This is a benchmark: it puts a tree of 50Mb into two local
+     * repositories, with a copy of streams and with {@link LinkedCopy},
+     * and logs time and disk space of both.
+     *
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void benchmarksAgainstCopyOfStreams() throws Exception {
+        final File remote = this.temp.newFolder();
+        final int total = 200;
+        // @checkstyle MagicNumber (1 line)
+        final byte[] data = new byte[256 * 1024];
+        final Random random = new Random(0L);
+        for (int idx = 0; idx < total; ++idx) {
+            random.nextBytes(data);
+            final File file = new File(
+                remote, String.format("g/a%d/1.0/a%1$d-1.0.jar", idx)
+            );
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), data);
+        }
+        final File copied = this.temp.newFolder();
+        long start = System.nanoTime();
+        for (int idx = 0; idx < total; ++idx) {
+            final String path = String.format("g/a%d/1.0/a%1$d-1.0.jar", idx);
+            final File target = new File(copied, path);
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.copy(
+                new File(remote, path).toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING
+            );
+        }
+        final long streams = System.nanoTime() - start;
+        final File linked = this.temp.newFolder();
+        long saved = 0L;
+        start = System.nanoTime();
+        for (int idx = 0; idx < total; ++idx) {
+            final String path = String.format("g/a%d/1.0/a%1$d-1.0.jar", idx);
+            final File target = new File(linked, path);
+            if (LinkedCopy.copy(new File(remote, path), target, true)) {
+                saved += data.length;
+            }
+        }
+        final long links = System.nanoTime() - start;
+        Logger.info(
+            this,
+            // @checkstyle LineLength (1 line)
+            "%d files of %d bytes: streams in %[nano]s, links in %[nano]s, %d bytes saved",
+            total, data.length, streams, links, saved
+        );
+        MatcherAssert.assertThat(
+            Files.readAllBytes(
+                new File(linked, "g/a7/1.0/a7-1.0.jar").toPath()
+            ),
+            Matchers.equalTo(
+                Files.readAllBytes(
+                    new File(copied, "g/a7/1.0/a7-1.0.jar").toPath()
+                )
+            )
+        );
+    }
+
+}
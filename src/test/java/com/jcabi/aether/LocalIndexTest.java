@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link LocalIndex}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class LocalIndexTest {
+
+    /**
+     * Path of test artifact.
+     */
+    private static final String PATH = "junit/junit/4.10/junit-4.10.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * LocalIndex can persist its records.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void persistsRecords() throws Exception {
+        final File file = new File(this.temp.newFolder(), "local.idx");
+        final LocalIndex index = new LocalIndex(file);
+        index.add(LocalIndexTest.PATH, "central");
+        index.add(LocalIndexTest.PATH, "");
+        index.add("com/jcabi/x/1.0/x-1.0.pom", "central");
+        MatcherAssert.assertThat(
+            new LocalIndex(file).repositories(LocalIndexTest.PATH),
+            Matchers.containsInAnyOrder("central", "")
+        );
+    }
+
+    /**
+     * LocalIndex can forget everything.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void clearsRecords() throws Exception {
+        final File file = new File(this.temp.newFolder(), "local.idx");
+        final LocalIndex index = new LocalIndex(file);
+        index.add(LocalIndexTest.PATH, "central");
+        index.clear();
+        MatcherAssert.assertThat(
+            new LocalIndex(file).repositories(LocalIndexTest.PATH),
+            Matchers.<String>empty()
+        );
+    }
+
+}
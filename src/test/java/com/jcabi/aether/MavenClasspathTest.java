@@ -33,6 +33,7 @@ import java.io.File;
 import java.util.Arrays;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
@@ -156,9 +157,72 @@ public final class MavenClasspathTest {
 //        );
     }
 
+    /**
+     * MavenClasspath can skip the root project, which has no file yet.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void skipsRootProjectWithoutFile() throws Exception {
+        final Dependency dep = new Dependency();
+        dep.setGroupId("com.jcabi");
+        dep.setArtifactId("jcabi-root");
+        dep.setVersion("1.0");
+        dep.setScope(MavenClasspath.TEST_SCOPE);
+        final DependencyGraphBuilder builder = this.builder(null);
+        final MavenSession session = this.session(dep);
+        final MavenClasspath classpath = new MavenClasspath(
+            builder, session, MavenClasspath.TEST_SCOPE
+        );
+        MatcherAssert.assertThat(
+            classpath,
+            Matchers.not(Matchers.<File>hasItem(Matchers.nullValue(File.class)))
+        );
+        MatcherAssert.assertThat(
+            classpath.digest(),
+            Matchers.equalTo(
+                new MavenClasspath(
+                    builder, session, MavenClasspath.TEST_SCOPE
+                ).digest()
+            )
+        );
+    }
+
+    /**
+     * MavenClasspath can calculate digest again for snapshots.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void recalculatesDigestOfSnapshots() throws Exception {
+        final Dependency dep = new Dependency();
+        dep.setGroupId("com.jcabi");
+        dep.setArtifactId("jcabi-snapshot");
+        dep.setVersion("1.0-SNAPSHOT");
+        dep.setScope(MavenClasspath.TEST_SCOPE);
+        final DependencyGraphBuilder builder = this.builder(null);
+        final Artifact artifact = builder.buildDependencyGraph(
+            Mockito.mock(MavenProject.class), Mockito.mock(ArtifactFilter.class)
+        ).getArtifact();
+        Mockito.when(artifact.getFile()).thenReturn(
+            this.temp.newFile("first.jar"), this.temp.newFile("second.jar")
+        );
+        final MavenSession session = this.session(dep);
+        MatcherAssert.assertThat(
+            new MavenClasspath(
+                builder, session, MavenClasspath.TEST_SCOPE
+            ).digest(),
+            Matchers.not(
+                Matchers.equalTo(
+                    new MavenClasspath(
+                        builder, session, MavenClasspath.TEST_SCOPE
+                    ).digest()
+                )
+            )
+        );
+    }
+
     /**
      * Build DependencyGraphBuilder with single dependency node.
-     * @param location Location of node jar.
+     * @param location Location of node jar, NULL if there is no file.
      * @return Container.
      */
     private DependencyGraphBuilder builder(final String location) {
@@ -177,11 +241,32 @@ public final class MavenClasspathTest {
             throw new IllegalStateException(ex);
         }
         final Artifact artifact = Mockito.mock(Artifact.class);
-        Mockito.when(artifact.getFile()).thenReturn(new File(location));
+        if (location != null) {
+            Mockito.when(artifact.getFile()).thenReturn(new File(location));
+        }
         Mockito.when(node.getArtifact()).thenReturn(artifact);
         return builder;
     }
 
+    /**
+     * Creates session of a project with this dependency and a local
+     * repository in a temporary folder.
+     * @param dep Dependency to add to the project
+     * @return Maven session mocked
+     * @throws Exception If there is some problem inside
+     */
+    private MavenSession session(final Dependency dep) throws Exception {
+        final MavenSession session = Mockito.mock(MavenSession.class);
+        final MavenProject project = this.project(dep);
+        Mockito.when(project.getId()).thenReturn("com.jcabi:project:1.0");
+        Mockito.when(session.getCurrentProject()).thenReturn(project);
+        final ArtifactRepository local = Mockito.mock(ArtifactRepository.class);
+        Mockito.when(local.getBasedir())
+            .thenReturn(this.temp.newFolder().getAbsolutePath());
+        Mockito.when(session.getLocalRepository()).thenReturn(local);
+        return session;
+    }
+
     /**
      * Creates project with this dependency.
      * @param dep Dependency to add to the project
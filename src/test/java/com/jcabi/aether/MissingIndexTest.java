@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link MissingIndex}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class MissingIndexTest {
+
+    /**
+     * Path of test artifact.
+     */
+    private static final String PATH = "com/jcabi/x/1.0/x-1.0.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * MissingIndex can persist its records, by repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void persistsRecords() throws Exception {
+        final File file = new File(this.temp.newFolder(), "missing.idx");
+        new MissingIndex(file).add(MissingIndexTest.PATH, "central");
+        final MissingIndex index = new MissingIndex(file);
+        final long hour = TimeUnit.HOURS.toMillis(1L);
+        MatcherAssert.assertThat(
+            index.missing(MissingIndexTest.PATH, "central", hour),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            index.missing(MissingIndexTest.PATH, "sonatype", hour),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * MissingIndex can ignore records older than time to live.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void ignoresExpiredRecords() throws Exception {
+        final MissingIndex index = new MissingIndex(
+            new File(this.temp.newFolder(), "missing.idx")
+        );
+        index.add(MissingIndexTest.PATH, "central");
+        TimeUnit.MILLISECONDS.sleep(100L);
+        MatcherAssert.assertThat(
+            index.missing(MissingIndexTest.PATH, "central", 50L),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * MissingIndex can forget everything.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void clearsRecords() throws Exception {
+        final File file = new File(this.temp.newFolder(), "missing.idx");
+        final MissingIndex index = new MissingIndex(file);
+        index.add(MissingIndexTest.PATH, "central");
+        index.clear();
+        MatcherAssert.assertThat(
+            new MissingIndex(file).missing(
+                MissingIndexTest.PATH, "central", TimeUnit.HOURS.toMillis(1L)
+            ),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * MissingIndex can compact its file, keeping live records only.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void compactsFile() throws Exception {
+        final File file = new File(this.temp.newFolder(), "missing.idx");
+        final MissingIndex index = new MissingIndex(file);
+        index.add("com/jcabi/old/1.0/old-1.0.jar", "central");
+        TimeUnit.MILLISECONDS.sleep(100L);
+        for (int idx = 0; idx < 3; ++idx) {
+            index.add(MissingIndexTest.PATH, "central");
+        }
+        final long ttl = 50L;
+        index.compact(ttl);
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(file.toPath()), "UTF-8")
+                .split("\n"),
+            Matchers.arrayWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            new MissingIndex(file).missing(
+                MissingIndexTest.PATH, "central", TimeUnit.HOURS.toMillis(1L)
+            ),
+            Matchers.is(true)
+        );
+    }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link MissingResolver}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class MissingResolverTest {
+
+    /**
+     * Coordinates of test artifact.
+     */
+    private static final String COORDS = "com.jcabi.test:missing:jar:1.0";
+
+    /**
+     * Path of test artifact.
+     */
+    private static final String PATH =
+        "com/jcabi/test/missing/1.0/missing-1.0.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * MissingResolver can record "not found" answers of repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void recordsNotFoundAnswers() throws Exception {
+        final File local = this.temp.newFolder();
+        final Aether aether = new Aether(
+            Arrays.asList(
+                this.repo("empty", false), this.repo("full", true)
+            ),
+            local
+        ).rememberMissing(1L, TimeUnit.HOURS);
+        MatcherAssert.assertThat(
+            aether.file(new DefaultArtifact(MissingResolverTest.COORDS))
+                .exists(),
+            Matchers.is(true)
+        );
+        final MissingIndex index = MissingIndex.of(local);
+        final long hour = TimeUnit.HOURS.toMillis(1L);
+        MatcherAssert.assertThat(
+            index.missing(MissingResolverTest.PATH, "empty", hour),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            index.missing(MissingResolverTest.PATH, "full", hour),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * MissingResolver can skip repositories known to miss an artifact.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void skipsRepositoriesKnownToMiss() throws Exception {
+        final File local = this.temp.newFolder();
+        MissingIndex.of(local).add(MissingResolverTest.PATH, "full");
+        final Aether aether = new Aether(
+            Arrays.asList(this.repo("full", true)), local
+        );
+        try {
+            aether.rememberMissing(1L, TimeUnit.HOURS).file(
+                new DefaultArtifact(MissingResolverTest.COORDS)
+            );
+            throw new AssertionError("the repository was asked");
+        } catch (final ArtifactResolutionException ex) {
+            MatcherAssert.assertThat(
+                ex.getResult().getRepository(), Matchers.nullValue()
+            );
+        }
+        MatcherAssert.assertThat(
+            aether.file(new DefaultArtifact(MissingResolverTest.COORDS))
+                .exists(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Make a file repository.
+     * @param name ID of it
+     * @param full Whether it has the artifact
+     * @return Remote repository
+     * @throws Exception If there is some problem inside
+     */
+    private RemoteRepository repo(final String name, final boolean full)
+        throws Exception {
+        final File remote = this.temp.newFolder();
+        if (full) {
+            final File jar = new File(remote, MissingResolverTest.PATH);
+            jar.getParentFile().mkdirs();
+            Files.write(jar.toPath(), new byte[] {1, 2, 3});
+        }
+        return new RemoteRepository.Builder(
+            name, "default", remote.toURI().toString()
+        ).build();
+    }
+
+}
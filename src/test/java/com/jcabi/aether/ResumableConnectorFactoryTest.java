@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ResumableConnectorFactory}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class ResumableConnectorFactoryTest {
+
+    /**
+     * URL of a test repository.
+     */
+    private static final String URL = "http://localhost/repo";
+
+    /**
+     * ResumableConnectorFactory can connect to HTTP repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void connectsToHttpRepository() throws Exception {
+        final ResumableConnectorFactory factory =
+            new ResumableConnectorFactory();
+        factory.initService(new DefaultServiceLocator());
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setConfigProperty(ResumableConnectorFactory.ATTEMPTS, "3");
+        MatcherAssert.assertThat(
+            factory.newInstance(
+                session,
+                new RemoteRepository.Builder(
+                    "remote", "default", ResumableConnectorFactoryTest.URL
+                ).build()
+            ),
+            Matchers.instanceOf(ResumableConnector.class)
+        );
+    }
+
+    /**
+     * ResumableConnectorFactory can refuse without attempts configured.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = NoRepositoryConnectorException.class)
+    public void refusesWithoutAttempts() throws Exception {
+        final ResumableConnectorFactory factory =
+            new ResumableConnectorFactory();
+        factory.initService(new DefaultServiceLocator());
+        factory.newInstance(
+            new DefaultRepositorySystemSession(),
+            new RemoteRepository.Builder(
+                "remote", "default", ResumableConnectorFactoryTest.URL
+            ).build()
+        );
+    }
+
+    /**
+     * ResumableConnectorFactory can refuse to connect to file repositories.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = NoRepositoryConnectorException.class)
+    public void refusesFileRepository() throws Exception {
+        final ResumableConnectorFactory factory =
+            new ResumableConnectorFactory();
+        factory.initService(new DefaultServiceLocator());
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setConfigProperty(ResumableConnectorFactory.ATTEMPTS, "3");
+        factory.newInstance(
+            session,
+            new RemoteRepository.Builder(
+                "local", "default", "file:///tmp/repo"
+            ).build()
+        );
+    }
+
+}
@@ -0,0 +1,368 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link ResumableConnector}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class ResumableConnectorTest {
+
+    /**
+     * Path of the artifact in the repository.
+     */
+    private static final String PATH = "com/jcabi/test/a/1.0/a-1.0.jar";
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * ResumableConnector can download an artifact and verify its checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void downloadsArtifactWithChecksum() throws Exception {
+        final ResumableConnectorTest.Repo repo =
+            new ResumableConnectorTest.Repo();
+        final byte[] content = "some content".getBytes("UTF-8");
+        final File sample = this.temp.newFile();
+        Files.write(sample.toPath(), content);
+        repo.put(ResumableConnectorTest.PATH, content);
+        repo.put(
+            String.format("%s.sha1", ResumableConnectorTest.PATH),
+            Checksums.sha1(sample).getBytes("UTF-8")
+        );
+        final HttpServer server = ResumableConnectorTest.serve(repo);
+        try {
+            final TransferListener listener =
+                Mockito.mock(TransferListener.class);
+            final ArtifactDownload download = this.download();
+            final RepositoryConnector origin =
+                Mockito.mock(RepositoryConnector.class);
+            this.connector(server, origin, listener).get(
+                Collections.singleton(download),
+                Collections.<MetadataDownload>emptyList()
+            );
+            MatcherAssert.assertThat(
+                download.getException(), Matchers.nullValue()
+            );
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.getFile().toPath()),
+                Matchers.equalTo(content)
+            );
+            Mockito.verify(listener).transferStarted(
+                Mockito.any(TransferEvent.class)
+            );
+            Mockito.verify(listener).transferSucceeded(
+                Mockito.any(TransferEvent.class)
+            );
+            Mockito.verify(origin).get(
+                Collections.<ArtifactDownload>emptyList(),
+                Collections.<MetadataDownload>emptyList()
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * ResumableConnector can reject an artifact with a wrong checksum.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void rejectsWrongChecksum() throws Exception {
+        final ResumableConnectorTest.Repo repo =
+            new ResumableConnectorTest.Repo();
+        repo.put(ResumableConnectorTest.PATH, "broken".getBytes("UTF-8"));
+        repo.put(
+            String.format("%s.sha1", ResumableConnectorTest.PATH),
+            "0123456789012345678901234567890123456789".getBytes("UTF-8")
+        );
+        final HttpServer server = ResumableConnectorTest.serve(repo);
+        try {
+            final TransferListener listener =
+                Mockito.mock(TransferListener.class);
+            final ArtifactDownload download = this.download();
+            this.connector(
+                server, Mockito.mock(RepositoryConnector.class), listener
+            ).get(
+                Collections.singleton(download),
+                Collections.<MetadataDownload>emptyList()
+            );
+            MatcherAssert.assertThat(
+                download.getException().getCause(),
+                Matchers.instanceOf(ChecksumFailureException.class)
+            );
+            MatcherAssert.assertThat(
+                download.getFile().exists(), Matchers.is(false)
+            );
+            MatcherAssert.assertThat(
+                new File(String.format("%s.part", download.getFile()))
+                    .exists(),
+                Matchers.is(false)
+            );
+            Mockito.verify(listener).transferFailed(
+                Mockito.any(TransferEvent.class)
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * ResumableConnector can report an absent artifact, never started.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void reportsAbsentArtifact() throws Exception {
+        final HttpServer server =
+            ResumableConnectorTest.serve(new ResumableConnectorTest.Repo());
+        try {
+            final TransferListener listener =
+                Mockito.mock(TransferListener.class);
+            final ArtifactDownload download = this.download();
+            this.connector(
+                server, Mockito.mock(RepositoryConnector.class), listener
+            ).get(
+                Collections.singleton(download),
+                Collections.<MetadataDownload>emptyList()
+            );
+            MatcherAssert.assertThat(
+                download.getException(),
+                Matchers.instanceOf(ArtifactNotFoundException.class)
+            );
+            Mockito.verify(listener).transferInitiated(
+                Mockito.any(TransferEvent.class)
+            );
+            Mockito.verify(listener, Mockito.never()).transferStarted(
+                Mockito.any(TransferEvent.class)
+            );
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * ResumableConnector can download a few artifacts at the same time.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void downloadsManyArtifacts() throws Exception {
+        final ResumableConnectorTest.Repo repo =
+            new ResumableConnectorTest.Repo();
+        final Collection<ArtifactDownload> downloads =
+            new ArrayList<ArtifactDownload>(0);
+        for (final String name : Arrays.asList("a", "b", "c")) {
+            final ArtifactDownload download = this.download(name);
+            repo.put(
+                Layout.path(download.getArtifact()), name.getBytes("UTF-8")
+            );
+            download.setChecksumPolicy(RepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+            downloads.add(download);
+        }
+        final HttpServer server = ResumableConnectorTest.serve(repo);
+        try {
+            this.connector(
+                server, Mockito.mock(RepositoryConnector.class),
+                Mockito.mock(TransferListener.class)
+            ).get(downloads, Collections.<MetadataDownload>emptyList());
+            for (final ArtifactDownload download : downloads) {
+                MatcherAssert.assertThat(
+                    download.getException(), Matchers.nullValue()
+                );
+                MatcherAssert.assertThat(
+                    new String(
+                        Files.readAllBytes(download.getFile().toPath()),
+                        "UTF-8"
+                    ),
+                    Matchers.equalTo(download.getArtifact().getArtifactId())
+                );
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Make a download of the artifact.
+     * @return Download
+     * @throws IOException If fails
+     */
+    private ArtifactDownload download() throws IOException {
+        return this.download("a");
+    }
+
+    /**
+     * Make a download of an artifact.
+     * @param name Artifact ID
+     * @return Download
+     * @throws IOException If fails
+     */
+    private ArtifactDownload download(final String name) throws IOException {
+        return new ArtifactDownload(
+            new DefaultArtifact(
+                String.format("com.jcabi.test:%s:jar:1.0", name)
+            ),
+            "",
+            new File(this.temp.newFolder(), String.format("%s-1.0.jar", name)),
+            RepositoryPolicy.CHECKSUM_POLICY_FAIL
+        );
+    }
+
+    /**
+     * Make a connector to the server.
+     * @param server The server
+     * @param origin Original connector
+     * @param listener Transfer listener
+     * @return Connector
+     * @throws IOException If fails
+     */
+    private RepositoryConnector connector(final HttpServer server,
+        final RepositoryConnector origin, final TransferListener listener)
+        throws IOException {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        session.setTransferListener(listener);
+        final LocalRepositoryManager manager =
+            Mockito.mock(LocalRepositoryManager.class);
+        Mockito.doReturn(new LocalRepository(this.temp.newFolder()))
+            .when(manager).getRepository();
+        session.setLocalRepositoryManager(manager);
+        return new ResumableConnector(
+            session,
+            new RemoteRepository.Builder(
+                "stand-in", "default",
+                String.format(
+                    "http://localhost:%d/", server.getAddress().getPort()
+                )
+            ).build(),
+            origin, 2
+        );
+    }
+
+    /**
+     * Start a server with files.
+     * @param repo The files
+     * @return Server
+     * @throws IOException If fails
+     */
+    private static HttpServer serve(final ResumableConnectorTest.Repo repo)
+        throws IOException {
+        final HttpServer server =
+            HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", repo);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Files of a repository, by their paths.
+     */
+    private static final class Repo implements HttpHandler {
+        /**
+         * Content of files.
+         */
+        private final transient Map<String, byte[]> content =
+            new ConcurrentHashMap<String, byte[]>(0);
+        /**
+         * Add a file.
+         * @param path Its path
+         * @param bytes Its content
+         */
+        public void put(final String path, final byte[] bytes) {
+            this.content.put(path, bytes);
+        }
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            final byte[] body = this.content.get(
+                exchange.getRequestURI().getPath().substring(1)
+            );
+            try {
+                if (body == null) {
+                    exchange.sendResponseHeaders(
+                        HttpURLConnection.HTTP_NOT_FOUND, -1L
+                    );
+                } else {
+                    exchange.sendResponseHeaders(
+                        HttpURLConnection.HTTP_OK, body.length
+                    );
+                    final OutputStream out = exchange.getResponseBody();
+                    try {
+                        out.write(body);
+                    } finally {
+                        out.close();
+                    }
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link ResumableDownload}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class ResumableDownloadTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * ResumableDownload can resume after broken connections.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void resumesAfterBrokenConnections() throws Exception {
+        // @checkstyle MagicNumber (1 line)
+        final byte[] content = new byte[300 * 1024];
+        new Random(0L).nextBytes(content);
+        final ResumableDownloadTest.Server server =
+            new ResumableDownloadTest.Server(content);
+        final Thread thread = new Thread(server);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            final File file = new File(this.temp.newFolder(), "a/big.zip");
+            final ResumableDownload download = new ResumableDownload(
+                new URL(
+                    String.format(
+                        "http://localhost:%d/big.zip", server.port()
+                    )
+                ),
+                file, 5
+            );
+            MatcherAssert.assertThat(
+                download.fetch(), Matchers.is((long) content.length)
+            );
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.part().toPath()),
+                Matchers.equalTo(content)
+            );
+            MatcherAssert.assertThat(
+                server.ranges(),
+                Matchers.contains("", "bytes=102400-", "bytes=204800-")
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * ResumableDownload can start from zero when the file changed.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void restartsWhenFileChanged() throws Exception {
+        // @checkstyle MagicNumber (2 lines)
+        final byte[] before = new byte[300 * 1024];
+        final byte[] after = new byte[300 * 1024];
+        new Random(0L).nextBytes(before);
+        new Random(1L).nextBytes(after);
+        final ResumableDownloadTest.Server server =
+            new ResumableDownloadTest.Server(before);
+        final Thread thread = new Thread(server);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            final URL url = new URL(
+                String.format("http://localhost:%d/c.zip", server.port())
+            );
+            final File file = new File(this.temp.newFolder(), "c.zip");
+            try {
+                new ResumableDownload(url, file, 1).fetch();
+                throw new AssertionError("the first attempt should break");
+            } catch (final IOException ex) {
+                MatcherAssert.assertThat(ex, Matchers.notNullValue());
+            }
+            server.update(after, "\"v2\"");
+            final ResumableDownload download =
+                new ResumableDownload(url, file, 5);
+            download.fetch();
+            MatcherAssert.assertThat(
+                Files.readAllBytes(download.part().toPath()),
+                Matchers.equalTo(after)
+            );
+            MatcherAssert.assertThat(
+                server.ranges(),
+                Matchers.contains(
+                    "", "bytes=102400-", "bytes=102400-", "bytes=204800-"
+                )
+            );
+            MatcherAssert.assertThat(
+                server.conditions(),
+                Matchers.contains("", "\"v1\"", "\"v2\"", "\"v2\"")
+            );
+            MatcherAssert.assertThat(
+                download.tag().exists(), Matchers.is(false)
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * ResumableDownload can fail after all attempts.
+     * @throws Exception If there is some problem inside
+     */
+    @Test(expected = IOException.class)
+    public void failsAfterAllAttempts() throws Exception {
+        // @checkstyle MagicNumber (1 line)
+        final byte[] content = new byte[300 * 1024];
+        final ResumableDownloadTest.Server server =
+            new ResumableDownloadTest.Server(content);
+        final Thread thread = new Thread(server);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            new ResumableDownload(
+                new URL(
+                    String.format("http://localhost:%d/x.zip", server.port())
+                ),
+                new File(this.temp.newFolder(), "x.zip"), 2
+            ).fetch();
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * HTTP server, which supports ranges with {@code If-Range} and closes
+     * every connection after 100Kb of content.
+     */
+    private static final class Server implements Runnable {
+        /**
+         * Bytes per connection.
+         */
+        private static final int CHUNK = 100 * 1024;
+        /**
+         * Content to serve.
+         */
+        private final transient AtomicReference<byte[]> content;
+        /**
+         * ETag of the content.
+         */
+        private final transient AtomicReference<String> etag;
+        /**
+         * Socket.
+         */
+        private final transient ServerSocket socket;
+        /**
+         * Range headers received, empty if there was none.
+         */
+        private final transient Collection<String> received =
+            new ConcurrentLinkedQueue<String>();
+        /**
+         * If-Range headers received, empty if there was none.
+         */
+        private final transient Collection<String> conds =
+            new ConcurrentLinkedQueue<String>();
+        /**
+         * Ctor.
+         * @param bytes Content to serve
+         * @throws IOException If fails
+         */
+        Server(final byte[] bytes) throws IOException {
+            this.content = new AtomicReference<byte[]>(
+                Arrays.copyOf(bytes, bytes.length)
+            );
+            this.etag = new AtomicReference<String>("\"v1\"");
+            this.socket = new ServerSocket(0);
+        }
+        /**
+         * Change the content.
+         * @param bytes New content to serve
+         * @param tag Its ETag
+         */
+        public void update(final byte[] bytes, final String tag) {
+            this.content.set(Arrays.copyOf(bytes, bytes.length));
+            this.etag.set(tag);
+        }
+        /**
+         * Port.
+         * @return Port number
+         */
+        public int port() {
+            return this.socket.getLocalPort();
+        }
+        /**
+         * Ranges requested.
+         * @return Range headers
+         */
+        public Collection<String> ranges() {
+            return this.received;
+        }
+        /**
+         * Conditions of ranges requested.
+         * @return If-Range headers
+         */
+        public Collection<String> conditions() {
+            return this.conds;
+        }
+        /**
+         * Stop it.
+         * @throws IOException If fails
+         */
+        public void close() throws IOException {
+            this.socket.close();
+        }
+        @Override
+        public void run() {
+            while (!this.socket.isClosed()) {
+                try {
+                    final Socket conn = this.socket.accept();
+                    try {
+                        this.serve(conn);
+                    } finally {
+                        conn.close();
+                    }
+                } catch (final IOException ex) {
+                    assert ex != null;
+                }
+            }
+        }
+        /**
+         * Serve one connection.
+         * @param conn Connection
+         * @throws IOException If fails
+         */
+        private void serve(final Socket conn) throws IOException {
+            final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(conn.getInputStream(), "US-ASCII")
+            );
+            String range = "";
+            String cond = "";
+            while (true) {
+                final String line = reader.readLine();
+                if (line == null || line.isEmpty()) {
+                    break;
+                }
+                final String value =
+                    line.substring(line.indexOf(':') + 1).trim();
+                if (line.toLowerCase().startsWith("range:")) {
+                    range = value;
+                }
+                if (line.toLowerCase().startsWith("if-range:")) {
+                    cond = value;
+                }
+            }
+            this.received.add(range);
+            this.conds.add(cond);
+            final byte[] bytes = this.content.get();
+            int start = 0;
+            final StringBuilder head = new StringBuilder(0);
+            if (range.isEmpty()
+                || !cond.isEmpty() && !cond.equals(this.etag.get())) {
+                head.append("HTTP/1.1 200 OK\r\n");
+            } else {
+                start = Integer.parseInt(
+                    range.substring("bytes=".length(), range.length() - 1)
+                );
+                head.append("HTTP/1.1 206 Partial Content\r\n")
+                    .append(
+                        String.format(
+                            "Content-Range: bytes %d-%d/%d\r\n",
+                            start, bytes.length - 1, bytes.length
+                        )
+                    );
+            }
+            head.append(String.format("ETag: %s\r\n", this.etag.get()))
+                .append(
+                    String.format(
+                        "Content-Length: %d\r\n", bytes.length - start
+                    )
+                ).append("Connection: close\r\n\r\n");
+            final OutputStream out = conn.getOutputStream();
+            out.write(head.toString().getBytes("US-ASCII"));
+            out.write(
+                bytes, start,
+                Math.min(ResumableDownloadTest.Server.CHUNK,
+                    bytes.length - start)
+            );
+            out.flush();
+        }
+    }
+}
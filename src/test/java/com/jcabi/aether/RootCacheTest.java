@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Exclusion;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link RootCache}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class RootCacheTest {
+
+    /**
+     * Temp dir.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * RootCache can share children between equal roots.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void sharesChildrenOfEqualRoots() throws Exception {
+        final Aether aether = this.aether("1.0");
+        final RootCache cache = new RootCache(1, 1L, TimeUnit.HOURS);
+        final Collection<Artifact> children =
+            cache.children(aether, RootCacheTest.root(aether, "1.0"));
+        MatcherAssert.assertThat(
+            children, Matchers.<Artifact>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            cache.children(aether, RootCacheTest.root(aether, "1.0")),
+            Matchers.sameInstance(children)
+        );
+    }
+
+    /**
+     * RootCache can keep coordinates apart from children with files.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsCoordinatesApart() throws Exception {
+        final Aether aether = this.aether("1.0");
+        final RootCache cache = new RootCache(2, 1L, TimeUnit.HOURS);
+        final Collection<Artifact> coordinates =
+            cache.coordinates(aether, RootCacheTest.root(aether, "1.0"));
+        MatcherAssert.assertThat(
+            coordinates, Matchers.<Artifact>emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            cache.children(aether, RootCacheTest.root(aether, "1.0")),
+            Matchers.<Artifact>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            cache.coordinates(aether, RootCacheTest.root(aether, "1.0")),
+            Matchers.sameInstance(coordinates)
+        );
+    }
+
+    /**
+     * RootCache can share graphs of equal roots.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void sharesGraphsOfEqualRoots() throws Exception {
+        final Aether aether = this.aether("1.0");
+        final RootCache cache = new RootCache(1, 1L, TimeUnit.HOURS);
+        final Graph graph =
+            cache.graph(aether, RootCacheTest.root(aether, "1.0"), true);
+        MatcherAssert.assertThat(graph.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            cache.graph(aether, RootCacheTest.root(aether, "1.0"), true),
+            Matchers.sameInstance(graph)
+        );
+    }
+
+    /**
+     * RootCache can resolve graphs with snapshots again.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void resolvesSnapshotGraphsAgain() throws Exception {
+        final String version = "1.0-SNAPSHOT";
+        final Aether aether = this.aether(version);
+        final RootCache cache = new RootCache(1, 1L, TimeUnit.HOURS);
+        MatcherAssert.assertThat(
+            cache.graph(aether, RootCacheTest.root(aether, version), false),
+            Matchers.not(
+                Matchers.sameInstance(
+                    cache.graph(
+                        aether, RootCacheTest.root(aether, version), false
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * RootCache can resolve snapshots again.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void resolvesSnapshotsAgain() throws Exception {
+        final String version = "1.0-SNAPSHOT";
+        final Aether aether = this.aether(version);
+        final RootCache cache = new RootCache(1, 1L, TimeUnit.HOURS);
+        MatcherAssert.assertThat(
+            cache.children(aether, RootCacheTest.root(aether, version)),
+            Matchers.not(
+                Matchers.sameInstance(
+                    cache.children(aether, RootCacheTest.root(aether, version))
+                )
+            )
+        );
+    }
+
+    /**
+     * RootCache can resolve again when the time to live is over.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void resolvesAgainWhenExpired() throws Exception {
+        final Aether aether = this.aether("1.0");
+        final RootCache cache = new RootCache(1, 1L, TimeUnit.MILLISECONDS);
+        final Collection<Artifact> children =
+            cache.children(aether, RootCacheTest.root(aether, "1.0"));
+        TimeUnit.MILLISECONDS.sleep(10L);
+        MatcherAssert.assertThat(
+            cache.children(aether, RootCacheTest.root(aether, "1.0")),
+            Matchers.not(Matchers.sameInstance(children))
+        );
+    }
+
+    /**
+     * Make Aether with a file repository, which has one artifact.
+     * @param version Version of the artifact
+     * @return Aether
+     * @throws Exception If fails
+     */
+    private Aether aether(final String version) throws Exception {
+        final File remote = this.temp.newFolder();
+        final File dir = new File(
+            remote, String.format("com/jcabi/test/root/%s", version)
+        );
+        dir.mkdirs();
+        Files.write(
+            new File(dir, String.format("root-%s.pom", version)).toPath(),
+            String.format(
+                // @checkstyle LineLength (1 line)
+                "<project><modelVersion>4.0.0</modelVersion><groupId>com.jcabi.test</groupId><artifactId>root</artifactId><version>%s</version></project>",
+                version
+            ).getBytes("UTF-8")
+        );
+        Files.write(
+            new File(dir, String.format("root-%s.jar", version)).toPath(),
+            new byte[0]
+        );
+        return new Aether(
+            Arrays.asList(
+                new RemoteRepository.Builder(
+                    "local-files", "default", remote.toURI().toString()
+                ).build()
+            ),
+            this.temp.newFolder()
+        );
+    }
+
+    /**
+     * Make root artifact.
+     * @param aether Aether to resolve with
+     * @param version Version of the artifact
+     * @return Root
+     */
+    private static RootArtifact root(final Aether aether,
+        final String version) {
+        return new RootArtifact(
+            aether,
+            new DefaultArtifact("com.jcabi.test", "root", "jar", version),
+            Collections.<Exclusion>emptyList()
+        );
+    }
+
+}
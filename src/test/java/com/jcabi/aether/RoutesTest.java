@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.Arrays;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Routes}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class RoutesTest {
+
+    /**
+     * Routes can allow repositories by the longest matching prefix.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void allowsRepositoriesByLongestPrefix() throws Exception {
+        final Routes routes = new Routes()
+            .with("com.acme", "acme")
+            .with("com.acme.oss", "acme", "central");
+        MatcherAssert.assertThat(
+            routes.allows("com.acme.tools", "central"), Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            routes.allows("com.acme.tools", "acme"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            routes.allows("com.acme.oss.x", "central"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            routes.allows("com.acmeinc", "central"), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            routes.allows("junit", "acme"), Matchers.is(true)
+        );
+    }
+
+    /**
+     * Routes can filter repositories for an artifact.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void filtersRepositories() throws Exception {
+        final RemoteRepository acme = new RemoteRepository.Builder(
+            "acme", "default", "s3://acme/release"
+        ).build();
+        final RemoteRepository central = new RemoteRepository.Builder(
+            "central", "default", "http://repo1.maven.org/maven2/"
+        ).build();
+        MatcherAssert.assertThat(
+            new Routes().with("com.acme", "acme").filter(
+                new DefaultArtifact("com.acme:app:1.0"),
+                Arrays.asList(central, acme)
+            ),
+            Matchers.contains(acme)
+        );
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Statistics}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class StatisticsTest {
+
+    /**
+     * URL of test repository.
+     */
+    private static final String REPO = "http://repo1.maven.org/maven2/";
+
+    /**
+     * Statistics can aggregate events.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void aggregatesEvents() throws Exception {
+        final Statistics stats = new Statistics();
+        stats.resolving();
+        stats.resolving();
+        stats.resolved(TimeUnit.MILLISECONDS.toNanos(2L), false);
+        stats.waited(TimeUnit.MILLISECONDS.toNanos(1L));
+        stats.waited(TimeUnit.MILLISECONDS.toNanos(3L));
+        stats.cached("range", true);
+        stats.cached("range", false);
+        stats.downloaded(StatisticsTest.REPO, 100L);
+        stats.downloaded(StatisticsTest.REPO, 20L);
+        stats.failed(StatisticsTest.REPO);
+        MatcherAssert.assertThat(stats.getResolvesInFlight(), Matchers.is(1L));
+        MatcherAssert.assertThat(stats.getFailedResolves(), Matchers.is(1L));
+        MatcherAssert.assertThat(stats.getMaxLockWaitMillis(), Matchers.is(3L));
+        MatcherAssert.assertThat(
+            stats.getAverageLockWaitMillis(), Matchers.closeTo(2.0d, 0.01d)
+        );
+        MatcherAssert.assertThat(
+            stats.getCacheHitRatios(), Matchers.hasEntry("range", 0.5d)
+        );
+        MatcherAssert.assertThat(
+            stats.getDownloadedBytes(),
+            Matchers.hasEntry(StatisticsTest.REPO, 120L)
+        );
+        MatcherAssert.assertThat(
+            stats.getFailures(), Matchers.hasEntry(StatisticsTest.REPO, 1L)
+        );
+    }
+
+    /**
+     * Statistics can be published through JMX.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void publishesThroughJmx() throws Exception {
+        final Statistics stats = new Statistics();
+        final ObjectName name = stats.register("test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            stats.resolving();
+            MatcherAssert.assertThat(
+                server.getAttribute(name, "ResolvesInFlight"),
+                Matchers.<Object>is(1L)
+            );
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link TimedRangeCache}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class TimedRangeCacheTest {
+
+    /**
+     * TimedRangeCache can keep resolutions until they expire.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void keepsResolutionsUntilExpired() throws Exception {
+        final RangeCache cache = new TimedRangeCache(
+            1L, TimeUnit.SECONDS
+        );
+        final VersionRangeResult result =
+            new VersionRangeResult(new VersionRangeRequest());
+        cache.put("junit:junit:[4.0,5.0)", result);
+        MatcherAssert.assertThat(
+            cache.get("junit:junit:[4.0,5.0)"),
+            Matchers.sameInstance(result)
+        );
+        TimeUnit.MILLISECONDS.sleep(1100L);
+        MatcherAssert.assertThat(
+            cache.get("junit:junit:[4.0,5.0)"),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * TimedRangeCache can drop least recently used resolutions.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void dropsLeastRecentlyUsed() throws Exception {
+        final RangeCache cache = new TimedRangeCache(1L, TimeUnit.HOURS, 2);
+        final VersionRangeResult result =
+            new VersionRangeResult(new VersionRangeRequest());
+        cache.put("a", result);
+        cache.put("b", result);
+        cache.get("a");
+        cache.put("c", result);
+        MatcherAssert.assertThat(cache.get("b"), Matchers.nullValue());
+        MatcherAssert.assertThat(cache.get("a"), Matchers.notNullValue());
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2012-2015, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.aether;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Trace}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class TraceTest {
+
+    /**
+     * Trace can record phases and steps of a session.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void recordsStepsOfSession() throws Exception {
+        final Trace trace = new Trace(
+            "test", TimeUnit.MILLISECONDS.toNanos(1L)
+        );
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        trace.attach(session);
+        trace.enter("collect");
+        Trace.start(session, "a", "descriptor a");
+        Trace.stop(session, "a");
+        Trace.start(session, "b", "descriptor \"b\"");
+        trace.finish();
+        MatcherAssert.assertThat(
+            trace.root().children(),
+            Matchers.<Span>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            trace.root().duration(TimeUnit.MICROSECONDS),
+            Matchers.greaterThanOrEqualTo(1000L)
+        );
+        MatcherAssert.assertThat(
+            trace.json(),
+            Matchers.allOf(
+                Matchers.startsWith("{\"name\":\"test\""),
+                Matchers.containsString("\"name\":\"collect\""),
+                Matchers.containsString("\"name\":\"descriptor \\\"b\\\"\"")
+            )
+        );
+        MatcherAssert.assertThat(
+            trace.chrome(),
+            Matchers.allOf(
+                Matchers.containsString("\"ph\":\"X\""),
+                Matchers.containsString("\"ph\":\"M\""),
+                Matchers.endsWith("]}")
+            )
+        );
+    }
+
+    /**
+     * Trace can ignore steps of sessions without traces.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void ignoresUntracedSession() throws Exception {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        Trace.start(session, "x", "range x");
+        Trace.stop(session, "x");
+        MatcherAssert.assertThat(
+            session.getData().get(Trace.class.getName()),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * Trace can record nothing, when it is silent.
+     * @throws Exception If there is some problem inside
+     */
+    @Test
+    public void recordsNothingWhenSilent() throws Exception {
+        final DefaultRepositorySystemSession session =
+            new DefaultRepositorySystemSession();
+        Trace.SILENT.attach(session);
+        Trace.SILENT.enter("collect");
+        Trace.SILENT.finish();
+        MatcherAssert.assertThat(
+            Trace.SILENT.root().children(),
+            Matchers.<Span>empty()
+        );
+        MatcherAssert.assertThat(
+            session.getData().get(Trace.class.getName()),
+            Matchers.nullValue()
+        );
+    }
+
+}